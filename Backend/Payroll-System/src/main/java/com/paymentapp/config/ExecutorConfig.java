@@ -0,0 +1,143 @@
+package com.paymentapp.config;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+	// ✅ Parallel payroll pricing; 0 = one worker per core
+	@Bean(destroyMethod = "shutdown")
+	public ForkJoinPool payrollForkJoinPool(@Value("${payroll.parallel.threads:0}") int threads) {
+		int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		return new ForkJoinPool(parallelism);
+	}
+
+	// ✅ Background disbursal-creation jobs: small fixed pool with a bounded queue
+	@Bean
+	public ThreadPoolTaskExecutor disbursalJobExecutor(@Value("${payroll.jobs.threads:2}") int threads,
+			@Value("${payroll.jobs.queue-capacity:50}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("disbursal-job-");
+		executor.initialize();
+		return executor;
+	}
+
+	// ✅ Background bulk uploads: one batch per worker, a bounded queue, rejected when full
+	@Bean
+	public ThreadPoolTaskExecutor uploadJobExecutor(@Value("${payroll.import.job-threads:2}") int threads,
+			@Value("${payroll.import.job-queue-capacity:50}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("upload-job-");
+		executor.initialize();
+		return executor;
+	}
+
+	// ✅ Bulk approvals: one organization per task; the caller runs the task itself when the queue is full
+	@Bean
+	public ThreadPoolTaskExecutor disbursalApprovalExecutor(@Value("${payroll.approval.parallelism:0}") int threads,
+			@Value("${payroll.approval.queue-capacity:200}") int queueCapacity) {
+		int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("disbursal-approval-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.initialize();
+		return executor;
+	}
+
+	// ✅ Audit maintenance (rollup rebuilds): one at a time, never more than a couple waiting
+	@Bean
+	public ThreadPoolTaskExecutor auditMaintenanceExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(1);
+		executor.setMaxPoolSize(1);
+		executor.setQueueCapacity(2);
+		executor.setThreadNamePrefix("audit-maintenance-");
+		executor.initialize();
+		return executor;
+	}
+
+	// ✅ Streamed audit exports: each one holds a database cursor for its whole run, so only a few run at once
+	@Bean
+	public ThreadPoolTaskExecutor auditExportExecutor(@Value("${payroll.export.threads:2}") int threads,
+			@Value("${payroll.export.queue-capacity:4}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("audit-export-");
+		executor.initialize();
+		return executor;
+	}
+
+	// ✅ SSE notification pushes: connections are drained here so publishers never block on a slow client
+	@Bean
+	public ThreadPoolTaskExecutor notificationPushExecutor(@Value("${payroll.notifications.sse.send-threads:4}") int threads,
+			@Value("${payroll.notifications.sse.send-queue-capacity:10000}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("notification-push-");
+		executor.initialize();
+		return executor;
+	}
+
+	// ✅ Outbox email delivery: each task sends one chunk over its own SMTP connection, so threads = concurrent connections
+	@Bean
+	public ThreadPoolTaskExecutor mailDispatchExecutor(@Value("${payroll.mail.send-threads:4}") int threads,
+			@Value("${payroll.mail.send-queue-capacity:20}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("mail-dispatch-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.initialize();
+		return executor;
+	}
+
+	// ✅ Bulk upload field validation: CPU-bound, one worker per core; the reading thread helps out when the queue is full
+	@Bean
+	public ThreadPoolTaskExecutor importValidationExecutor(@Value("${payroll.import.validation-threads:0}") int threads,
+			@Value("${payroll.import.validation-queue-capacity:64}") int queueCapacity) {
+		int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("import-validation-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.initialize();
+		return executor;
+	}
+
+	// ✅ Bulk import password hashing: BCrypt is pure CPU, so one worker per core; the importing thread hashes too when the queue is full
+	@Bean
+	public ThreadPoolTaskExecutor passwordHashExecutor(@Value("${payroll.import.hash-threads:0}") int threads,
+			@Value("${payroll.import.hash-queue-capacity:64}") int queueCapacity) {
+		int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("password-hash-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.initialize();
+		return executor;
+	}
+}
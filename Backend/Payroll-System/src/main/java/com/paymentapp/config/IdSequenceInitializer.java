@@ -0,0 +1,51 @@
+package com.paymentapp.config;
+
+import java.util.List;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Entities moved from IDENTITY to pooled sequence ids keep their existing rows.
+ * On MySQL Hibernate emulates each sequence with a one-row table, so on startup
+ * every such table is pushed past the current max id to avoid key collisions.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdSequenceInitializer implements CommandLineRunner {
+
+	public static final int ALLOCATION_SIZE = 50;
+
+	private record SequenceTable(String sequence, String table, String idColumn) {
+	}
+
+	private static final List<SequenceTable> SEQUENCES = List.of(
+			new SequenceTable("salary_disbursal_line_seq", "salary_disbursal_line", "line_id"),
+			new SequenceTable("salary_slip_seq", "salary_slip", "slip_id"),
+			new SequenceTable("audit_log_seq", "audit_log", "log_id"));
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@Override
+	public void run(String... args) {
+		for (SequenceTable seq : SEQUENCES) {
+			try {
+				Long maxId = jdbcTemplate.queryForObject(
+						"SELECT COALESCE(MAX(" + seq.idColumn() + "), 0) FROM " + seq.table(), Long.class);
+				long floor = (maxId != null ? maxId : 0L) + ALLOCATION_SIZE + 1;
+
+				int updated = jdbcTemplate.update(
+						"UPDATE " + seq.sequence() + " SET next_val = ? WHERE next_val < ?", floor, floor);
+
+				if (updated > 0) {
+					System.out.println("🔢 Sequence " + seq.sequence() + " aligned to " + floor);
+				}
+			} catch (Exception e) {
+				System.err.println("⚠️ Could not align sequence " + seq.sequence() + ": " + e.getMessage());
+			}
+		}
+	}
+}
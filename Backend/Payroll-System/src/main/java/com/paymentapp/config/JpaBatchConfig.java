@@ -0,0 +1,24 @@
+package com.paymentapp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaBatchConfig {
+
+	@Value("${payroll.jdbc.batch-size:100}")
+	private int batchSize;
+
+	// ✅ Lets Hibernate group inserts/updates of sequence-backed entities into JDBC batches
+	@Bean
+	public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+		return properties -> {
+			properties.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+			properties.putIfAbsent("hibernate.order_inserts", true);
+			properties.putIfAbsent("hibernate.order_updates", true);
+			properties.putIfAbsent("hibernate.jdbc.batch_versioned_data", true);
+		};
+	}
+}
@@ -32,6 +32,10 @@ public class MailConfig {
 	@Value("${spring.mail.properties.mail.debug}")
 	private String debug;
 
+	// Bounds how long an outbox dispatcher thread can hang on an unresponsive mail server
+	@Value("${payroll.mail.timeout-ms:15000}")
+	private String timeoutMs;
+
 	@Bean
 	public JavaMailSender javaMailSender() {
 		JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
@@ -46,6 +50,9 @@ public class MailConfig {
 		props.put("mail.smtp.auth", auth);
 		props.put("mail.smtp.starttls.enable", starttls);
 		props.put("mail.debug", debug);
+		props.put("mail.smtp.connectiontimeout", timeoutMs);
+		props.put("mail.smtp.timeout", timeoutMs);
+		props.put("mail.smtp.writetimeout", timeoutMs);
 
 		return mailSender;
 	}
@@ -0,0 +1,24 @@
+package com.paymentapp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+// ✅ Periodic jobs (audit archiving, mail outbox dispatch, SSE heartbeats)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+	// ✅ Several threads, so a long archive run cannot hold up mail dispatch or the SSE heartbeat
+	@Bean
+	public ThreadPoolTaskScheduler taskScheduler(@Value("${payroll.scheduler.threads:4}") int threads) {
+		ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+		scheduler.setPoolSize(Math.max(threads, 2));
+		scheduler.setThreadNamePrefix("payroll-scheduler-");
+		scheduler.setWaitForTasksToCompleteOnShutdown(true);
+		scheduler.setAwaitTerminationSeconds(30);
+		return scheduler;
+	}
+}
@@ -21,6 +21,8 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import com.paymentapp.security.JwtAuthenticationEntryPoint;
 import com.paymentapp.security.JwtAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
+
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -39,23 +41,30 @@ public class SecurityConfig {
             .sessionManagement(session -> session.sessionCreationPolicy(STATELESS))
             .exceptionHandling(exception -> exception.authenticationEntryPoint(authenticationEntryPoint))
             .authorizeHttpRequests(auth -> auth
+                // Async dispatches (streamed exports) re-enter the chain after the original request was authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers(
                         "/api/users/login",
                         "/api/auth/login",
                         "/api/auth/forgot-password",     
                         "/api/auth/verify-otp",          
                         "/api/auth/reset-password", 
+                        "/api/auth/activate-account",
                         "/api/organizations/register",
                         "/v3/api-docs/**",
                         "/swagger-ui/**"
                 ).permitAll()
                 
                 .requestMatchers("/api/notifications/**").authenticated()
+                .requestMatchers("/api/audit-logs/**").hasAuthority("ROLE_BANK_ADMIN")
 
                 .requestMatchers("/api/salary-disbursal/approve-or-reject").hasAuthority("ROLE_BANK_ADMIN")
+                .requestMatchers("/api/salary-disbursal/bulk-approve-or-reject").hasAuthority("ROLE_BANK_ADMIN")
+                .requestMatchers("/api/salary-disbursal/*/regenerate-slips").hasAuthority("ROLE_BANK_ADMIN")
                 .requestMatchers("/api/salary-disbursal/**").hasAuthority("ROLE_ORGANIZATION")
                 
                 .requestMatchers("/api/bank-admin/**").hasAuthority("ROLE_BANK_ADMIN") 
+                .requestMatchers("/api/upload-batches/**").hasAnyAuthority("ROLE_ORGANIZATION", "ROLE_ORG_ADMIN")
                 .requestMatchers("/api/organizations/**").hasAnyAuthority("ROLE_BANK_ADMIN","ROLE_ORGANIZATION", "ROLE_ORG_ADMIN")
                 .requestMatchers("/api/orgadmins/**").hasAnyAuthority("ROLE_ORGANIZATION")
                 .requestMatchers("/api/payments/**").hasAnyAuthority("ROLE_ORGANIZATION")
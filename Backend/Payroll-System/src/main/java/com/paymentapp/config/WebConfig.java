@@ -1,7 +1,10 @@
 package com.paymentapp.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -20,4 +23,18 @@ public class WebConfig {
             }
         };
     }
+
+    // Streamed responses (audit exports) can run far longer than the container's default async timeout.
+    // They run on their own bounded pool; once it is full, further exports are rejected instead of queued without limit
+    @Bean
+    public WebMvcConfigurer asyncSupportConfigurer(@Value("${payroll.export.async-timeout-ms:3600000}") long timeoutMs,
+            ThreadPoolTaskExecutor auditExportExecutor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.setDefaultTimeout(timeoutMs);
+                configurer.setTaskExecutor(auditExportExecutor);
+            }
+        };
+    }
 }
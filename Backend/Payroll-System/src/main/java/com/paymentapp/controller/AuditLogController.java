@@ -1,19 +1,28 @@
 package com.paymentapp.controller;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 
-import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.paymentapp.dto.ApiResponseDTO;
+import com.paymentapp.dto.AuditActivityPointView;
+import com.paymentapp.dto.AuditLogPageDTO;
 import com.paymentapp.entity.AuditLog;
-import com.paymentapp.repository.AuditLogRepository;
+import com.paymentapp.service.AuditLogService;
+import com.paymentapp.service.AuditRollupService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -23,18 +32,26 @@ import lombok.RequiredArgsConstructor;
 @CrossOrigin(origins = "*")
 public class AuditLogController {
 
-    private final AuditLogRepository auditLogRepository;
+    private static final int DEFAULT_LIST_LIMIT = 1000;
+    private static final Duration MAX_ACTIVITY_RANGE = Duration.ofDays(92);
 
+    private final AuditLogService auditLogService;
+    private final AuditRollupService auditRollupService;
+
+    // Newest entries only; older ones are reached through /filter with a cursor.
+    // Archived months are searched only with includeArchived=true, as each one is decompressed on read
     @GetMapping
-    public ResponseEntity<List<AuditLog>> getAllAuditLogs() {
+    public ResponseEntity<List<AuditLog>> getAllAuditLogs(
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(defaultValue = "" + DEFAULT_LIST_LIMIT) int limit,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
         System.out.println("\n ════════════════════════════════════════");
         System.out.println(" GET ALL AUDIT LOGS");
         System.out.println(" ════════════════════════════════════════");
         
         try {
-            List<AuditLog> logs = auditLogRepository.findAll(
-                Sort.by(Sort.Direction.DESC, "actionTimestamp")
-            );
+            List<AuditLog> logs = auditLogService.search(null, null, null, null, from, to, null, limit, includeArchived).getItems();
             
             System.out.println(" Found " + logs.size() + " audit log(s)");
             System.out.println(" ════════════════════════════════════════\n");
@@ -52,94 +69,150 @@ public class AuditLogController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<AuditLog>> getAuditLogsByUser(@PathVariable Long userId) {
+    public ResponseEntity<List<AuditLog>> getAuditLogsByUser(@PathVariable Long userId,
+            @RequestParam(defaultValue = "" + DEFAULT_LIST_LIMIT) int limit) {
         System.out.println("\n Getting audit logs for user ID: " + userId);
         
-        List<AuditLog> logs = auditLogRepository.findByPerformedByUserId(userId);
+        List<AuditLog> logs = auditLogService.search(null, null, null, userId, null, null, null, limit, false).getItems();
         
         System.out.println(" Found " + logs.size() + " log(s) for user\n");
         return ResponseEntity.ok(logs);
     }
 
     @GetMapping("/role/{role}")
-    public ResponseEntity<List<AuditLog>> getAuditLogsByRole(@PathVariable String role) {
+    public ResponseEntity<List<AuditLog>> getAuditLogsByRole(@PathVariable String role,
+            @RequestParam(defaultValue = "" + DEFAULT_LIST_LIMIT) int limit) {
         System.out.println("\n Getting audit logs for role: " + role);
         
-        List<AuditLog> logs = auditLogRepository.findByPerformedByRole(role);
+        List<AuditLog> logs = auditLogService.search(role, null, null, null, null, null, null, limit, false).getItems();
         
         System.out.println(" Found " + logs.size() + " log(s) for role\n");
         return ResponseEntity.ok(logs);
     }
 
     @GetMapping("/action/{action}")
-    public ResponseEntity<List<AuditLog>> getAuditLogsByAction(@PathVariable String action) {
+    public ResponseEntity<List<AuditLog>> getAuditLogsByAction(@PathVariable String action,
+            @RequestParam(defaultValue = "" + DEFAULT_LIST_LIMIT) int limit) {
         System.out.println("\n Getting audit logs for action: " + action);
         
-        List<AuditLog> logs = auditLogRepository.findByActionPerformed(action);
+        List<AuditLog> logs = auditLogService.search(null, action, null, null, null, null, null, limit, false).getItems();
         
         System.out.println(" Found " + logs.size() + " log(s) for action\n");
         return ResponseEntity.ok(logs);
     }
 
     @GetMapping("/resource/{resourceType}")
-    public ResponseEntity<List<AuditLog>> getAuditLogsByResourceType(@PathVariable String resourceType) {
+    public ResponseEntity<List<AuditLog>> getAuditLogsByResourceType(@PathVariable String resourceType,
+            @RequestParam(defaultValue = "" + DEFAULT_LIST_LIMIT) int limit) {
         System.out.println("\n Getting audit logs for resource type: " + resourceType);
         
-        List<AuditLog> logs = auditLogRepository.findByTargetResourceType(resourceType);
+        List<AuditLog> logs = auditLogService.search(null, null, resourceType, null, null, null, null, limit, false).getItems();
         
         System.out.println(" Found " + logs.size() + " log(s) for resource type\n");
         return ResponseEntity.ok(logs);
     }
 
+    // Served from the hourly rollups, which also cover archived rows
     @GetMapping("/count")
     public ResponseEntity<Long> getAuditLogsCount() {
-        long count = auditLogRepository.count();
+        long count = auditRollupService.countEvents();
         System.out.println("\n Total audit logs count: " + count + "\n");
         return ResponseEntity.ok(count);
     }
 
+    // Hourly event counts per role and action from the rollup table (default: last 24 hours)
+    @GetMapping("/activity")
+    public ResponseEntity<List<AuditActivityPointView>> getAuditActivity(
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String resourceType) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofHours(24));
+        if (start.isAfter(end)) {
+            throw new RuntimeException("'from' must be before 'to'");
+        }
+        if (Duration.between(start, end).compareTo(MAX_ACTIVITY_RANGE) > 0) {
+            throw new RuntimeException("Activity range is limited to " + MAX_ACTIVITY_RANGE.toDays() + " days");
+        }
+        return ResponseEntity.ok(auditRollupService.getActivity(start, end, role, action, resourceType));
+    }
+
+    // Recomputes rollups for completed hours in the range (everything when omitted) in the background
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<ApiResponseDTO> rebuildRollups(
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        if (!auditRollupService.rebuildAsync(from, to)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ApiResponseDTO("A rollup rebuild is already running"));
+        }
+        System.out.println("\n 📊 Audit rollup rebuild queued (" + from + " -> " + to + ")\n");
+        return ResponseEntity.accepted().body(new ApiResponseDTO("Rollup rebuild started"));
+    }
+
+    // Filters run in the database; pass the returned nextCursor back to get the following page.
+    // With includeArchived=true the paging continues into archived months once live rows run out
     @GetMapping("/filter")
-    public ResponseEntity<List<AuditLog>> getFilteredAuditLogs(
+    public ResponseEntity<AuditLogPageDTO> getFilteredAuditLogs(
             @RequestParam(required = false) String role,
             @RequestParam(required = false) String action,
             @RequestParam(required = false) String resourceType,
-            @RequestParam(required = false) Long userId) {
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
         
         System.out.println("\n Filtering audit logs:");
         System.out.println("   Role: " + role);
         System.out.println("   Action: " + action);
         System.out.println("   Resource Type: " + resourceType);
         System.out.println("   User ID: " + userId);
+        System.out.println("   Range: " + from + " -> " + to);
 
-        List<AuditLog> logs = auditLogRepository.findAll(
-            Sort.by(Sort.Direction.DESC, "actionTimestamp")
-        );
+        AuditLogPageDTO page = auditLogService.search(role, action, resourceType, userId, from, to, cursor, limit,
+                includeArchived);
 
-        if (role != null && !role.isEmpty()) {
-            logs = logs.stream()
-                .filter(log -> log.getPerformedByRole().equals(role))
-                .toList();
-        }
+        System.out.println(" Found " + page.getItems().size() + " filtered log(s)" + (page.getNextCursor() != null ? ", more available" : "") + "\n");
+        return ResponseEntity.ok(page);
+    }
 
-        if (action != null && !action.isEmpty()) {
-            logs = logs.stream()
-                .filter(log -> log.getActionPerformed().equals(action))
-                .toList();
+    // Streams every matching row (oldest first) straight from a database cursor; memory use does not grow with the export
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String resourceType,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(defaultValue = "true") boolean includeArchived) {
+
+        String normalized = format.toLowerCase();
+        if (!normalized.equals("ndjson") && !normalized.equals("csv")) {
+            throw new RuntimeException("Unsupported export format: " + format + " (use ndjson or csv)");
         }
 
-        if (resourceType != null && !resourceType.isEmpty()) {
-            logs = logs.stream()
-                .filter(log -> log.getTargetResourceType().equals(resourceType))
-                .toList();
-        }
+        String fileName = "audit-logs." + normalized + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : normalized.equals("csv") ? MediaType.parseMediaType("text/csv") : MediaType.parseMediaType("application/x-ndjson");
 
-        if (userId != null) {
-            logs = logs.stream()
-                .filter(log -> log.getPerformedByUserId().equals(userId))
-                .toList();
-        }
+        System.out.println("\n 📤 Exporting audit logs as " + fileName);
 
-        System.out.println(" Found " + logs.size() + " filtered log(s)\n");
-        return ResponseEntity.ok(logs);
+        StreamingResponseBody body = out -> {
+            long started = System.currentTimeMillis();
+            long rows = auditLogService.export(out, normalized, gzip, role, action, resourceType, userId, from, to, includeArchived);
+            System.out.println(" ✅ Exported " + rows + " audit log(s) in " + (System.currentTimeMillis() - started) + " ms\n");
+        };
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(contentType)
+                .body(body);
     }
 }
@@ -9,12 +9,14 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.paymentapp.dto.ActivateAccountRequestDTO;
 import com.paymentapp.dto.ForgotPasswordRequestDTO;
 import com.paymentapp.dto.ResetPasswordRequestDTO;
 import com.paymentapp.dto.UserLoginDTO;
 import com.paymentapp.dto.UserResponseDTO;
 import com.paymentapp.dto.VerifyOtpRequestDTO;
 import com.paymentapp.security.JwtTokenProvider;
+import com.paymentapp.serviceImpl.AccountActivationService;
 import com.paymentapp.serviceImpl.PasswordResetService;
 
 import lombok.RequiredArgsConstructor;
@@ -59,6 +61,15 @@ public class AuthController {
         return ResponseEntity.ok(message);
     }
 
+    private final AccountActivationService accountActivationService;
+
+    // First password for accounts imported in activation mode; the token comes from the welcome email
+    @PostMapping("/activate-account")
+    public ResponseEntity<String> activateAccount(@RequestBody ActivateAccountRequestDTO request) {
+        String message = accountActivationService.activateAccount(request);
+        return ResponseEntity.ok(message);
+    }
+
 
 }
 
@@ -2,6 +2,7 @@ package com.paymentapp.controller;
 
 import java.util.List;
 
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -93,9 +94,22 @@ public class BankAdminController {
         return ResponseEntity.ok(requests);
     }
 
+    @GetMapping("/salary-requests/queue")
+    public ResponseEntity<PagedModel<SalaryDisbursalRequestDTO>> getSalaryRequestQueue(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "asc") String direction) {
+        return ResponseEntity.ok(new PagedModel<>(
+                salaryDisbursalApprovalService.getPendingQueue(page, size, sortBy, direction)));
+    }
+
     @GetMapping("/salary-requests/{disbursalId}")
-    public ResponseEntity<SalaryDisbursalRequestDTO> getSalaryRequestDetails(@PathVariable Long disbursalId) {
-        SalaryDisbursalRequestDTO request = salaryDisbursalApprovalService.getRequestDetails(disbursalId);
+    public ResponseEntity<SalaryDisbursalRequestDTO> getSalaryRequestDetails(
+            @PathVariable Long disbursalId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "200") int size) {
+        SalaryDisbursalRequestDTO request = salaryDisbursalApprovalService.getRequestDetails(disbursalId, page, size);
         return ResponseEntity.ok(request);
     }
 
@@ -24,6 +24,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.paymentapp.dto.EmployeeRequestDTO;
 import com.paymentapp.dto.EmployeeResponseDTO;
+import com.paymentapp.dto.UploadBatchDTO;
 import com.paymentapp.entity.Employee;
 import com.paymentapp.entity.SalaryGrade;
 import com.paymentapp.entity.User;
@@ -32,6 +33,7 @@ import com.paymentapp.repository.UserRepository;
 import com.paymentapp.security.CustomUserDetails;
 import com.paymentapp.service.EmployeeConcernService;
 import com.paymentapp.service.EmployeeService;
+import com.paymentapp.service.UploadBatchJobService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -48,6 +50,7 @@ public class EmployeeController {
 	private final UserRepository userRepository;
 	private final EmployeeConcernService concernService;
 	private final EmployeeRepository employeeRepo;
+	private final UploadBatchJobService uploadBatchJobService;
 
 	@PostMapping(value = "/{orgId}/employees", consumes = { MediaType.MULTIPART_FORM_DATA_VALUE })
 	public ResponseEntity<EmployeeResponseDTO> createEmployee(@PathVariable Long orgId,
@@ -67,12 +70,14 @@ public class EmployeeController {
 		return ResponseEntity.ok(response);
 	}
 
+	// async=true stores the file and returns the upload batch straight away; poll /api/upload-batches/{batchId}
 	@PostMapping("/{orgId}/employees/bulk-upload")
 	public ResponseEntity<?> uploadEmployeesBulk(@PathVariable Long orgId,
 			@RequestParam("departmentName") String departmentName,
 			@RequestParam(value = "salaryGradeId", required = false) Long salaryGradeId,
 			@RequestParam("file") MultipartFile file, @RequestParam(value = "fileUrl", required = false) String fileUrl,
 			@RequestParam(value = "documentFile", required = false) MultipartFile documentFile,
+			@RequestParam(defaultValue = "false") boolean async,
 			@AuthenticationPrincipal CustomUserDetails userDetails) {
 
 		try {
@@ -80,6 +85,12 @@ public class EmployeeController {
 				return ResponseEntity.badRequest().body("File must be provided");
 			}
 
+			if (async) {
+				UploadBatchDTO batch = uploadBatchJobService.submit("EMPLOYEE", orgId, departmentName, salaryGradeId,
+						file, fileUrl, userDetails.getUser());
+				return ResponseEntity.status(HttpStatus.ACCEPTED).body(batch);
+			}
+
 			InputStream inputStream = file.getInputStream();
 			String fileName = file.getOriginalFilename();
 
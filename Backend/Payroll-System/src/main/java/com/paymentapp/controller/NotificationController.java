@@ -4,14 +4,20 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.paymentapp.dto.NotificationDTO;
 import com.paymentapp.entity.Notification;
 import com.paymentapp.entity.User;
 import com.paymentapp.repository.UserRepository;
+import com.paymentapp.security.CustomUserDetails;
+import com.paymentapp.security.NotificationStreamTickets;
+import com.paymentapp.security.TokenUserPrincipal;
 import com.paymentapp.service.NotificationService;
 
 import lombok.RequiredArgsConstructor;
@@ -23,25 +29,26 @@ public class NotificationController {
 
     private final NotificationService notificationService;
     private final UserRepository userRepository;
+    private final NotificationStreamTickets streamTickets;
 
     @GetMapping
-    public ResponseEntity<List<Notification>> getUserNotifications() {
+    public ResponseEntity<List<NotificationDTO>> getUserNotifications() {
         User user = getCurrentUser();
         List<Notification> notifications = notificationService.getUserInAppNotifications(user);
-        return ResponseEntity.ok(notifications);
+        return ResponseEntity.ok(notifications.stream().map(NotificationDTO::from).toList());
     }
 
     @GetMapping("/unread")
-    public ResponseEntity<List<Notification>> getUnreadNotifications() {
+    public ResponseEntity<List<NotificationDTO>> getUnreadNotifications() {
         User user = getCurrentUser();
         List<Notification> notifications = notificationService.getUnreadInAppNotifications(user);
-        return ResponseEntity.ok(notifications);
+        return ResponseEntity.ok(notifications.stream().map(NotificationDTO::from).toList());
     }
 
+    // Polled constantly: the user id comes from the token and the count from memory
     @GetMapping("/unread-count")
     public ResponseEntity<Map<String, Long>> getUnreadCount() {
-        User user = getCurrentUser();
-        Long count = notificationService.getUnreadInAppNotificationCount(user);
+        long count = notificationService.getUnreadInAppNotificationCount(getCurrentUserId());
         
         Map<String, Long> response = new HashMap<>();
         response.put("count", count);
@@ -49,35 +56,111 @@ public class NotificationController {
         return ResponseEntity.ok(response);
     }
 
+    // Exchanges the caller's JWT for a single-use ticket that opens /stream once, within a few seconds
+    @PostMapping("/stream-ticket")
+    public ResponseEntity<Map<String, Object>> issueStreamTicket() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String ticket = streamTickets.issue(getCurrentUserId(), auth.getName(), List.copyOf(auth.getAuthorities()));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("ticket", ticket);
+        response.put("expiresInMs", streamTickets.ttlMs());
+
+        return ResponseEntity.ok(response);
+    }
+
+    // Server-Sent Events: "notification" events (id = notificationId) and "unread-count" events.
+    // Opened with ?ticket= from /stream-ticket. Tickets are single-use, so a client reopening the stream
+    // passes the last id it saw as ?lastEventId= and receives what it missed.
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) Long lastEventId) {
+        return notificationService.subscribe(getCurrentUserId(), lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+
     @PutMapping("/{notificationId}/mark-read")
-    public ResponseEntity<Map<String, String>> markAsRead(@PathVariable Long notificationId) {
-        notificationService.markInAppNotificationAsRead(notificationId);
+    public ResponseEntity<Map<String, Object>> markAsRead(@PathVariable Long notificationId) {
+        int updated = notificationService.markInAppNotificationsAsRead(getCurrentUserId(), List.of(notificationId));
         
-        Map<String, String> response = new HashMap<>();
+        Map<String, Object> response = new HashMap<>();
         response.put("message", "Notification marked as read");
+        response.put("updated", updated);
         
         return ResponseEntity.ok(response);
     }
 
+    // Several at once: PUT /mark-read?ids=1,2,3
+    @PutMapping("/mark-read")
+    public ResponseEntity<Map<String, Object>> markManyAsRead(@RequestParam List<Long> ids) {
+        int updated = notificationService.markInAppNotificationsAsRead(getCurrentUserId(), ids);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", updated + " notification(s) marked as read");
+        response.put("updated", updated);
+        
+        return ResponseEntity.ok(response);
+    }
+
+    // Optionally limited to one related entity type, e.g. ?relatedEntityType=DISBURSAL
     @PutMapping("/mark-all-read")
-    public ResponseEntity<Map<String, String>> markAllAsRead() {
-        User user = getCurrentUser();
-        notificationService.markAllInAppNotificationsAsRead(user);
+    public ResponseEntity<Map<String, Object>> markAllAsRead(@RequestParam(required = false) String relatedEntityType) {
+        Long userId = getCurrentUserId();
+        int updated = relatedEntityType == null || relatedEntityType.isBlank()
+                ? notificationService.markAllInAppNotificationsAsRead(userId)
+                : notificationService.markInAppNotificationsAsReadByType(userId, relatedEntityType);
         
-        Map<String, String> response = new HashMap<>();
+        Map<String, Object> response = new HashMap<>();
         response.put("message", "All notifications marked as read");
+        response.put("updated", updated);
         
         return ResponseEntity.ok(response);
     }
 
     @DeleteMapping("/{notificationId}")
-    public ResponseEntity<Map<String, String>> deleteNotification(@PathVariable Long notificationId) {
-        Map<String, String> response = new HashMap<>();
+    public ResponseEntity<Map<String, Object>> deleteNotification(@PathVariable Long notificationId) {
+        int deleted = notificationService.deleteInAppNotifications(getCurrentUserId(), List.of(notificationId));
+        
+        Map<String, Object> response = new HashMap<>();
         response.put("message", "Notification deleted");
+        response.put("deleted", deleted);
+        
+        return ResponseEntity.ok(response);
+    }
+
+    // Several at once: DELETE /api/notifications?ids=1,2,3
+    @DeleteMapping
+    public ResponseEntity<Map<String, Object>> deleteNotifications(@RequestParam List<Long> ids) {
+        int deleted = notificationService.deleteInAppNotifications(getCurrentUserId(), ids);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", deleted + " notification(s) deleted");
+        response.put("deleted", deleted);
+        
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/older-than")
+    public ResponseEntity<Map<String, Object>> deleteOlderThan(@RequestParam int days) {
+        int deleted = notificationService.deleteInAppNotificationsOlderThan(getCurrentUserId(), days);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", deleted + " notification(s) older than " + days + " day(s) deleted");
+        response.put("deleted", deleted);
         
         return ResponseEntity.ok(response);
     }
 
+    private Long getCurrentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth.getPrincipal() instanceof TokenUserPrincipal principal) {
+            return principal.getUserId();
+        }
+        if (auth.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return userDetails.getUser().getUserId();
+        }
+        return getCurrentUser().getUserId();
+    }
+
     private User getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
@@ -2,6 +2,7 @@ package com.paymentapp.controller;
 
 import java.util.List;
 
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.paymentapp.dto.PaymentApprovalDTO;
@@ -41,6 +43,16 @@ public class PaymentRequestController {
         return ResponseEntity.ok(pendingRequests);
     }
 
+    @GetMapping("/queue")
+    @PreAuthorize("hasRole('BANK_ADMIN')")
+    public ResponseEntity<PagedModel<PaymentRequestDTO>> getPendingQueue(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "asc") String direction) {
+        return ResponseEntity.ok(new PagedModel<>(paymentService.getPendingQueue(page, size, sortBy, direction)));
+    }
+
     @GetMapping("/{paymentId}")
     public ResponseEntity<PaymentRequestDTO> getRequestById(@PathVariable Long paymentId) {
         PaymentRequestDTO request = paymentService.getRequestById(paymentId);
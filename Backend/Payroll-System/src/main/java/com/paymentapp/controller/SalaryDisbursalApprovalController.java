@@ -1,15 +1,23 @@
 package com.paymentapp.controller;
 
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.paymentapp.dto.SalaryDisbursalApprovalRequestDTO;
+import com.paymentapp.dto.SalaryDisbursalBulkApprovalRequestDTO;
+import com.paymentapp.dto.SalaryDisbursalBulkApprovalResultDTO;
 import com.paymentapp.service.SalaryDisbursalApprovalService;
+import com.paymentapp.service.SalarySlipService;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -18,6 +26,7 @@ import lombok.RequiredArgsConstructor;
 public class SalaryDisbursalApprovalController {
 
     private final SalaryDisbursalApprovalService approvalService;
+    private final SalarySlipService salarySlipService;
 
    
     @PostMapping("/approve-or-reject")
@@ -30,4 +39,30 @@ public class SalaryDisbursalApprovalController {
         }
     }
 
+    @PostMapping("/bulk-approve-or-reject")
+    public ResponseEntity<?> bulkApproveOrRejectDisbursals(
+            @Valid @RequestBody SalaryDisbursalBulkApprovalRequestDTO requestDTO) {
+        try {
+            List<SalaryDisbursalBulkApprovalResultDTO> results = approvalService.processBulkApproval(requestDTO);
+            long succeeded = results.stream().filter(SalaryDisbursalBulkApprovalResultDTO::isSuccess).count();
+            return ResponseEntity.ok(Map.of(
+                    "processed", results.size(),
+                    "succeeded", succeeded,
+                    "failed", results.size() - succeeded,
+                    "results", results));
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest().body("Error: " + ex.getMessage());
+        }
+    }
+
+    @PostMapping("/{disbursalId}/regenerate-slips")
+    public ResponseEntity<?> regenerateSalarySlips(@PathVariable Long disbursalId) {
+        try {
+            int created = salarySlipService.regenerateSlips(disbursalId);
+            return ResponseEntity.ok(Map.of("disbursalId", disbursalId, "slipsCreated", created));
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest().body("Error: " + ex.getMessage());
+        }
+    }
+
 }
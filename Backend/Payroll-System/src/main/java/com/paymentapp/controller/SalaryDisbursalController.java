@@ -4,13 +4,22 @@ import java.util.Map;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.paymentapp.dto.PayrollPreviewDTO;
+import com.paymentapp.dto.SalaryDisbursalJobDTO;
 import com.paymentapp.dto.SalaryDisbursalRequestCreateDTO;
 import com.paymentapp.dto.SalaryDisbursalRequestDTO;
+import com.paymentapp.exception.PayrollValidationException;
+import com.paymentapp.security.CustomUserDetails;
+import com.paymentapp.service.SalaryDisbursalJobService;
 import com.paymentapp.service.SalaryDisbursalService;
 
 import lombok.RequiredArgsConstructor;
@@ -21,15 +30,44 @@ import lombok.RequiredArgsConstructor;
 public class SalaryDisbursalController {
 
     private final SalaryDisbursalService salaryDisbursalService;
+    private final SalaryDisbursalJobService salaryDisbursalJobService;
 
+    // async=true returns a job id straight away; poll /jobs/{jobId} for progress
     @PostMapping("/request")
-    public ResponseEntity<?> createDisbursal(@RequestBody SalaryDisbursalRequestCreateDTO dto) {
+    public ResponseEntity<?> createDisbursal(@RequestBody SalaryDisbursalRequestCreateDTO dto,
+                                             @RequestParam(defaultValue = "false") boolean async) {
         try {
+            if (async) {
+                SalaryDisbursalJobDTO job = salaryDisbursalJobService.submitJob(dto);
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+            }
+
             SalaryDisbursalRequestDTO response = salaryDisbursalService.createCustomSalaryDisbursal(dto);
             return ResponseEntity.ok(response);
+        } catch (PayrollValidationException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", ex.getMessage(), "errors", ex.getErrors()));
         } catch (RuntimeException ex) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("error", ex.getMessage()));
         }
     }
+
+    // ✅ Dry run: totals per department for the current selection, nothing is persisted
+    @PostMapping("/preview")
+    public ResponseEntity<?> previewDisbursal(@RequestBody SalaryDisbursalRequestCreateDTO dto) {
+        try {
+            PayrollPreviewDTO preview = salaryDisbursalService.previewSalaryDisbursal(dto);
+            return ResponseEntity.ok(preview);
+        } catch (RuntimeException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", ex.getMessage()));
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<SalaryDisbursalJobDTO> getJobStatus(@PathVariable Long jobId,
+                                                              @AuthenticationPrincipal CustomUserDetails userDetails) {
+        return ResponseEntity.ok(salaryDisbursalJobService.getJobStatus(jobId, userDetails.getUser()));
+    }
 }
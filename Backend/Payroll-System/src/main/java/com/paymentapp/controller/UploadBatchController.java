@@ -0,0 +1,50 @@
+package com.paymentapp.controller;
+
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.paymentapp.dto.UploadBatchDTO;
+import com.paymentapp.dto.UploadBatchLineDTO;
+import com.paymentapp.security.CustomUserDetails;
+import com.paymentapp.service.UploadBatchJobService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/upload-batches")
+@RequiredArgsConstructor
+public class UploadBatchController {
+
+    private final UploadBatchJobService uploadBatchJobService;
+
+    // Progress of a bulk upload: recordCount rows in the file, processedCount created, failedCount rejected so far
+    @GetMapping("/{batchId}")
+    public ResponseEntity<UploadBatchDTO> getBatch(@PathVariable Long batchId,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        return ResponseEntity.ok(uploadBatchJobService.getBatch(batchId, userDetails.getUser()));
+    }
+
+    // Per-row results in file order; status=FAILED lists only the rejected rows
+    @GetMapping("/{batchId}/lines")
+    public ResponseEntity<Page<UploadBatchLineDTO>> getLines(@PathVariable Long batchId,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        return ResponseEntity.ok(uploadBatchJobService.getLines(batchId, status, page, size, userDetails.getUser()));
+    }
+
+    @GetMapping("/org/{orgId}")
+    public ResponseEntity<Page<UploadBatchDTO>> getBatches(@PathVariable Long orgId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        return ResponseEntity.ok(uploadBatchJobService.getBatches(orgId, page, size, userDetails.getUser()));
+    }
+}
@@ -21,10 +21,12 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import com.paymentapp.dto.ChangePasswordDTO;
 import com.paymentapp.dto.PaymentReceiptDTO;
+import com.paymentapp.dto.UploadBatchDTO;
 import com.paymentapp.dto.VendorProfileDTO;
 import com.paymentapp.dto.VendorRequestDTO;
 import com.paymentapp.dto.VendorResponseDTO;
 import com.paymentapp.security.CustomUserDetails;
+import com.paymentapp.service.UploadBatchJobService;
 import com.paymentapp.service.VendorService;
 
 import jakarta.validation.Valid;
@@ -36,6 +38,7 @@ import lombok.RequiredArgsConstructor;
 public class VendorController {
 
     private final VendorService vendorService;
+    private final UploadBatchJobService uploadBatchJobService;
 
     @PostMapping(value = "/{orgId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<VendorResponseDTO> createVendor(@Valid @PathVariable Long orgId,
@@ -47,17 +50,28 @@ public class VendorController {
         return ResponseEntity.ok(response);
     }
 
+    // async=true stores the file and returns the upload batch straight away; poll /api/upload-batches/{batchId}
     @PostMapping(value = "/{orgId}/upload-vendors", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<List<VendorResponseDTO>> uploadVendors(@Valid @PathVariable Long orgId,
-                                                                 @RequestParam("file") MultipartFile file,
-                                                                 @RequestParam(value = "fileUrl", required = false) String fileUrl,
-                                                                 @RequestParam(value = "documentFile", required = false) MultipartFile documentFile,
-                                                                 @AuthenticationPrincipal CustomUserDetails userDetails) throws Exception {
+    public ResponseEntity<?> uploadVendors(@Valid @PathVariable Long orgId,
+                                           @RequestParam("file") MultipartFile file,
+                                           @RequestParam(value = "fileUrl", required = false) String fileUrl,
+                                           @RequestParam(value = "documentFile", required = false) MultipartFile documentFile,
+                                           @RequestParam(defaultValue = "false") boolean async,
+                                           @AuthenticationPrincipal CustomUserDetails userDetails) throws Exception {
 
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("File must be provided");
         }
 
+        if (async) {
+            // The shared document would have to outlive the request; background uploads take per-row file URLs only
+            if (documentFile != null && !documentFile.isEmpty()) {
+                throw new IllegalArgumentException("documentFile is not supported with async=true; use per-row file URLs");
+            }
+            UploadBatchDTO batch = uploadBatchJobService.submit("VENDOR", orgId, null, null, file, fileUrl, userDetails.getUser());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(batch);
+        }
+
         InputStream is = file.getInputStream();
         String fname = file.getOriginalFilename();
 
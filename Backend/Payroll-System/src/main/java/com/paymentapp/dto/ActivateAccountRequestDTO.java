@@ -0,0 +1,9 @@
+package com.paymentapp.dto;
+
+import lombok.Data;
+
+@Data
+public class ActivateAccountRequestDTO {
+    private String token;
+    private String newPassword;
+}
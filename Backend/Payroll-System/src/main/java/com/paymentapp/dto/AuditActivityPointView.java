@@ -0,0 +1,15 @@
+package com.paymentapp.dto;
+
+import java.time.Instant;
+
+// One point of the audit activity time series: events in an hour for a role and action
+public interface AuditActivityPointView {
+
+	Instant getBucketHour();
+
+	String getRole();
+
+	String getAction();
+
+	Long getEventCount();
+}
@@ -0,0 +1,18 @@
+package com.paymentapp.dto;
+
+import java.util.List;
+
+import com.paymentapp.entity.AuditLog;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One keyset page of audit rows; pass nextCursor back to continue, null when there is no more
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogPageDTO {
+    private List<AuditLog> items;
+    private String nextCursor;
+}
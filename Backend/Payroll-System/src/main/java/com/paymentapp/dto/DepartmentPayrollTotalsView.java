@@ -0,0 +1,13 @@
+package com.paymentapp.dto;
+
+import java.math.BigDecimal;
+
+// Projection for grouped payroll preview aggregates (one row per department)
+public interface DepartmentPayrollTotalsView {
+	Long getDepartmentId();
+	String getDepartmentName();
+	Long getHeadcount();
+	Long getMissingGradeCount();
+	BigDecimal getGross();
+	BigDecimal getDeductions();
+}
@@ -0,0 +1,26 @@
+package com.paymentapp.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One parsed upload row with its 1-based data row number and any validation errors (empty when valid)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowDTO<T> {
+    private int rowNumber;
+    private T record;
+    private List<String> errors = new ArrayList<>();
+
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+
+    public String getMessage() {
+        return String.join("; ", errors);
+    }
+}
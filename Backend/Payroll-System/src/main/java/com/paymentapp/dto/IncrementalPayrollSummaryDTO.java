@@ -0,0 +1,13 @@
+package com.paymentapp.dto;
+
+import lombok.Data;
+
+@Data
+public class IncrementalPayrollSummaryDTO {
+    private String basePeriod;
+    private Long baseDisbursalId;
+    private int clonedLines;
+    private int changedPayees;
+    private int joiners;
+    private long leavers;
+}
@@ -0,0 +1,33 @@
+package com.paymentapp.dto;
+
+import java.time.Instant;
+
+import com.paymentapp.entity.Notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// What clients see of a notification; the email outbox bookkeeping (claim, attempts, errors) stays server-side
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDTO {
+    private Long notificationId;
+    private String toEmail;
+    private String subject;
+    private String bodySummary;
+    private String type;
+    private String status;
+    private Instant sentAt;
+    private Long relatedId;
+    private String relatedEntityType;
+    private String priority;
+
+    public static NotificationDTO from(Notification notification) {
+        return new NotificationDTO(notification.getNotificationId(), notification.getToEmail(),
+                notification.getSubject(), notification.getBodySummary(), notification.getType(),
+                notification.getStatus(), notification.getSentAt(), notification.getRelatedId(),
+                notification.getRelatedEntityType(), notification.getPriority());
+    }
+}
@@ -0,0 +1,9 @@
+package com.paymentapp.dto;
+
+// Projection used by payroll building: just enough of an employee/org admin to price a line
+public interface PayeeGradeView {
+	Long getPayeeId();
+	String getName();
+	Long getGradeId();
+	Long getDepartmentId();
+}
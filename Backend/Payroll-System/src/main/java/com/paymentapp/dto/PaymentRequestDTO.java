@@ -27,4 +27,5 @@ public class PaymentRequestDTO {
     
     private Instant createdAt;
     private Instant processedAt;
+    private Long ageMinutes;
 }
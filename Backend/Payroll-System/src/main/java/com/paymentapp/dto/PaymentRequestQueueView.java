@@ -0,0 +1,17 @@
+package com.paymentapp.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Projection for the bank-admin vendor payment queue
+public interface PaymentRequestQueueView {
+	Long getPaymentId();
+	BigDecimal getAmount();
+	String getInvoiceReference();
+	String getStatus();
+	Long getOrgId();
+	String getOrgName();
+	Long getVendorId();
+	String getVendorName();
+	Instant getCreatedAt();
+}
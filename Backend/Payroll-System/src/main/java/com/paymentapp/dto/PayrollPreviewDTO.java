@@ -0,0 +1,18 @@
+package com.paymentapp.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class PayrollPreviewDTO {
+    private Long orgId;
+    private String period;
+    private long headcount;
+    private long missingGradeCount;
+    private BigDecimal gross;
+    private BigDecimal deductions;
+    private BigDecimal net;
+    private List<PayrollPreviewDepartmentDTO> departments;
+}
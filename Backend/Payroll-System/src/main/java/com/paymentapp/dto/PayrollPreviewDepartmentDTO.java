@@ -0,0 +1,16 @@
+package com.paymentapp.dto;
+
+import java.math.BigDecimal;
+
+import lombok.Data;
+
+@Data
+public class PayrollPreviewDepartmentDTO {
+    private Long departmentId;
+    private String departmentName;
+    private long headcount;
+    private long missingGradeCount;
+    private BigDecimal gross = BigDecimal.ZERO;
+    private BigDecimal deductions = BigDecimal.ZERO;
+    private BigDecimal net = BigDecimal.ZERO;
+}
@@ -0,0 +1,19 @@
+package com.paymentapp.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+@Data
+public class SalaryDisbursalBulkApprovalRequestDTO {
+
+    @NotEmpty
+    private List<Long> disbursalRequestIds;
+
+    @NotBlank
+    private String action;
+
+    private String comment;
+}
@@ -0,0 +1,16 @@
+package com.paymentapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaryDisbursalBulkApprovalResultDTO {
+    private Long disbursalId;
+    private Long orgId;
+    private boolean success;
+    private String status;
+    private String message;
+}
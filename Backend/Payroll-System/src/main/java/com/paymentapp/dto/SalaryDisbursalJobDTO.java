@@ -0,0 +1,22 @@
+package com.paymentapp.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import lombok.Data;
+
+@Data
+public class SalaryDisbursalJobDTO {
+    private Long jobId;
+    private Long orgId;
+    private Long disbursalId;
+    private String period;
+    private String status;
+    private int totalPayees;
+    private int linesComputed;
+    private int linesPersisted;
+    private BigDecimal runningTotal;
+    private String errorMessage;
+    private Instant createdAt;
+    private Instant updatedAt;
+}
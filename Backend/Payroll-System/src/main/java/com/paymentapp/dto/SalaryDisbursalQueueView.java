@@ -0,0 +1,16 @@
+package com.paymentapp.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Projection for the bank-admin salary queue: header columns plus a line count, no line rows
+public interface SalaryDisbursalQueueView {
+	Long getDisbursalId();
+	Long getOrgId();
+	String getOrgName();
+	String getPeriod();
+	String getStatus();
+	BigDecimal getTotalAmount();
+	Long getLineCount();
+	Instant getCreatedAt();
+}
@@ -10,4 +10,11 @@ public class SalaryDisbursalRequestCreateDTO {
     private String period;
     private String remarks;
     private List<SalaryDisbursalPaymentGroupDTO> payments;
+
+    // Optional parallel build; partitionBy is "DEPARTMENT" (default) or "CHUNK"
+    private Boolean parallel;
+    private String partitionBy;
+
+    // Optional incremental build: reuse unchanged lines of this org's APPROVED request for that period
+    private String incrementalFromPeriod;
 }
@@ -16,5 +16,11 @@ public class SalaryDisbursalRequestDTO {
 	    private BigDecimal totalAmount;
 	    private String remarks;
 	    private Instant createdAt;
+	    private Long ageMinutes;
+	    private Integer lineCount;
+	    // lines holds one page of the request when it is fetched for review
+	    private Integer linePage;
+	    private Integer linePageSize;
 	    private List<SalaryDisbursalLineDTO> lines;
+	    private IncrementalPayrollSummaryDTO incrementalSummary;
 }
\ No newline at end of file
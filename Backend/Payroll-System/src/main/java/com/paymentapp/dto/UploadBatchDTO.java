@@ -0,0 +1,21 @@
+package com.paymentapp.dto;
+
+import java.time.Instant;
+
+import lombok.Data;
+
+@Data
+public class UploadBatchDTO {
+    private Long batchId;
+    private Long orgId;
+    private String entityType;
+    private String fileName;
+    private String status;
+    private int recordCount;
+    private int processedCount;
+    private int failedCount;
+    private String errorMessage;
+    private Long uploadedBy;
+    private Instant createdAt;
+    private Instant updatedAt;
+}
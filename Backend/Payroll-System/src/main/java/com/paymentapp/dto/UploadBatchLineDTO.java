@@ -0,0 +1,14 @@
+package com.paymentapp.dto;
+
+import lombok.Data;
+
+@Data
+public class UploadBatchLineDTO {
+    private Long id;
+    private int rowNumber;
+    private String rawData;
+    private String status;
+    private String message;
+    private String entityType;
+    private Long entityId;
+}
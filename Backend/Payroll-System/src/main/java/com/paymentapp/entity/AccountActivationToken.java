@@ -0,0 +1,39 @@
+package com.paymentapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+/**
+ * Single-use token for accounts created by a bulk import without a password.
+ * Only the SHA-256 of the token is stored; the token itself is emailed.
+ */
+@Entity
+@Table(name = "account_activation_tokens",
+        indexes = @Index(name = "idx_activation_token_hash", columnList = "tokenHash", unique = true))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountActivationToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    private Instant usedAt;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
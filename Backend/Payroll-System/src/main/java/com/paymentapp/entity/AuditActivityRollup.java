@@ -0,0 +1,50 @@
+package com.paymentapp.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of audit events per UTC hour, role, action and resource type.
+ * Incremented by the audit writer, so reads never scan audit_log; archived rows keep their counts.
+ * In the default async mode the increment shares the writer's transaction with the rows it counts.
+ * In on-commit mode the rows commit with the caller and the increment follows in a separate
+ * transaction, so a crash in between leaves the counts short. Recompute affected hours with
+ * POST /api/audit-logs/rollups/rebuild.
+ */
+@Entity
+@Table(name = "audit_activity_rollup", uniqueConstraints = @UniqueConstraint(name = "uk_audit_rollup_bucket",
+        columnNames = { "bucketHour", "performedByRole", "actionPerformed", "targetResourceType" }))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditActivityRollup {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long rollupId;
+
+    // Start of the hour, UTC
+    @Column(nullable = false)
+    private Instant bucketHour;
+
+    @Column(nullable = false, length = 100)
+    private String performedByRole;
+
+    @Column(nullable = false, length = 100)
+    private String actionPerformed;
+
+    @Column(nullable = false, length = 100)
+    private String targetResourceType;
+
+    @Column(nullable = false)
+    private long eventCount;
+}
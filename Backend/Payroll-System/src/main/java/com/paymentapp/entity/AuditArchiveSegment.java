@@ -0,0 +1,54 @@
+package com.paymentapp.entity;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Index entry for one month of archived audit rows. The segment file is a
+ * sequence of gzip members holding NDJSON, appended once per archive batch.
+ * Only the first committedBytes of the file are valid: the length is updated
+ * in the same transaction that deletes the archived rows, so bytes written by
+ * an interrupted run are ignored by readers and truncated by the next run.
+ */
+@Entity
+@Table(name = "audit_archive_segment")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditArchiveSegment {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long segmentId;
+
+    // UTC month, e.g. 2025-03
+    @Column(nullable = false, unique = true, length = 7)
+    private String segmentMonth;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    private Instant minTimestamp;
+    private Instant maxTimestamp;
+
+    private long rowCount;
+
+    private long committedBytes;
+
+    // {"LOGIN": 120, "APPROVE_SALARY": 4, ...} as JSON
+    @Column(columnDefinition = "TEXT")
+    private String actionCounts;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+}
@@ -2,13 +2,13 @@ package com.paymentapp.entity;
 
 import java.time.Instant;
 
-import org.hibernate.annotations.CreationTimestamp;
-
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,15 +16,24 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "audit_log")
+@Table(name = "audit_log", indexes = {
+        // Keyset pagination walks (actionTimestamp, logId) newest first; each filter gets its own prefix
+        @Index(name = "idx_audit_ts_id", columnList = "actionTimestamp, logId"),
+        @Index(name = "idx_audit_role_ts", columnList = "performedByRole, actionTimestamp, logId"),
+        @Index(name = "idx_audit_action_ts", columnList = "actionPerformed, actionTimestamp, logId"),
+        @Index(name = "idx_audit_resource_ts", columnList = "targetResourceType, actionTimestamp, logId"),
+        @Index(name = "idx_audit_user_ts", columnList = "performedByUserId, actionTimestamp, logId")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class AuditLog {
 
+    // Pooled sequence so buffered audit rows are inserted in JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_log_seq")
+    @SequenceGenerator(name = "audit_log_seq", sequenceName = "audit_log_seq", allocationSize = 50)
     private Long logId;
 
     @Column(nullable = false)
@@ -45,7 +54,7 @@ public class AuditLog {
     @Column(nullable = false)
     private Long targetResourceId;
 
-    @CreationTimestamp
+    // Set when the action happens, not when the buffered row is flushed
     @Column(nullable = false, updatable = false)
     private Instant actionTimestamp;
 }
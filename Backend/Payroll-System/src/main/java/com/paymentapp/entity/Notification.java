@@ -12,6 +12,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -21,7 +22,11 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "notification")
+@Table(name = "notification", indexes = {
+        // Email outbox: due PENDING rows are claimed in nextAttemptAt order
+        @Index(name = "idx_notification_outbox", columnList = "type, status, nextAttemptAt"),
+        @Index(name = "idx_notification_claim", columnList = "claimToken")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -58,4 +63,19 @@ public class Notification {
     
     @Column(name = "priority")
     private String priority;
+
+    // ================= EMAIL OUTBOX =================
+    // PENDING -> SENDING (claimed by a dispatcher) -> SENT, or back to PENDING with backoff until FAILED
+
+    private int attempts;
+
+    private Instant nextAttemptAt;
+
+    @Column(length = 36)
+    private String claimToken;
+
+    private Instant claimedAt;
+
+    @Column(length = 1000)
+    private String lastError;
 }
@@ -76,6 +76,8 @@ public class Organization {
     private int employeeCount = 0;
     
 
+    // Written on insert only; later changes go through BalanceService's conditional updates
+    @Column(updatable = false)
     private BigDecimal accountBalance = BigDecimal.ZERO; 
     
     @OneToMany(mappedBy = "organization", cascade = CascadeType.ALL, orphanRemoval = true)
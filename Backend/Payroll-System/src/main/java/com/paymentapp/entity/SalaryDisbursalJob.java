@@ -0,0 +1,75 @@
+package com.paymentapp.entity;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Background build of a salary disbursal request. The checkpoint
+ * (nextGroupIndex / nextOffset) is committed together with each chunk of
+ * lines, so an interrupted job resumes from its last committed chunk.
+ */
+@Entity
+@Table(name = "salary_disbursal_job")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaryDisbursalJob {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long jobId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "org_id", nullable = false)
+    private Organization organization;
+
+    // Header being built; removed again if the job fails
+    private Long disbursalId;
+
+    private String period;
+
+    private String status = "QUEUED"; // QUEUED, RUNNING, COMPLETED, FAILED
+
+    // Original SalaryDisbursalRequestCreateDTO as JSON
+    @Column(columnDefinition = "LONGTEXT", nullable = false)
+    private String payload;
+
+    private int totalPayees;
+    private int linesComputed;
+    private int linesPersisted;
+    private int employeeCount;
+    private int orgAdminCount;
+
+    private BigDecimal runningTotal = BigDecimal.ZERO;
+
+    private int nextGroupIndex;
+    private int nextOffset;
+
+    @Column(length = 2000)
+    private String errorMessage;
+
+    private Long requestedByUserId;
+    private String requestedByEmail;
+    private String requestedByRole;
+
+    @CreationTimestamp
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+}
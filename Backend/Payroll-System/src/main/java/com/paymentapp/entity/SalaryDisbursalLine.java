@@ -9,6 +9,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -21,7 +22,11 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class SalaryDisbursalLine {
 	
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence instead of IDENTITY so Hibernate can batch line inserts
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "salary_disbursal_line_seq")
+    @SequenceGenerator(name = "salary_disbursal_line_seq", sequenceName = "salary_disbursal_line_seq",
+            allocationSize = 50)
     private Long lineId;
     
     private BigDecimal grossSalary;
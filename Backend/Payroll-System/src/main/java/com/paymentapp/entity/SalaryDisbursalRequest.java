@@ -39,6 +39,15 @@ public class SalaryDisbursalRequest {
     private String status = "PENDING"; 
 
     private String remarks; 
+
+    // Approval checkpoint: while status is PROCESSING, lines up to this id are already paid
+    private Long approvalLastLineId;
+
+    private Integer approvalProcessedLines = 0;
+
+    private Long approvalActorUserId;
+
+    private String approvalComment;
     
     @CreationTimestamp
     private Instant createdAt;
@@ -14,6 +14,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -28,8 +29,10 @@ import lombok.NoArgsConstructor;
 @Builder
 public class SalarySlip {
 
+    // Pooled sequence so slips can be written set-based and in JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "salary_slip_seq")
+    @SequenceGenerator(name = "salary_slip_seq", sequenceName = "salary_slip_seq", allocationSize = 50)
     private Long slipId;
 
     @Column(nullable = false)
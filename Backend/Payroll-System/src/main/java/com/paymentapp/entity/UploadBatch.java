@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -66,6 +67,25 @@ public class UploadBatch {
     @Column(name = "entity_type", length = 50)
     private String entityType;  
 
+    // Background uploads only: processedCount counts created rows, failedCount rejected ones
+    @Column(name = "failed_count")
+    private Integer failedCount = 0;
+
+    @Column(name = "file_name", length = 255)
+    private String fileName;
+
+    @Column(name = "department_name", length = 150)
+    private String departmentName;
+
+    @Column(name = "salary_grade_id")
+    private Long salaryGradeId;
+
+    @Column(name = "error_message", length = 2000)
+    private String errorMessage;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+
     public void addBatchLine(UploadBatchLine line) {
         lines.add(line);
         line.setUploadBatch(this);
@@ -0,0 +1,39 @@
+package com.paymentapp.entity;
+
+import jakarta.persistence.Basic;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Uploaded file of a background upload batch, kept until the batch has been
+ * processed so an interrupted batch can be picked up again after a restart.
+ */
+@Entity
+@Table(name = "upload_batch_file")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadBatchFile {
+
+    // Same id as the UploadBatch
+    @Id
+    private Long batchId;
+
+    @Column(name = "file_name", length = 255, nullable = false)
+    private String fileName;
+
+    @ToString.Exclude
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "content", columnDefinition = "LONGBLOB", nullable = false)
+    private byte[] content;
+}
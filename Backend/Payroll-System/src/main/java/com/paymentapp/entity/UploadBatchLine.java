@@ -6,6 +6,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -16,7 +17,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "upload_batch_line")
+@Table(name = "upload_batch_line",
+       indexes = @Index(name = "idx_upload_line_batch_status", columnList = "upload_batch_id, status, line_number"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -42,7 +42,8 @@ public class Vendor {
 	@Column(unique = true )
 	private String phone;
 	
-	@Column(precision = 19, scale = 4)
+	// Written on insert only; later changes go through BalanceService's conditional updates
+	@Column(precision = 19, scale = 4, updatable = false)
 	private BigDecimal balance = BigDecimal.ZERO;
 
 	
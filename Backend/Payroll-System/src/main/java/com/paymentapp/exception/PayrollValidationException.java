@@ -0,0 +1,16 @@
+package com.paymentapp.exception;
+
+import java.util.List;
+
+public class PayrollValidationException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+	private final List<String> errors;
+
+	public PayrollValidationException(List<String> errors) {
+		super(errors.size() + " payroll validation error(s): " + String.join("; ", errors));
+		this.errors = errors;
+	}
+
+	public List<String> getErrors() { return errors; }
+}
@@ -0,0 +1,31 @@
+package com.paymentapp.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.paymentapp.entity.AccountActivationToken;
+
+public interface AccountActivationTokenRepository extends JpaRepository<AccountActivationToken, Long> {
+
+    Optional<AccountActivationToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Marks the token used if it is still unused and not expired; returns 0 otherwise,
+     * so two requests racing on the same token cannot both succeed
+     */
+    @Modifying
+    @Query("""
+            UPDATE AccountActivationToken t SET t.usedAt = :now
+            WHERE t.tokenHash = :tokenHash AND t.usedAt IS NULL AND t.expiresAt > :now
+            """)
+    int consume(@Param("tokenHash") String tokenHash, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM AccountActivationToken t WHERE t.user.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
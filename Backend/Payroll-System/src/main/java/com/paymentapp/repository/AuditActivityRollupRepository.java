@@ -0,0 +1,47 @@
+package com.paymentapp.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.paymentapp.dto.AuditActivityPointView;
+import com.paymentapp.entity.AuditActivityRollup;
+
+public interface AuditActivityRollupRepository extends JpaRepository<AuditActivityRollup, Long> {
+
+	// Atomic increment; concurrent writers on the same bucket never lose a count
+	@Modifying
+	@Query(value = """
+			INSERT INTO audit_activity_rollup (bucket_hour, performed_by_role, action_performed, target_resource_type, event_count)
+			VALUES (:bucketHour, :role, :action, :resourceType, :count)
+			ON DUPLICATE KEY UPDATE event_count = event_count + :count
+			""", nativeQuery = true)
+	int increment(@Param("bucketHour") Instant bucketHour, @Param("role") String role, @Param("action") String action,
+			@Param("resourceType") String resourceType, @Param("count") long count);
+
+	@Modifying
+	@Query("DELETE FROM AuditActivityRollup r WHERE r.bucketHour >= :from AND r.bucketHour < :to")
+	int deleteByBucketHourRange(@Param("from") Instant from, @Param("to") Instant to);
+
+	// Hourly series in [from, to), summed over resource types unless one is given
+	@Query("""
+			SELECT r.bucketHour AS bucketHour, r.performedByRole AS role, r.actionPerformed AS action,
+			       SUM(r.eventCount) AS eventCount
+			FROM AuditActivityRollup r
+			WHERE r.bucketHour >= :from AND r.bucketHour < :to
+			  AND (:role IS NULL OR r.performedByRole = :role)
+			  AND (:action IS NULL OR r.actionPerformed = :action)
+			  AND (:resourceType IS NULL OR r.targetResourceType = :resourceType)
+			GROUP BY r.bucketHour, r.performedByRole, r.actionPerformed
+			ORDER BY r.bucketHour, r.performedByRole, r.actionPerformed
+			""")
+	List<AuditActivityPointView> findActivity(@Param("from") Instant from, @Param("to") Instant to,
+			@Param("role") String role, @Param("action") String action, @Param("resourceType") String resourceType);
+
+	@Query("SELECT COALESCE(SUM(r.eventCount), 0) FROM AuditActivityRollup r")
+	long sumEventCount();
+}
@@ -0,0 +1,32 @@
+package com.paymentapp.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.paymentapp.entity.AuditArchiveSegment;
+
+public interface AuditArchiveSegmentRepository extends JpaRepository<AuditArchiveSegment, Long> {
+
+	Optional<AuditArchiveSegment> findBySegmentMonth(String segmentMonth);
+
+	// Segments that can hold rows in [from, to], newest month first; null bounds are open
+	@Query("""
+			SELECT s FROM AuditArchiveSegment s
+			WHERE s.rowCount > 0
+			  AND (:from IS NULL OR s.maxTimestamp >= :from)
+			  AND (:to IS NULL OR s.minTimestamp <= :to)
+			ORDER BY s.segmentMonth DESC
+			""")
+	List<AuditArchiveSegment> findOverlapping(@Param("from") Instant from, @Param("to") Instant to);
+
+	@Query("SELECT MIN(s.minTimestamp) FROM AuditArchiveSegment s WHERE s.rowCount > 0")
+	Instant findOldestTimestamp();
+
+	@Query("SELECT COALESCE(SUM(s.rowCount), 0) FROM AuditArchiveSegment s")
+	long sumRowCount();
+}
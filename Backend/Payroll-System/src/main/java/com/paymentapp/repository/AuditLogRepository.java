@@ -1,13 +1,27 @@
 package com.paymentapp.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.paymentapp.entity.AuditLog;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long>, JpaSpecificationExecutor<AuditLog> {
     
     /**
      * Find audit logs by user ID
@@ -38,4 +52,46 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
      * Find audit logs by email
      */
     List<AuditLog> findByPerformedByEmail(String email);
+
+    /**
+     * Oldest rows before the cutoff, in archive order
+     */
+    @Query("SELECT a FROM AuditLog a WHERE a.actionTimestamp < :cutoff ORDER BY a.actionTimestamp, a.logId")
+    List<AuditLog> findArchiveBatch(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    @Query("SELECT MIN(a.actionTimestamp) FROM AuditLog a")
+    Instant findOldestTimestamp();
+
+    /**
+     * Remove rows that were written to an archive segment
+     */
+    @Modifying
+    @Query("DELETE FROM AuditLog a WHERE a.logId IN :ids")
+    int deleteByLogIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Forward-only export cursor, oldest first. Rows are built with a constructor
+     * expression so they never enter the persistence context, and the MySQL
+     * driver streams them one at a time (fetch size Integer.MIN_VALUE).
+     * Must be consumed inside a transaction.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT new com.paymentapp.entity.AuditLog(a.logId, a.performedByEmail, a.performedByUserId, a.performedByRole,
+                   a.actionPerformed, a.targetResourceType, a.targetResourceId, a.actionTimestamp)
+            FROM AuditLog a
+            WHERE (:role IS NULL OR a.performedByRole = :role)
+              AND (:action IS NULL OR a.actionPerformed = :action)
+              AND (:resourceType IS NULL OR a.targetResourceType = :resourceType)
+              AND (:userId IS NULL OR a.performedByUserId = :userId)
+              AND (:from IS NULL OR a.actionTimestamp >= :from)
+              AND (:to IS NULL OR a.actionTimestamp <= :to)
+            ORDER BY a.actionTimestamp, a.logId
+            """)
+    Stream<AuditLog> streamForExport(@Param("role") String role, @Param("action") String action,
+            @Param("resourceType") String resourceType, @Param("userId") Long userId,
+            @Param("from") Instant from, @Param("to") Instant to);
 }
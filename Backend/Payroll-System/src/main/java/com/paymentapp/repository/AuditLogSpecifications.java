@@ -0,0 +1,59 @@
+package com.paymentapp.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.paymentapp.entity.AuditLog;
+
+// Filter predicates for audit log search; null arguments mean "no restriction"
+public final class AuditLogSpecifications {
+
+	private AuditLogSpecifications() {
+	}
+
+	public static Specification<AuditLog> hasRole(String role) {
+		return (root, query, cb) -> isBlank(role) ? null : cb.equal(root.get("performedByRole"), role);
+	}
+
+	public static Specification<AuditLog> hasAction(String action) {
+		return (root, query, cb) -> isBlank(action) ? null : cb.equal(root.get("actionPerformed"), action);
+	}
+
+	public static Specification<AuditLog> hasResourceType(String resourceType) {
+		return (root, query, cb) -> isBlank(resourceType) ? null : cb.equal(root.get("targetResourceType"), resourceType);
+	}
+
+	public static Specification<AuditLog> hasUserId(Long userId) {
+		return (root, query, cb) -> userId == null ? null : cb.equal(root.get("performedByUserId"), userId);
+	}
+
+	public static Specification<AuditLog> between(Instant from, Instant to) {
+		return (root, query, cb) -> {
+			if (from != null && to != null) {
+				return cb.between(root.get("actionTimestamp"), from, to);
+			}
+			if (from != null) {
+				return cb.greaterThanOrEqualTo(root.get("actionTimestamp"), from);
+			}
+			return to == null ? null : cb.lessThanOrEqualTo(root.get("actionTimestamp"), to);
+		};
+	}
+
+	// Rows strictly after the cursor in (actionTimestamp DESC, logId DESC) order
+	public static Specification<AuditLog> before(Instant timestamp, Long logId) {
+		return (root, query, cb) -> {
+			if (timestamp == null || logId == null) {
+				return null;
+			}
+			return cb.or(
+					cb.lessThan(root.get("actionTimestamp"), timestamp),
+					cb.and(cb.equal(root.get("actionTimestamp"), timestamp),
+							cb.lessThan(root.get("logId"), logId)));
+		};
+	}
+
+	private static boolean isBlank(String value) {
+		return value == null || value.isBlank();
+	}
+}
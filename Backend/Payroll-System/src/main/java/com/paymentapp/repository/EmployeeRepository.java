@@ -1,10 +1,15 @@
 package com.paymentapp.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.paymentapp.dto.DepartmentPayrollTotalsView;
+import com.paymentapp.dto.PayeeGradeView;
 import com.paymentapp.entity.Department;
 import com.paymentapp.entity.Employee;
 import com.paymentapp.entity.Organization;
@@ -29,4 +34,26 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     // ✅ Find active employees in department
     List<Employee> findByDepartmentAndDeletedFalse(Department department);
 
+    // ✅ Payroll building: id, name and grade id only (no entity or lazy grade load)
+    @Query("SELECT e.empId AS payeeId, e.empName AS name, g.gradeId AS gradeId, d.departmentId AS departmentId " +
+           "FROM Employee e LEFT JOIN e.salaryGrade g LEFT JOIN e.department d WHERE e.empId IN :ids")
+    List<PayeeGradeView> findPayeeGradesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ✅ Payroll preview: per-department headcount and grade sums, computed in the database
+    @Query("SELECT d.departmentId AS departmentId, d.name AS departmentName, COUNT(e) AS headcount, " +
+           "SUM(CASE WHEN g.gradeId IS NULL THEN 1 ELSE 0 END) AS missingGradeCount, " +
+           "SUM(COALESCE(g.basicSalary, 0) + COALESCE(g.hra, 0) + COALESCE(g.da, 0) + COALESCE(g.allowances, 0)) AS gross, " +
+           "SUM(COALESCE(g.pf, 0)) AS deductions " +
+           "FROM Employee e LEFT JOIN e.salaryGrade g LEFT JOIN e.department d " +
+           "WHERE e.organization.orgId = :orgId AND e.empId IN :ids " +
+           "GROUP BY d.departmentId, d.name")
+    List<DepartmentPayrollTotalsView> sumPayrollByDepartment(@Param("orgId") Long orgId,
+                                                             @Param("ids") Collection<Long> ids);
+
+    // ✅ Bulk import pre-flight: phone and bank account number are unique across all employees
+    @Query("SELECT e.phone FROM Employee e WHERE e.phone IN :phones")
+    List<String> findExistingPhones(@Param("phones") Collection<String> phones);
+
+    @Query("SELECT e.bankAccountNo FROM Employee e WHERE e.bankAccountNo IN :accountNos")
+    List<String> findExistingBankAccountNos(@Param("accountNos") Collection<String> accountNos);
 }
@@ -1,8 +1,14 @@
 package com.paymentapp.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.paymentapp.entity.Notification;
 import com.paymentapp.entity.User;
@@ -15,6 +21,95 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     
     Long countByUserAndTypeAndStatus(User user, String type, String status);
     
+    long countByUser_UserIdAndTypeAndStatus(Long userId, String type, String status);
+    
+    // ✅ SSE replay after a reconnect (newest 100 the client has not seen)
+    List<Notification> findTop100ByUser_UserIdAndTypeAndNotificationIdGreaterThanOrderByNotificationIdDesc(
+            Long userId, String type, Long notificationId);
+    
+    // ✅ Bulk state changes: one statement each, returning the affected row count
+    @Modifying
+    @Query("""
+            UPDATE Notification n SET n.status = 'READ'
+            WHERE n.user.userId = :userId AND n.type = 'IN_APP' AND n.status = 'UNREAD'
+            """)
+    int markAllInAppRead(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query("""
+            UPDATE Notification n SET n.status = 'READ'
+            WHERE n.user.userId = :userId AND n.type = 'IN_APP' AND n.status = 'UNREAD'
+              AND n.relatedEntityType = :relatedEntityType
+            """)
+    int markInAppReadByRelatedEntityType(@Param("userId") Long userId, @Param("relatedEntityType") String relatedEntityType);
+    
+    @Modifying
+    @Query("""
+            UPDATE Notification n SET n.status = 'READ'
+            WHERE n.user.userId = :userId AND n.type = 'IN_APP' AND n.status = 'UNREAD'
+              AND n.notificationId IN :ids
+            """)
+    int markInAppReadByIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+    
+    // Deletes are split by status so callers know exactly how many unread rows went away
+    @Modifying
+    @Query("""
+            DELETE FROM Notification n
+            WHERE n.user.userId = :userId AND n.type = 'IN_APP' AND n.notificationId IN :ids
+              AND (:unread = TRUE AND n.status = 'UNREAD' OR :unread = FALSE AND n.status <> 'UNREAD')
+            """)
+    int deleteInAppByIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids, @Param("unread") boolean unread);
+    
+    @Modifying
+    @Query("""
+            DELETE FROM Notification n
+            WHERE n.user.userId = :userId AND n.type = 'IN_APP' AND n.sentAt < :cutoff
+              AND (:unread = TRUE AND n.status = 'UNREAD' OR :unread = FALSE AND n.status <> 'UNREAD')
+            """)
+    int deleteInAppOlderThan(@Param("userId") Long userId, @Param("cutoff") Instant cutoff, @Param("unread") boolean unread);
+    
     // ✅ Email/SMS notifications (existing)
     List<Notification> findByToEmailAndTypeOrderBySentAtDesc(String email, String type);
+    
+    // ✅ Email outbox
+    @Query("""
+            SELECT n.notificationId FROM Notification n
+            WHERE n.type = 'EMAIL' AND n.status = 'PENDING' AND n.nextAttemptAt <= :now
+            ORDER BY n.nextAttemptAt, n.notificationId
+            """)
+    List<Long> findDueEmailIds(@Param("now") Instant now, Pageable pageable);
+
+    // Only rows still PENDING are taken, so concurrent dispatchers never claim the same email
+    @Modifying
+    @Query("""
+            UPDATE Notification n SET n.status = 'SENDING', n.claimToken = :token, n.claimedAt = :now
+            WHERE n.notificationId IN :ids AND n.status = 'PENDING'
+            """)
+    int claimEmails(@Param("ids") Collection<Long> ids, @Param("token") String token, @Param("now") Instant now);
+
+    List<Notification> findByClaimToken(String claimToken);
+
+    @Modifying
+    @Query("""
+            UPDATE Notification n SET n.status = 'SENT', n.attempts = n.attempts + 1, n.claimToken = NULL, n.lastError = NULL
+            WHERE n.notificationId IN :ids AND n.claimToken = :token
+            """)
+    int markEmailsSent(@Param("ids") Collection<Long> ids, @Param("token") String token);
+
+    @Modifying
+    @Query("""
+            UPDATE Notification n SET n.status = :status, n.attempts = :attempts, n.nextAttemptAt = :nextAttemptAt,
+                   n.lastError = :error, n.claimToken = NULL
+            WHERE n.notificationId = :id AND n.claimToken = :token
+            """)
+    int markEmailAttemptFailed(@Param("id") Long id, @Param("token") String token, @Param("status") String status,
+            @Param("attempts") int attempts, @Param("nextAttemptAt") Instant nextAttemptAt, @Param("error") String error);
+
+    // Claims left behind by a dispatcher that died mid-send go back to PENDING
+    @Modifying
+    @Query("""
+            UPDATE Notification n SET n.status = 'PENDING', n.claimToken = NULL
+            WHERE n.type = 'EMAIL' AND n.status = 'SENDING' AND n.claimedAt < :cutoff
+            """)
+    int releaseStaleEmailClaims(@Param("cutoff") Instant cutoff);
 }
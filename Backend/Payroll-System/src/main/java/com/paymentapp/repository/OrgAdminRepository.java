@@ -1,10 +1,15 @@
 package com.paymentapp.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.paymentapp.dto.DepartmentPayrollTotalsView;
+import com.paymentapp.dto.PayeeGradeView;
 import com.paymentapp.entity.Department;
 import com.paymentapp.entity.OrgAdmin;
 import com.paymentapp.entity.Organization;
@@ -41,5 +46,23 @@ public interface OrgAdminRepository extends JpaRepository<OrgAdmin, Long> {
 
 	List<OrgAdmin> findByOrganization_OrgId(Long orgId);
 
-
+	// ✅ Payroll building: id, name and grade id only (no entity or lazy grade load)
+	@Query("SELECT a.orgAdminId AS payeeId, a.name AS name, g.gradeId AS gradeId, d.departmentId AS departmentId " +
+	       "FROM OrgAdmin a LEFT JOIN a.salaryGrade g LEFT JOIN a.department d WHERE a.orgAdminId IN :ids")
+	List<PayeeGradeView> findPayeeGradesByIdIn(@Param("ids") Collection<Long> ids);
+
+	// ✅ Payroll preview: per-department headcount and grade sums, computed in the database
+	@Query("SELECT d.departmentId AS departmentId, d.name AS departmentName, COUNT(a) AS headcount, " +
+	       "SUM(CASE WHEN g.gradeId IS NULL THEN 1 ELSE 0 END) AS missingGradeCount, " +
+	       "SUM(COALESCE(g.basicSalary, 0) + COALESCE(g.hra, 0) + COALESCE(g.da, 0) + COALESCE(g.allowances, 0)) AS gross, " +
+	       "SUM(COALESCE(g.pf, 0)) AS deductions " +
+	       "FROM OrgAdmin a LEFT JOIN a.salaryGrade g LEFT JOIN a.department d " +
+	       "WHERE a.organization.orgId = :orgId AND a.orgAdminId IN :ids " +
+	       "GROUP BY d.departmentId, d.name")
+	List<DepartmentPayrollTotalsView> sumPayrollByDepartment(@Param("orgId") Long orgId,
+	                                                         @Param("ids") Collection<Long> ids);
+
+	// ✅ Bulk import pre-flight: phone is unique across all org admins
+	@Query("SELECT a.phone FROM OrgAdmin a WHERE a.phone IN :phones")
+	List<String> findExistingPhones(@Param("phones") Collection<String> phones);
 }
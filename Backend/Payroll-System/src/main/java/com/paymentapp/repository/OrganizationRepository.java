@@ -2,9 +2,14 @@
 
 package com.paymentapp.repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import com.paymentapp.entity.Organization;
 
 public interface OrganizationRepository extends JpaRepository<Organization, Long> {
@@ -30,4 +35,23 @@ public interface OrganizationRepository extends JpaRepository<Organization, Long
     boolean existsByPhoneAndOrgIdNot(String phone, Long orgId);
     
     boolean existsByBankAccountNoAndOrgIdNot(String bankAccountNo, Long orgId);
+
+    // ================= BALANCE MUTATIONS =================
+    // accountBalance is not updatable through the entity; these statements are the only writers
+
+    @Modifying
+    @Query("UPDATE Organization o SET o.accountBalance = o.accountBalance - :amount " +
+           "WHERE o.orgId = :orgId AND o.accountBalance >= :amount")
+    int debitIfSufficient(@Param("orgId") Long orgId, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("UPDATE Organization o SET o.accountBalance = COALESCE(o.accountBalance, 0) + :amount WHERE o.orgId = :orgId")
+    int credit(@Param("orgId") Long orgId, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("UPDATE Organization o SET o.accountBalance = :balance WHERE o.orgId = :orgId")
+    int overwriteBalance(@Param("orgId") Long orgId, @Param("balance") BigDecimal balance);
+
+    @Query("SELECT o.accountBalance FROM Organization o WHERE o.orgId = :orgId")
+    Optional<BigDecimal> findAccountBalance(@Param("orgId") Long orgId);
 }
@@ -2,8 +2,13 @@ package com.paymentapp.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.paymentapp.dto.PaymentRequestQueueView;
 import com.paymentapp.entity.Organization;
 import com.paymentapp.entity.PaymentRequest;
 
@@ -12,4 +17,16 @@ public interface PaymentRequestRepository extends JpaRepository<PaymentRequest,
 
 	List<PaymentRequest> findByStatus(String string);
 	List<PaymentRequest> findByOrganization(Organization organization);
+
+	// Everything toDTO touches in one statement instead of one lazy load per association
+	@Query("SELECT p FROM PaymentRequest p JOIN FETCH p.organization JOIN FETCH p.vendor " +
+	       "JOIN FETCH p.requestedBy LEFT JOIN FETCH p.approvedBy WHERE p.status = :status")
+	List<PaymentRequest> findByStatusWithParties(@Param("status") String status);
+
+	@Query(value = "SELECT p.paymentId AS paymentId, p.amount AS amount, p.invoiceReference AS invoiceReference, " +
+	               "p.status AS status, p.createdAt AS createdAt, o.orgId AS orgId, o.orgName AS orgName, " +
+	               "v.vendorId AS vendorId, v.name AS vendorName " +
+	               "FROM PaymentRequest p JOIN p.organization o JOIN p.vendor v WHERE p.status = :status",
+	       countQuery = "SELECT COUNT(p) FROM PaymentRequest p WHERE p.status = :status")
+	Page<PaymentRequestQueueView> findQueueByStatus(@Param("status") String status, Pageable pageable);
 }
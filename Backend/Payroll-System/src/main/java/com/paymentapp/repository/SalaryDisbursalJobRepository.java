@@ -0,0 +1,12 @@
+package com.paymentapp.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.paymentapp.entity.SalaryDisbursalJob;
+
+public interface SalaryDisbursalJobRepository extends JpaRepository<SalaryDisbursalJob, Long> {
+
+	List<SalaryDisbursalJob> findByStatusIn(List<String> statuses);
+}
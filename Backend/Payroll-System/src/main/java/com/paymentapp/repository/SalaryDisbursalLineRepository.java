@@ -1,7 +1,91 @@
 package com.paymentapp.repository;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import com.paymentapp.entity.SalaryDisbursalLine;
 
 public interface SalaryDisbursalLineRepository extends JpaRepository<SalaryDisbursalLine, Long> {
+
+	@Modifying
+	@Query("DELETE FROM SalaryDisbursalLine l WHERE l.disbursalRequest.disbursalId = :disbursalId")
+	int deleteByDisbursalId(@Param("disbursalId") Long disbursalId);
+
+	// ================= INCREMENTAL PAYROLL =================
+	// Copies a previous period's lines for payees that have not changed since it was built:
+	// still selected, not deleted, entity untouched (grade/department/status edits bump updatedAt)
+	// and grade amounts still equal to the copied line.
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("INSERT INTO SalaryDisbursalLine (grossSalary, deductions, netAmount, status, disbursalRequest, employee) " +
+	       "SELECT l.grossSalary, l.deductions, l.netAmount, 'PENDING', r, e " +
+	       "FROM SalaryDisbursalLine l JOIN l.employee e JOIN e.salaryGrade g, SalaryDisbursalRequest r " +
+	       "WHERE r.disbursalId = :newId AND l.disbursalRequest.disbursalId = :baseId " +
+	       "AND e.empId IN :ids AND (e.deleted IS NULL OR e.deleted = false) AND e.updatedAt <= :since " +
+	       "AND l.grossSalary = COALESCE(g.basicSalary, 0) + COALESCE(g.hra, 0) + COALESCE(g.da, 0) + COALESCE(g.allowances, 0) " +
+	       "AND l.deductions = COALESCE(g.pf, 0)")
+	int cloneUnchangedEmployeeLines(@Param("newId") Long newId, @Param("baseId") Long baseId,
+	                                @Param("ids") Collection<Long> ids, @Param("since") Instant since);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("INSERT INTO SalaryDisbursalLine (grossSalary, deductions, netAmount, status, disbursalRequest, orgAdmin) " +
+	       "SELECT l.grossSalary, l.deductions, l.netAmount, 'PENDING', r, a " +
+	       "FROM SalaryDisbursalLine l JOIN l.orgAdmin a JOIN a.salaryGrade g, SalaryDisbursalRequest r " +
+	       "WHERE r.disbursalId = :newId AND l.disbursalRequest.disbursalId = :baseId " +
+	       "AND a.orgAdminId IN :ids AND a.deleted = false AND a.updatedAt <= :since " +
+	       "AND l.grossSalary = COALESCE(g.basicSalary, 0) + COALESCE(g.hra, 0) + COALESCE(g.da, 0) + COALESCE(g.allowances, 0) " +
+	       "AND l.deductions = COALESCE(g.pf, 0)")
+	int cloneUnchangedOrgAdminLines(@Param("newId") Long newId, @Param("baseId") Long baseId,
+	                                @Param("ids") Collection<Long> ids, @Param("since") Instant since);
+
+	@Query("SELECT l.employee.empId FROM SalaryDisbursalLine l " +
+	       "WHERE l.disbursalRequest.disbursalId = :disbursalId AND l.employee.empId IN :ids")
+	List<Long> findEmployeeIdsInRequest(@Param("disbursalId") Long disbursalId, @Param("ids") Collection<Long> ids);
+
+	@Query("SELECT l.orgAdmin.orgAdminId FROM SalaryDisbursalLine l " +
+	       "WHERE l.disbursalRequest.disbursalId = :disbursalId AND l.orgAdmin.orgAdminId IN :ids")
+	List<Long> findOrgAdminIdsInRequest(@Param("disbursalId") Long disbursalId, @Param("ids") Collection<Long> ids);
+
+	long countByDisbursalRequest_DisbursalId(Long disbursalId);
+
+	@Query("SELECT COALESCE(SUM(l.netAmount), 0) FROM SalaryDisbursalLine l WHERE l.disbursalRequest.disbursalId = :disbursalId")
+	BigDecimal sumNetAmountByDisbursalId(@Param("disbursalId") Long disbursalId);
+
+	// ================= CHUNKED APPROVAL =================
+
+	@Query("SELECT l FROM SalaryDisbursalLine l " +
+	       "LEFT JOIN FETCH l.employee e LEFT JOIN FETCH e.user " +
+	       "LEFT JOIN FETCH l.orgAdmin a LEFT JOIN FETCH a.user " +
+	       "WHERE l.disbursalRequest.disbursalId = :disbursalId AND l.lineId > :afterLineId " +
+	       "ORDER BY l.lineId")
+	List<SalaryDisbursalLine> findApprovalChunk(@Param("disbursalId") Long disbursalId,
+	                                            @Param("afterLineId") Long afterLineId, Pageable pageable);
+
+	@Modifying
+	@Query("UPDATE SalaryDisbursalLine l SET l.status = 'PAID' " +
+	       "WHERE l.disbursalRequest.disbursalId = :disbursalId AND l.lineId > :fromExclusive AND l.lineId <= :toInclusive")
+	int markPaid(@Param("disbursalId") Long disbursalId, @Param("fromExclusive") Long fromExclusive,
+	             @Param("toInclusive") Long toInclusive);
+
+	// Lines whose payee has no login; checked before any money moves
+	@Query("SELECT COUNT(l) FROM SalaryDisbursalLine l LEFT JOIN l.employee e LEFT JOIN l.orgAdmin a " +
+	       "WHERE l.disbursalRequest.disbursalId = :disbursalId " +
+	       "AND ((e IS NOT NULL AND e.user IS NULL) OR (a IS NOT NULL AND a.user IS NULL) OR (e IS NULL AND a IS NULL))")
+	long countLinesWithoutUser(@Param("disbursalId") Long disbursalId);
+
+	// ================= REVIEW =================
+
+	@Query(value = "SELECT l FROM SalaryDisbursalLine l LEFT JOIN FETCH l.employee LEFT JOIN FETCH l.orgAdmin " +
+	               "WHERE l.disbursalRequest.disbursalId = :disbursalId",
+	       countQuery = "SELECT COUNT(l) FROM SalaryDisbursalLine l WHERE l.disbursalRequest.disbursalId = :disbursalId")
+	Page<SalaryDisbursalLine> findPageByDisbursalId(@Param("disbursalId") Long disbursalId, Pageable pageable);
 }
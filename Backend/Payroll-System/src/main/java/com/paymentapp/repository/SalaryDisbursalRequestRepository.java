@@ -3,12 +3,19 @@ package com.paymentapp.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import com.paymentapp.dto.SalaryDisbursalQueueView;
 import com.paymentapp.entity.SalaryDisbursalRequest;
 
+import jakarta.persistence.LockModeType;
+
 public interface SalaryDisbursalRequestRepository extends JpaRepository<SalaryDisbursalRequest, Long> {
 	List<SalaryDisbursalRequest> findByStatus(String status);
 	// Check if pending/approved request exists for this period
@@ -25,4 +32,34 @@ public interface SalaryDisbursalRequestRepository extends JpaRepository<SalaryDi
 	    String period, 
 	    List<String> statuses
 	);
+
+	Optional<SalaryDisbursalRequest> findFirstByOrganization_OrgIdAndPeriodAndStatusOrderByCreatedAtDesc(
+	    Long orgId, String period, String status);
+
+	// BUILDING = header of a background creation job that is still writing lines
+	default List<SalaryDisbursalRequest> findActiveForPeriod(Long orgId, String period) {
+		return findByOrganization_OrgIdAndPeriodAndStatusIn(orgId, period,
+				List.of("BUILDING", "PENDING", "PROCESSING", "APPROVED"));
+	}
+
+	// PENDING -> PROCESSING exactly once; the caller that gets 1 back owns the balance debit
+	@Modifying
+	@Query("UPDATE SalaryDisbursalRequest s SET s.status = 'PROCESSING', s.approvalActorUserId = :actorId, " +
+	       "s.approvalComment = :comment, s.approvalLastLineId = 0, s.approvalProcessedLines = 0 " +
+	       "WHERE s.disbursalId = :disbursalId AND s.status = 'PENDING'")
+	int markProcessing(@Param("disbursalId") Long disbursalId, @Param("actorId") Long actorId,
+	                   @Param("comment") String comment);
+
+	// Serialises approval chunks of one request across threads and restarts
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT s FROM SalaryDisbursalRequest s WHERE s.disbursalId = :disbursalId")
+	Optional<SalaryDisbursalRequest> findByIdForUpdate(@Param("disbursalId") Long disbursalId);
+
+	// Queue rows without touching line entities; the count is a per-row subquery on the line index
+	@Query(value = "SELECT s.disbursalId AS disbursalId, o.orgId AS orgId, o.orgName AS orgName, s.period AS period, " +
+	               "s.status AS status, s.totalAmount AS totalAmount, s.createdAt AS createdAt, " +
+	               "(SELECT COUNT(l) FROM SalaryDisbursalLine l WHERE l.disbursalRequest = s) AS lineCount " +
+	               "FROM SalaryDisbursalRequest s JOIN s.organization o WHERE s.status = :status",
+	       countQuery = "SELECT COUNT(s) FROM SalaryDisbursalRequest s WHERE s.status = :status")
+	Page<SalaryDisbursalQueueView> findQueueByStatus(@Param("status") String status, Pageable pageable);
 }
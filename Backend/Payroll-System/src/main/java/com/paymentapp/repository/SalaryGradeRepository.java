@@ -15,5 +15,7 @@ public interface SalaryGradeRepository extends JpaRepository<SalaryGrade, Long>
     
     Optional<SalaryGrade> findByGradeIdAndOrganization(Long gradeId, Organization organization);
 
+    List<SalaryGrade> findByOrganization_OrgId(Long orgId);
+
 
 }
@@ -1,11 +1,31 @@
 package com.paymentapp.repository;
 
+import java.time.Instant;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import com.paymentapp.entity.SalarySlip;
 
 public interface SalarySlipRepository extends JpaRepository<SalarySlip, Long> {
 
 	List<SalarySlip> findByEmployee_EmpIdOrderByGeneratedAtDesc(Long empId);
+
+	// One slip per PAID line in the id range; lines that already have a slip for this
+	// disbursal (linked by line, or by payee for slips written before lines were linked) are skipped
+	@Modifying(flushAutomatically = true)
+	@Query("INSERT INTO SalarySlip (period, netAmount, generatedAt, employee, orgAdmin, disbursalLine, disbursal) " +
+	       "SELECT r.period, l.netAmount, :generatedAt, e, a, l, r " +
+	       "FROM SalaryDisbursalLine l JOIN l.disbursalRequest r LEFT JOIN l.employee e LEFT JOIN l.orgAdmin a " +
+	       "WHERE r.disbursalId = :disbursalId AND l.status = 'PAID' " +
+	       "AND l.lineId > :fromExclusive AND l.lineId <= :toInclusive " +
+	       "AND NOT EXISTS (SELECT 1 FROM SalarySlip s WHERE s.disbursal = r " +
+	       "AND (s.disbursalLine = l OR (s.disbursalLine IS NULL AND (s.employee = e OR s.orgAdmin = a))))")
+	int insertMissingSlips(@Param("disbursalId") Long disbursalId, @Param("fromExclusive") Long fromExclusive,
+	                       @Param("toInclusive") Long toInclusive, @Param("generatedAt") Instant generatedAt);
+
+	long countByDisbursal_DisbursalId(Long disbursalId);
 }
@@ -0,0 +1,7 @@
+package com.paymentapp.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.paymentapp.entity.UploadBatchFile;
+
+public interface UploadBatchFileRepository extends JpaRepository<UploadBatchFile, Long> {}
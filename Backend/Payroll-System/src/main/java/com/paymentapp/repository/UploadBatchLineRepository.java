@@ -1,9 +1,19 @@
 package com.paymentapp.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.paymentapp.entity.UploadBatchLine;
 
 @Repository
 public interface UploadBatchLineRepository extends JpaRepository<UploadBatchLine, Long> {
+
+    @Query(value = "SELECT l FROM UploadBatchLine l WHERE l.uploadBatch.batchId = :batchId " +
+                   "AND (:status IS NULL OR l.status = :status)",
+           countQuery = "SELECT COUNT(l) FROM UploadBatchLine l WHERE l.uploadBatch.batchId = :batchId " +
+                   "AND (:status IS NULL OR l.status = :status)")
+    Page<UploadBatchLine> findPageByBatchId(@Param("batchId") Long batchId, @Param("status") String status, Pageable pageable);
 }
@@ -1,8 +1,35 @@
 package com.paymentapp.repository;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.paymentapp.entity.UploadBatch;
 
-public interface UploadBatchRepository extends JpaRepository<UploadBatch, Long> {}
+public interface UploadBatchRepository extends JpaRepository<UploadBatch, Long> {
+
+    Page<UploadBatch> findByOrganization_OrgIdOrderByBatchIdDesc(Long orgId, Pageable pageable);
+
+    List<UploadBatch> findByStatusIn(Collection<String> statuses);
 
+    /**
+     * Adds one committed chunk to the progress counters, in the chunk's own transaction;
+     * rowsRead is the last row number of the chunk, i.e. the rows of the file read so far
+     */
+    @Modifying
+    @Query("""
+            UPDATE UploadBatch b
+            SET b.processedCount = b.processedCount + :processed,
+                b.failedCount = COALESCE(b.failedCount, 0) + :failed,
+                b.recordCount = :rowsRead
+            WHERE b.batchId = :batchId
+            """)
+    int addProgress(@Param("batchId") Long batchId, @Param("processed") int processed, @Param("failed") int failed,
+            @Param("rowsRead") int rowsRead);
+}
@@ -1,9 +1,12 @@
 package com.paymentapp.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.paymentapp.entity.Organization;
 import com.paymentapp.entity.User;
@@ -32,10 +35,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	    
 	    // ✅ Find user by email (global search for login)
 	    Optional<User> findByEmail(String email);
-	    
-	    
-	  
-	    
-	
 
+	    // ✅ Bulk import pre-flight: which of these emails are taken
+	    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+	    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
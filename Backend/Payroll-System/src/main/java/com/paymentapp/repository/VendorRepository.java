@@ -1,9 +1,14 @@
 package com.paymentapp.repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.paymentapp.entity.Organization;
 import com.paymentapp.entity.User;
@@ -20,4 +25,27 @@ public interface VendorRepository extends JpaRepository<Vendor, Long> {
 			Organization organization, Long vendorId);
 
 	Optional<Vendor> findByUserAndDeletedFalse(User user);
+
+	// ================= BALANCE MUTATIONS =================
+
+	@Modifying
+	@Query("UPDATE Vendor v SET v.balance = v.balance - :amount WHERE v.vendorId = :vendorId AND v.balance >= :amount")
+	int debitIfSufficient(@Param("vendorId") Long vendorId, @Param("amount") BigDecimal amount);
+
+	@Modifying
+	@Query("UPDATE Vendor v SET v.balance = COALESCE(v.balance, 0) + :amount WHERE v.vendorId = :vendorId")
+	int credit(@Param("vendorId") Long vendorId, @Param("amount") BigDecimal amount);
+
+	@Query("SELECT v.balance FROM Vendor v WHERE v.vendorId = :vendorId")
+	Optional<BigDecimal> findBalance(@Param("vendorId") Long vendorId);
+
+	// ✅ Bulk import pre-flight
+	@Query("SELECT v.contactEmail FROM Vendor v WHERE v.organization = :organization AND v.deleted = false AND v.contactEmail IN :emails")
+	List<String> findExistingContactEmails(@Param("organization") Organization organization, @Param("emails") Collection<String> emails);
+
+	@Query("SELECT v.phone FROM Vendor v WHERE v.phone IN :phones")
+	List<String> findExistingPhones(@Param("phones") Collection<String> phones);
+
+	@Query("SELECT v.bankAccountNo FROM Vendor v WHERE v.bankAccountNo IN :accountNos")
+	List<String> findExistingBankAccountNos(@Param("accountNos") Collection<String> accountNos);
 }
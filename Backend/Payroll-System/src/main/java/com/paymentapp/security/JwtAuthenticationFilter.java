@@ -1,9 +1,12 @@
 package com.paymentapp.security;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -12,6 +15,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,13 +26,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 	private final JwtTokenProvider jwtTokenProvider;
 	private final UserDetailsService userDetailsService;
+	private final NotificationStreamTickets streamTickets;
 
 	@Autowired
-	public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, UserDetailsService userDetailsService) {
+	public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, UserDetailsService userDetailsService,
+			NotificationStreamTickets streamTickets) {
 		this.jwtTokenProvider = jwtTokenProvider;
 		this.userDetailsService = userDetailsService;
+		this.streamTickets = streamTickets;
 	}
 
+	private static final String NOTIFICATION_STREAM_PATH = "/api/notifications/stream";
+	private static final Set<String> CLAIMS_ONLY_PATHS = Set.of("/api/notifications/unread-count", NOTIFICATION_STREAM_PATH);
+
 	@Override
 	protected boolean shouldNotFilter(HttpServletRequest request) {
 		String path = request.getServletPath();
@@ -44,16 +54,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 			String token = getTokenFromRequest(request);
 
 			if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
-				String email = jwtTokenProvider.getUsername(token);
+				// Polled endpoints take their identity from the token and skip the user lookup
+				boolean fromClaims = CLAIMS_ONLY_PATHS.contains(request.getServletPath())
+						&& authenticateFromClaims(token, request);
+
+				if (!fromClaims) {
+					String email = jwtTokenProvider.getUsername(token);
 
-				UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+					UserDetails userDetails = userDetailsService.loadUserByUsername(email);
 
-				UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-						userDetails, null, userDetails.getAuthorities());
+					UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+							userDetails, null, userDetails.getAuthorities());
 
-				authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+					authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-				SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+					SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+				}
+			} else if (token == null && NOTIFICATION_STREAM_PATH.equals(request.getServletPath())) {
+				authenticateFromStreamTicket(request);
 			}
 		} catch (Exception ex) {
 			logger.error("Could not set user authentication in security context", ex);
@@ -62,13 +80,45 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 		filterChain.doFilter(request, response);
 	}
 
+	// Tokens issued at login carry userId and roles; older tokens without them take the normal path
+	private boolean authenticateFromClaims(String token, HttpServletRequest request) {
+		Claims claims = jwtTokenProvider.getClaims(token);
+		Object userId = claims.get("userId");
+		Object roles = claims.get("roles");
+		if (!(userId instanceof Number) || !(roles instanceof List<?> roleNames)) {
+			return false;
+		}
+
+		List<SimpleGrantedAuthority> authorities = roleNames.stream()
+				.map(role -> new SimpleGrantedAuthority(String.valueOf(role)))
+				.toList();
+		UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+				new TokenUserPrincipal(((Number) userId).longValue(), claims.getSubject()), null, authorities);
+		authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+		SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+		return true;
+	}
+
+	// Browser EventSource cannot set headers, so the stream accepts a single-use ticket instead of the JWT;
+	// the JWT itself never appears in a URL, where proxies and access logs would record it
+	private void authenticateFromStreamTicket(HttpServletRequest request) {
+		String ticket = request.getParameter("ticket");
+		if (!StringUtils.hasText(ticket)) {
+			return;
+		}
+		UsernamePasswordAuthenticationToken authenticationToken = streamTickets.redeem(ticket);
+		if (authenticationToken != null) {
+			authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+			SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+		}
+	}
+
 	private String getTokenFromRequest(HttpServletRequest request) {
 		String header = request.getHeader("Authorization");
 		if (header != null && header.startsWith("Bearer ")) {
 			String token = header.substring(7);
 			return token;
 		}
-
 		return null;
 	}
 }
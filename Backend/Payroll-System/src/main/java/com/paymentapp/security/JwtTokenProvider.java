@@ -76,6 +76,10 @@ public class JwtTokenProvider {
 		return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
 	}
  
+	public Claims getClaims(String token) {
+		return Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(token).getBody();
+	}
+ 
 	public String getUsername(String token) {
 		Claims claims = Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(token).getBody();
 		return claims.getSubject();
@@ -0,0 +1,58 @@
+package com.paymentapp.security;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short-lived, single-use tickets for opening the notification stream.
+ * Browser EventSource cannot send an Authorization header, so the client
+ * exchanges its JWT for a ticket with an authenticated POST and puts only the
+ * ticket in the stream URL. A leaked ticket is worthless once used or expired.
+ * Tickets live on the node that issued them, like the stream subscribers do.
+ */
+@Component
+public class NotificationStreamTickets {
+
+	private record Ticket(Long userId, String email, List<? extends GrantedAuthority> authorities, Instant expiresAt) {
+	}
+
+	private final SecureRandom random = new SecureRandom();
+	private final ConcurrentHashMap<String, Ticket> tickets = new ConcurrentHashMap<>();
+
+	@Value("${payroll.notifications.sse.ticket-ttl-ms:30000}")
+	private long ttlMs;
+
+	public String issue(Long userId, String email, List<? extends GrantedAuthority> authorities) {
+		Instant now = Instant.now();
+		// Unredeemed tickets are swept on issue; there are never more than a few per logged-in user
+		tickets.values().removeIf(ticket -> ticket.expiresAt().isBefore(now));
+
+		byte[] bytes = new byte[32];
+		random.nextBytes(bytes);
+		String value = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+		tickets.put(value, new Ticket(userId, email, List.copyOf(authorities), now.plusMillis(ttlMs)));
+		return value;
+	}
+
+	public long ttlMs() {
+		return ttlMs;
+	}
+
+	// Removes the ticket whatever the outcome, so it can be tried only once; null when unknown or expired
+	UsernamePasswordAuthenticationToken redeem(String value) {
+		Ticket ticket = tickets.remove(value);
+		if (ticket == null || ticket.expiresAt().isBefore(Instant.now())) {
+			return null;
+		}
+		return new UsernamePasswordAuthenticationToken(new TokenUserPrincipal(ticket.userId(), ticket.email()), null,
+				ticket.authorities());
+	}
+}
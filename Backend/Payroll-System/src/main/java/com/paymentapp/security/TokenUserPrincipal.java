@@ -0,0 +1,27 @@
+package com.paymentapp.security;
+
+import java.security.Principal;
+
+/**
+ * Principal built from JWT claims alone, for high-frequency endpoints that
+ * only need the caller's id. Everything else gets {@link CustomUserDetails}.
+ */
+public class TokenUserPrincipal implements Principal {
+
+    private final Long userId;
+    private final String email;
+
+    public TokenUserPrincipal(Long userId, String email) {
+        this.userId = userId;
+        this.email = email;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
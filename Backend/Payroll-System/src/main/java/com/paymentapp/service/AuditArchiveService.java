@@ -0,0 +1,23 @@
+package com.paymentapp.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.paymentapp.entity.AuditLog;
+
+public interface AuditArchiveService {
+
+	// Moves audit rows older than the configured age into monthly segment files; returns rows archived
+	int archiveExpired();
+
+	// Archived rows matching the filters and strictly before (beforeTimestamp, beforeLogId), newest first
+	List<AuditLog> searchArchived(String role, String action, String resourceType, Long userId,
+			Instant from, Instant to, Instant beforeTimestamp, Long beforeLogId, int limit);
+
+	// Streams matching archived rows to the consumer, oldest first, one segment line at a time
+	void forEachArchived(String role, String action, String resourceType, Long userId,
+			Instant from, Instant to, Consumer<AuditLog> consumer);
+
+	long countArchived();
+}
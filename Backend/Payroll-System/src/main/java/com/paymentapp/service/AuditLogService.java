@@ -1,7 +1,22 @@
 package com.paymentapp.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+
+import com.paymentapp.dto.AuditLogPageDTO;
+
 public interface AuditLogService {
 	
 	public void log(String action, String resourceType, Long resourceId, Long userId, String userEmail, String role);
 
+	// Newest first, filtered in the database; cursor is the nextCursor of the previous page.
+	// Archived segments are only read when includeArchived is set, since each one has to be decompressed
+	AuditLogPageDTO search(String role, String action, String resourceType, Long userId,
+			Instant from, Instant to, String cursor, int limit, boolean includeArchived);
+
+	// Writes every matching row, oldest first, as "ndjson" or "csv"; returns the number of rows written
+	long export(OutputStream out, String format, boolean gzip, String role, String action, String resourceType,
+			Long userId, Instant from, Instant to, boolean includeArchived) throws IOException;
+
 }
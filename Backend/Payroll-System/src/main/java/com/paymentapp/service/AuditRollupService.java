@@ -0,0 +1,23 @@
+package com.paymentapp.service;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.paymentapp.dto.AuditActivityPointView;
+import com.paymentapp.entity.AuditLog;
+
+public interface AuditRollupService {
+
+	// Adds freshly inserted audit rows to the hourly rollups; call inside the transaction that inserts them
+	void record(List<AuditLog> rows);
+
+	List<AuditActivityPointView> getActivity(Instant from, Instant to, String role, String action, String resourceType);
+
+	long countEvents();
+
+	// Recomputes rollups for completed hours in [from, to) from live and archived rows; returns buckets written
+	int rebuild(Instant from, Instant to);
+
+	// Runs rebuild on a background thread; false when a rebuild is already running
+	boolean rebuildAsync(Instant from, Instant to);
+}
@@ -0,0 +1,20 @@
+package com.paymentapp.service;
+
+import java.math.BigDecimal;
+
+import com.paymentapp.entity.Organization;
+import com.paymentapp.entity.Vendor;
+
+public interface BalanceService {
+
+	// Returns false when the balance is lower than the amount; nothing is changed then
+	boolean debitOrganization(Organization org, BigDecimal amount);
+
+	void creditOrganization(Organization org, BigDecimal amount);
+
+	void overwriteOrganizationBalance(Organization org, BigDecimal balance);
+
+	boolean debitVendor(Vendor vendor, BigDecimal amount);
+
+	void creditVendor(Vendor vendor, BigDecimal amount);
+}
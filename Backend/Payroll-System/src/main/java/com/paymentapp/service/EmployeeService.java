@@ -8,6 +8,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.paymentapp.dto.EmployeeRequestDTO;
 import com.paymentapp.dto.EmployeeResponseDTO;
+import com.paymentapp.entity.UploadBatch;
 import com.paymentapp.entity.User;
 
 public interface EmployeeService {
@@ -20,6 +21,9 @@ public interface EmployeeService {
 //;
 	public List<EmployeeResponseDTO> createEmployeesBulk(Long orgId, String departmentName,   Long salaryGradeId, InputStream fileInputStream,
             String fileName, String fileUrl, MultipartFile documentFile, User performingUser) throws IOException;
+
+	// Processes a queued background upload; rows before committedRows were written by an earlier run
+	public void importEmployeeBatch(UploadBatch batch, InputStream fileInputStream, int committedRows) throws IOException;
 	
 	public List<EmployeeResponseDTO> getAllEmployees(Long orgId);
 	
@@ -1,7 +1,10 @@
 package com.paymentapp.service;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
 import com.paymentapp.entity.Notification;
 import com.paymentapp.entity.User;
 
@@ -20,9 +23,24 @@ public interface NotificationService {
     // ✅ Get unread count
     Long getUnreadInAppNotificationCount(User user);
     
-    // ✅ Mark as read
-    void markInAppNotificationAsRead(Long notificationId);
+    // ✅ Get unread count by user id (served from memory in the steady state)
+    long getUnreadInAppNotificationCount(Long userId);
+    
+    // ✅ Mark as read (only the user's own notifications); returns how many were unread
+    int markInAppNotificationsAsRead(Long userId, Collection<Long> notificationIds);
     
     // ✅ Mark all as read
-    void markAllInAppNotificationsAsRead(User user);
+    int markAllInAppNotificationsAsRead(Long userId);
+    
+    // ✅ Mark all of one related entity type as read (e.g. every DISBURSAL notification)
+    int markInAppNotificationsAsReadByType(Long userId, String relatedEntityType);
+    
+    // ✅ Delete (only the user's own notifications); returns how many were deleted
+    int deleteInAppNotifications(Long userId, Collection<Long> notificationIds);
+    
+    // ✅ Delete everything older than the given number of days
+    int deleteInAppNotificationsOlderThan(Long userId, int days);
+    
+    // ✅ Push channel: notification and unread-count events, replaying anything after lastEventId
+    SseEmitter subscribe(Long userId, Long lastEventId);
 }
@@ -2,6 +2,8 @@ package com.paymentapp.service;
 
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+
 import com.paymentapp.dto.PaymentApprovalDTO;
 import com.paymentapp.dto.PaymentReceiptDTO;
 import com.paymentapp.dto.PaymentRequestDTO;
@@ -18,6 +20,11 @@ public interface PaymentService {
      * Get all pending payment requests (for Bank Admin)
      */
     List<PaymentRequestDTO> getPendingRequests();
+
+    /**
+     * Page through pending payment requests as lightweight queue rows (for Bank Admin)
+     */
+    Page<PaymentRequestDTO> getPendingQueue(int page, int size, String sortBy, String direction);
     
     /**
      * Get payment request by ID
@@ -2,11 +2,18 @@ package com.paymentapp.service;
 
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+
 import com.paymentapp.dto.SalaryDisbursalApprovalRequestDTO;
+import com.paymentapp.dto.SalaryDisbursalBulkApprovalRequestDTO;
+import com.paymentapp.dto.SalaryDisbursalBulkApprovalResultDTO;
 import com.paymentapp.dto.SalaryDisbursalRequestDTO;
 
 public interface SalaryDisbursalApprovalService {
 	 public void processApproval(SalaryDisbursalApprovalRequestDTO approvalRequest);
+	 List<SalaryDisbursalBulkApprovalResultDTO> processBulkApproval(SalaryDisbursalBulkApprovalRequestDTO bulkRequest);
 	 List<SalaryDisbursalRequestDTO> getPendingRequests();
 	 SalaryDisbursalRequestDTO getRequestDetails(Long disbursalId);
+	 SalaryDisbursalRequestDTO getRequestDetails(Long disbursalId, int page, int size);
+	 Page<SalaryDisbursalRequestDTO> getPendingQueue(int page, int size, String sortBy, String direction);
 }
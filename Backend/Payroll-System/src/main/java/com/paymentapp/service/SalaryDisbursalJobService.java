@@ -0,0 +1,12 @@
+package com.paymentapp.service;
+
+import com.paymentapp.dto.SalaryDisbursalJobDTO;
+import com.paymentapp.dto.SalaryDisbursalRequestCreateDTO;
+import com.paymentapp.entity.User;
+
+public interface SalaryDisbursalJobService {
+
+	SalaryDisbursalJobDTO submitJob(SalaryDisbursalRequestCreateDTO dto);
+
+	SalaryDisbursalJobDTO getJobStatus(Long jobId, User performingUser);
+}
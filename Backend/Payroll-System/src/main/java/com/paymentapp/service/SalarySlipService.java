@@ -6,4 +6,6 @@ public interface SalarySlipService {
     SalarySlipDetailsDTO getSalarySlipDetails(Long slipId);
 
 	byte[] generateSalarySlipPDF(Long slipId) throws Exception;
+
+	int regenerateSlips(Long disbursalId);
 }
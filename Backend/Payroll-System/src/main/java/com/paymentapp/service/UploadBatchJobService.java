@@ -0,0 +1,20 @@
+package com.paymentapp.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.paymentapp.dto.UploadBatchDTO;
+import com.paymentapp.dto.UploadBatchLineDTO;
+import com.paymentapp.entity.User;
+
+public interface UploadBatchJobService {
+
+	UploadBatchDTO submit(String entityType, Long orgId, String departmentName, Long salaryGradeId,
+			MultipartFile file, String fileUrl, User performingUser);
+
+	UploadBatchDTO getBatch(Long batchId, User performingUser);
+
+	Page<UploadBatchDTO> getBatches(Long orgId, int page, int size, User performingUser);
+
+	Page<UploadBatchLineDTO> getLines(Long batchId, String status, int page, int size, User performingUser);
+}
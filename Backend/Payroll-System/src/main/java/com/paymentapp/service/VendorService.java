@@ -1,5 +1,6 @@
 package com.paymentapp.service;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.List;
@@ -12,6 +13,7 @@ import com.paymentapp.dto.VendorProfileDTO;
 import com.paymentapp.dto.VendorRequestDTO;
 import com.paymentapp.dto.VendorResponseDTO;
 import com.paymentapp.entity.PaymentRequest;
+import com.paymentapp.entity.UploadBatch;
 import com.paymentapp.entity.User;
 
 public interface VendorService {
@@ -27,6 +29,9 @@ public interface VendorService {
     
     List<VendorResponseDTO> createVendorsBulk(Long orgId, InputStream fileInputStream, String fileName, String fileUrl,
             MultipartFile documentFile, User performingUser) throws Exception;
+
+    // Processes a queued background upload; rows before committedRows were written by an earlier run
+    void importVendorBatch(UploadBatch batch, InputStream fileInputStream, int committedRows) throws IOException;
     
     List<VendorResponseDTO> getVendorsByOrganization(Long orgId);
     
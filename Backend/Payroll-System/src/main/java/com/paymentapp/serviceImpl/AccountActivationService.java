@@ -0,0 +1,73 @@
+package com.paymentapp.serviceImpl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.paymentapp.dto.ActivateAccountRequestDTO;
+import com.paymentapp.entity.AccountActivationToken;
+import com.paymentapp.entity.User;
+import com.paymentapp.repository.AccountActivationTokenRepository;
+import com.paymentapp.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class AccountActivationService {
+
+    private final AccountActivationTokenRepository tokenRepository;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    /**
+     * Sets the first password of an account created with an activation token
+     */
+    @Transactional
+    public String activateAccount(ActivateAccountRequestDTO request) {
+        if (request.getToken() == null || request.getToken().isBlank()) {
+            throw new RuntimeException("Activation token is required");
+        }
+        if (request.getNewPassword() == null || request.getNewPassword().isBlank()) {
+            throw new RuntimeException("New password is required");
+        }
+        // Same rule as the reset-password form and change-password; checked before the token is spent
+        if (request.getNewPassword().length() < 6) {
+            throw new RuntimeException("Password must be at least 6 characters");
+        }
+
+        String tokenHash = hashToken(request.getToken().trim());
+
+        // Conditional update, so a token can only ever be used once
+        if (tokenRepository.consume(tokenHash, Instant.now()) == 0) {
+            throw new RuntimeException("Invalid or expired activation link");
+        }
+
+        AccountActivationToken token = tokenRepository.findByTokenHash(tokenHash)
+                .orElseThrow(() -> new RuntimeException("Invalid or expired activation link"));
+
+        User user = token.getUser();
+        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setStatus("ACTIVE");
+        userRepository.save(user);
+
+        System.out.println("✅ Account activated for " + user.getEmail());
+        return "Account activated successfully. You can now login with your new password.";
+    }
+
+    // Tokens are stored as SHA-256 hex; they are long and random, so a fast hash is enough
+    static String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.paymentapp.serviceImpl;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentapp.entity.AuditArchiveSegment;
+import com.paymentapp.entity.AuditLog;
+import com.paymentapp.repository.AuditArchiveSegmentRepository;
+import com.paymentapp.repository.AuditLogRepository;
+import com.paymentapp.service.AuditArchiveService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Cold storage for audit rows: one gzip-compressed NDJSON file per UTC month
+ * under the archive directory, indexed by {@link AuditArchiveSegment}. Each
+ * archive batch is appended as a new gzip member, then the index is updated
+ * and the rows are deleted from audit_log in one transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditArchiveServiceImpl implements AuditArchiveService {
+
+	private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM").withZone(ZoneOffset.UTC);
+	private static final Comparator<AuditLog> ARCHIVE_ORDER = Comparator
+			.comparing(AuditLog::getActionTimestamp).thenComparing(AuditLog::getLogId);
+
+	private final AuditLogRepository auditLogRepository;
+	private final AuditArchiveSegmentRepository segmentRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final ObjectMapper objectMapper;
+
+	private final AtomicBoolean archiving = new AtomicBoolean();
+
+	@Value("${payroll.audit.archive.enabled:true}")
+	private boolean enabled;
+
+	@Value("${payroll.audit.archive.dir:audit-archive}")
+	private String archiveDir;
+
+	@Value("${payroll.audit.archive.after-days:365}")
+	private int afterDays;
+
+	@Value("${payroll.audit.archive.batch-size:5000}")
+	private int batchSize;
+
+	// ================= ARCHIVE =================
+	@Scheduled(cron = "${payroll.audit.archive.cron:0 30 2 * * *}")
+	public void scheduledArchive() {
+		if (!enabled) {
+			return;
+		}
+		try {
+			archiveExpired();
+		} catch (Exception e) {
+			System.err.println("❌ Audit archive run failed: " + e.getMessage());
+		}
+	}
+
+	@Override
+	public int archiveExpired() {
+		if (!archiving.compareAndSet(false, true)) {
+			System.out.println("⏳ Audit archive already running, skipped");
+			return 0;
+		}
+		try {
+			Instant cutoff = Instant.now().minus(afterDays, ChronoUnit.DAYS);
+			Files.createDirectories(Paths.get(archiveDir));
+
+			int archived = 0;
+			while (true) {
+				List<AuditLog> batch = auditLogRepository.findArchiveBatch(cutoff, PageRequest.of(0, batchSize));
+				if (batch.isEmpty()) {
+					break;
+				}
+				Map<String, List<AuditLog>> byMonth = batch.stream().collect(Collectors.groupingBy(
+						log -> MONTH.format(log.getActionTimestamp()), LinkedHashMap::new, Collectors.toList()));
+				for (Map.Entry<String, List<AuditLog>> entry : byMonth.entrySet()) {
+					archived += archiveMonth(entry.getKey(), entry.getValue());
+				}
+				if (batch.size() < batchSize) {
+					break;
+				}
+			}
+			System.out.println("🗄️ Archived " + archived + " audit row(s) older than " + cutoff);
+			return archived;
+		} catch (IOException e) {
+			throw new RuntimeException("Audit archive failed: " + e.getMessage());
+		} finally {
+			archiving.set(false);
+		}
+	}
+
+	private int archiveMonth(String month, List<AuditLog> rows) throws IOException {
+		AuditArchiveSegment segment = segmentRepository.findBySegmentMonth(month).orElseGet(() -> {
+			AuditArchiveSegment created = new AuditArchiveSegment();
+			created.setSegmentMonth(month);
+			created.setFileName("audit-" + month + ".ndjson.gz");
+			return created;
+		});
+
+		long committedBytes;
+		try (FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+			// Bytes past the committed length come from a run whose transaction never committed
+			if (channel.size() > segment.getCommittedBytes()) {
+				channel.truncate(segment.getCommittedBytes());
+			}
+			channel.position(segment.getCommittedBytes());
+
+			BufferedOutputStream buffered = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+			GZIPOutputStream gzip = new GZIPOutputStream(buffered);
+			for (AuditLog log : rows) {
+				gzip.write(objectMapper.writeValueAsBytes(log));
+				gzip.write('\n');
+			}
+			gzip.finish();
+			buffered.flush();
+			channel.force(true);
+			committedBytes = channel.position();
+		}
+
+		Map<String, Long> actionCounts = readActionCounts(segment);
+		for (AuditLog log : rows) {
+			actionCounts.merge(log.getActionPerformed(), 1L, Long::sum);
+			if (segment.getMinTimestamp() == null || log.getActionTimestamp().isBefore(segment.getMinTimestamp())) {
+				segment.setMinTimestamp(log.getActionTimestamp());
+			}
+			if (segment.getMaxTimestamp() == null || log.getActionTimestamp().isAfter(segment.getMaxTimestamp())) {
+				segment.setMaxTimestamp(log.getActionTimestamp());
+			}
+		}
+		segment.setActionCounts(objectMapper.writeValueAsString(actionCounts));
+		segment.setRowCount(segment.getRowCount() + rows.size());
+		segment.setCommittedBytes(committedBytes);
+
+		List<Long> ids = rows.stream().map(AuditLog::getLogId).toList();
+		transactionTemplate.executeWithoutResult(status -> {
+			segmentRepository.save(segment);
+			auditLogRepository.deleteByLogIdIn(ids);
+		});
+		return rows.size();
+	}
+
+	// ================= SEARCH =================
+	@Override
+	public List<AuditLog> searchArchived(String role, String action, String resourceType, Long userId,
+			Instant from, Instant to, Instant beforeTimestamp, Long beforeLogId, int limit) {
+		List<AuditLog> result = new ArrayList<>();
+		if (limit <= 0) {
+			return result;
+		}
+
+		Instant upper = to;
+		if (beforeTimestamp != null && (upper == null || beforeTimestamp.isBefore(upper))) {
+			upper = beforeTimestamp;
+		}
+
+		for (AuditArchiveSegment segment : segmentRepository.findOverlapping(from, upper)) {
+			int wanted = limit - result.size();
+			if (wanted <= 0) {
+				break;
+			}
+			// The action index lets whole months be skipped without opening the file
+			if (!isBlank(action) && !readActionCounts(segment).containsKey(action)) {
+				continue;
+			}
+
+			// Newest `wanted` matches of this month: min-heap that evicts the oldest
+			PriorityQueue<AuditLog> newest = new PriorityQueue<>(wanted + 1, ARCHIVE_ORDER);
+			try (BufferedReader reader = openSegment(segment)) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					if (line.isBlank()) {
+						continue;
+					}
+					AuditLog log = objectMapper.readValue(line, AuditLog.class);
+					if (matches(log, role, action, resourceType, userId, from, to, beforeTimestamp, beforeLogId)) {
+						newest.add(log);
+						if (newest.size() > wanted) {
+							newest.poll();
+						}
+					}
+				}
+			} catch (IOException e) {
+				throw new RuntimeException("Failed to read audit archive " + segment.getFileName() + ": " + e.getMessage());
+			}
+
+			List<AuditLog> monthRows = new ArrayList<>(newest);
+			monthRows.sort(ARCHIVE_ORDER.reversed());
+			result.addAll(monthRows);
+		}
+		return result;
+	}
+
+	@Override
+	public void forEachArchived(String role, String action, String resourceType, Long userId,
+			Instant from, Instant to, Consumer<AuditLog> consumer) {
+		List<AuditArchiveSegment> segments = new ArrayList<>(segmentRepository.findOverlapping(from, to));
+		segments.sort(Comparator.comparing(AuditArchiveSegment::getSegmentMonth));
+		for (AuditArchiveSegment segment : segments) {
+			if (!isBlank(action) && !readActionCounts(segment).containsKey(action)) {
+				continue;
+			}
+			// Batches are appended oldest first, so file order is already (actionTimestamp, logId)
+			try (BufferedReader reader = openSegment(segment)) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					if (line.isBlank()) {
+						continue;
+					}
+					AuditLog log = objectMapper.readValue(line, AuditLog.class);
+					if (matches(log, role, action, resourceType, userId, from, to, null, null)) {
+						consumer.accept(log);
+					}
+				}
+			} catch (IOException e) {
+				throw new RuntimeException("Failed to read audit archive " + segment.getFileName() + ": " + e.getMessage());
+			}
+		}
+	}
+
+	@Override
+	public long countArchived() {
+		return segmentRepository.sumRowCount();
+	}
+
+	// ================= HELPERS =================
+	private Path segmentPath(AuditArchiveSegment segment) {
+		return Paths.get(archiveDir).resolve(segment.getFileName());
+	}
+
+	private BufferedReader openSegment(AuditArchiveSegment segment) throws IOException {
+		InputStream committed = new CommittedBytesInputStream(Files.newInputStream(segmentPath(segment)), segment.getCommittedBytes());
+		return new BufferedReader(new InputStreamReader(new GZIPInputStream(committed, 64 * 1024), StandardCharsets.UTF_8));
+	}
+
+	private Map<String, Long> readActionCounts(AuditArchiveSegment segment) {
+		if (segment.getActionCounts() == null) {
+			return new HashMap<>();
+		}
+		try {
+			return objectMapper.readValue(segment.getActionCounts(), new TypeReference<HashMap<String, Long>>() {
+			});
+		} catch (JsonProcessingException e) {
+			throw new RuntimeException("Corrupt action index for audit segment " + segment.getSegmentMonth());
+		}
+	}
+
+	private static boolean matches(AuditLog log, String role, String action, String resourceType, Long userId,
+			Instant from, Instant to, Instant beforeTimestamp, Long beforeLogId) {
+		if (!isBlank(role) && !role.equals(log.getPerformedByRole())) {
+			return false;
+		}
+		if (!isBlank(action) && !action.equals(log.getActionPerformed())) {
+			return false;
+		}
+		if (!isBlank(resourceType) && !resourceType.equals(log.getTargetResourceType())) {
+			return false;
+		}
+		if (userId != null && !userId.equals(log.getPerformedByUserId())) {
+			return false;
+		}
+		Instant ts = log.getActionTimestamp();
+		if ((from != null && ts.isBefore(from)) || (to != null && ts.isAfter(to))) {
+			return false;
+		}
+		if (beforeTimestamp != null && beforeLogId != null) {
+			int cmp = ts.compareTo(beforeTimestamp);
+			return cmp < 0 || (cmp == 0 && log.getLogId() < beforeLogId);
+		}
+		return true;
+	}
+
+	private static boolean isBlank(String value) {
+		return value == null || value.isBlank();
+	}
+
+	// Stops at the committed length so a half-written trailing member is never decoded
+	private static final class CommittedBytesInputStream extends FilterInputStream {
+
+		private long remaining;
+
+		CommittedBytesInputStream(InputStream in, long limit) {
+			super(in);
+			this.remaining = limit;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (remaining <= 0) {
+				return -1;
+			}
+			int b = super.read();
+			if (b >= 0) {
+				remaining--;
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] buffer, int off, int len) throws IOException {
+			if (remaining <= 0) {
+				return -1;
+			}
+			int n = super.read(buffer, off, (int) Math.min(len, remaining));
+			if (n > 0) {
+				remaining -= n;
+			}
+			return n;
+		}
+
+		@Override
+		public int available() throws IOException {
+			return (int) Math.min(super.available(), remaining);
+		}
+	}
+}
@@ -1,11 +1,41 @@
-	package com.paymentapp.serviceImpl;
+package com.paymentapp.serviceImpl;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.paymentapp.dto.AuditLogPageDTO;
 import com.paymentapp.entity.AuditLog;
 import com.paymentapp.repository.AuditLogRepository;
+import com.paymentapp.repository.AuditLogSpecifications;
+import com.paymentapp.service.AuditArchiveService;
 import com.paymentapp.service.AuditLogService;
 
 import lombok.RequiredArgsConstructor;
@@ -15,13 +45,180 @@ import lombok.RequiredArgsConstructor;
 public class AuditLogServiceImpl implements AuditLogService {
 
 	private final AuditLogRepository auditLogRepository;
+	private final AuditLogWriter auditLogWriter;
+	private final AuditArchiveService auditArchiveService;
+	private final ObjectMapper objectMapper;
+
+	private static final int MAX_PAGE_SIZE = 5000;
+
+	// async     = buffered, written in the background once the caller's transaction commits
+	// on-commit = part of the caller's transaction, inserted in one JDBC batch at flush/commit;
+	//             the rollup increment is handed to the writer after commit
+	@Value("${payroll.audit.mode:async}")
+	private String mode;
 
 	@Override
 	public void log(String action, String resourceType, Long resourceId, Long userId, String userEmail, String role) {
 		AuditLog log = AuditLog.builder().actionPerformed(action).targetResourceType(resourceType).targetResourceId(resourceId)
 				.performedByUserId(userId).performedByEmail(userEmail).performedByRole(role).actionTimestamp(Instant.now()).build();
 
-		auditLogRepository.save(log);
+		boolean onCommit = "on-commit".equalsIgnoreCase(mode);
+		if (onCommit) {
+			auditLogRepository.save(log);
+		}
+
+		// Rolled-back work is not audited, same as when the row was part of the transaction
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					handOff(log, onCommit);
+				}
+			});
+		} else {
+			handOff(log, onCommit);
+		}
 	}
-}
 
+	// The rollup upsert locks a shared hourly row, so it never runs inside the caller's transaction
+	private void handOff(AuditLog log, boolean alreadySaved) {
+		if (alreadySaved) {
+			auditLogWriter.enqueueRollup(log);
+		} else {
+			auditLogWriter.enqueue(log);
+		}
+	}
+
+	// ================= SEARCH =================
+	@Override
+	@Transactional(readOnly = true)
+	public AuditLogPageDTO search(String role, String action, String resourceType, Long userId,
+			Instant from, Instant to, String cursor, int limit, boolean includeArchived) {
+		int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+
+		Instant afterTimestamp = null;
+		Long afterId = null;
+		if (cursor != null && !cursor.isBlank()) {
+			try {
+				String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+				int separator = decoded.lastIndexOf('|');
+				afterTimestamp = Instant.parse(decoded.substring(0, separator));
+				afterId = Long.parseLong(decoded.substring(separator + 1));
+			} catch (RuntimeException e) {
+				throw new RuntimeException("Invalid audit log cursor");
+			}
+		}
+
+		Specification<AuditLog> spec = Specification.allOf(
+				AuditLogSpecifications.hasRole(role),
+				AuditLogSpecifications.hasAction(action),
+				AuditLogSpecifications.hasResourceType(resourceType),
+				AuditLogSpecifications.hasUserId(userId),
+				AuditLogSpecifications.between(from, to),
+				AuditLogSpecifications.before(afterTimestamp, afterId));
+
+		// One extra row tells whether another page exists without a COUNT over the table
+		List<AuditLog> rows = auditLogRepository.findBy(spec, q -> q
+				.sortBy(Sort.by(Sort.Direction.DESC, "actionTimestamp").and(Sort.by(Sort.Direction.DESC, "logId")))
+				.limit(pageSize + 1)
+				.all());
+
+		// Hot rows ran out before the page filled: continue into the archive, which only holds older rows
+		if (includeArchived && rows.size() <= pageSize) {
+			Instant coldBefore = afterTimestamp;
+			Long coldBeforeId = afterId;
+			if (!rows.isEmpty()) {
+				AuditLog oldestHot = rows.get(rows.size() - 1);
+				coldBefore = oldestHot.getActionTimestamp();
+				coldBeforeId = oldestHot.getLogId();
+			}
+			rows = new ArrayList<>(rows);
+			rows.addAll(auditArchiveService.searchArchived(role, action, resourceType, userId, from, to,
+					coldBefore, coldBeforeId, pageSize + 1 - rows.size()));
+		}
+
+		String nextCursor = null;
+		if (rows.size() > pageSize) {
+			rows = rows.subList(0, pageSize);
+			AuditLog last = rows.get(pageSize - 1);
+			nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+					(last.getActionTimestamp() + "|" + last.getLogId()).getBytes(StandardCharsets.UTF_8));
+		}
+		return new AuditLogPageDTO(new ArrayList<>(rows), nextCursor);
+	}
+
+	// ================= EXPORT =================
+	@Override
+	@Transactional(readOnly = true)
+	public long export(OutputStream out, String format, boolean gzip, String role, String action, String resourceType,
+			Long userId, Instant from, Instant to, boolean includeArchived) throws IOException {
+		GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, 64 * 1024) : null;
+		Writer writer = new BufferedWriter(new OutputStreamWriter(gzip ? gzipOut : out, StandardCharsets.UTF_8), 64 * 1024);
+		AtomicLong written = new AtomicLong();
+
+		Consumer<AuditLog> sink;
+		CSVPrinter csv = null;
+		JsonGenerator json = null;
+		if ("csv".equals(format)) {
+			csv = new CSVPrinter(writer, CSVFormat.DEFAULT.builder().setHeader("logId", "actionTimestamp", "performedByUserId",
+					"performedByEmail", "performedByRole", "actionPerformed", "targetResourceType", "targetResourceId").build());
+			CSVPrinter printer = csv;
+			sink = log -> {
+				try {
+					printer.printRecord(log.getLogId(), log.getActionTimestamp(), log.getPerformedByUserId(), log.getPerformedByEmail(),
+							log.getPerformedByRole(), log.getActionPerformed(), log.getTargetResourceType(), log.getTargetResourceId());
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				written.incrementAndGet();
+			};
+		} else {
+			// One generator for the whole export; flushing per row would defeat buffering and compression
+			json = objectMapper.getFactory().createGenerator(writer);
+			json.setRootValueSeparator(null);
+			JsonGenerator generator = json;
+			ObjectWriter rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+			sink = log -> {
+				try {
+					rowWriter.writeValue(generator, log);
+					generator.writeRaw('\n');
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				written.incrementAndGet();
+			};
+		}
+
+		role = blankToNull(role);
+		action = blankToNull(action);
+		resourceType = blankToNull(resourceType);
+		try {
+			// Archived rows are all older than live ones, so they go first
+			if (includeArchived) {
+				auditArchiveService.forEachArchived(role, action, resourceType, userId, from, to, sink);
+			}
+			try (Stream<AuditLog> rows = auditLogRepository.streamForExport(role, action, resourceType, userId, from, to)) {
+				rows.forEach(sink);
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+
+		if (csv != null) {
+			csv.flush();
+		}
+		if (json != null) {
+			json.flush();
+		}
+		writer.flush();
+		if (gzipOut != null) {
+			gzipOut.finish();
+		}
+		out.flush();
+		return written.get();
+	}
+
+	private static String blankToNull(String value) {
+		return value == null || value.isBlank() ? null : value;
+	}
+}
@@ -0,0 +1,185 @@
+package com.paymentapp.serviceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.paymentapp.entity.AuditLog;
+import com.paymentapp.repository.AuditLogRepository;
+import com.paymentapp.service.AuditRollupService;
+
+/**
+ * Bounded buffer plus a single background thread that writes audit rows in
+ * batches, whenever a batch fills up or the flush interval passes. Producers
+ * wait up to the offer timeout when the buffer is full and then write their
+ * row themselves, so a stalled writer slows callers down instead of losing rows.
+ * Stopping the context drains whatever is still buffered. Rows that the caller's
+ * transaction already inserted (on-commit mode) go through the same buffer for
+ * their rollup increment only, so the rollup upsert never holds a lock inside
+ * the caller's transaction.
+ */
+@Component
+public class AuditLogWriter implements SmartLifecycle {
+
+	private final AuditLogRepository auditLogRepository;
+	private final AuditRollupService auditRollupService;
+	private final TransactionTemplate transactionTemplate;
+	private final BlockingQueue<Entry> buffer;
+
+	@Value("${payroll.audit.batch-size:200}")
+	private int batchSize;
+
+	@Value("${payroll.audit.flush-interval-ms:500}")
+	private long flushIntervalMs;
+
+	@Value("${payroll.audit.offer-timeout-ms:1000}")
+	private long offerTimeoutMs;
+
+	private volatile boolean running;
+	private Thread worker;
+
+	public AuditLogWriter(AuditLogRepository auditLogRepository, AuditRollupService auditRollupService,
+			TransactionTemplate transactionTemplate, @Value("${payroll.audit.buffer-size:10000}") int bufferSize) {
+		this.auditLogRepository = auditLogRepository;
+		this.auditRollupService = auditRollupService;
+		// write() also runs from afterCommit callbacks, where the finished transaction is still bound
+		this.transactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.buffer = new ArrayBlockingQueue<>(bufferSize);
+	}
+
+	// saved = the row is already in audit_logs and only its rollup increment is pending
+	private record Entry(AuditLog log, boolean saved) {
+	}
+
+	public void enqueue(AuditLog log) {
+		offer(new Entry(log, false));
+	}
+
+	// For a row inserted by the caller's own (committed) transaction
+	public void enqueueRollup(AuditLog log) {
+		offer(new Entry(log, true));
+	}
+
+	private void offer(Entry entry) {
+		try {
+			if (running && buffer.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+				return;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		// Writer stopped or buffer still full: fall back to writing in the caller
+		write(List.of(entry));
+	}
+
+	// ================= LIFECYCLE =================
+	@Override
+	public void start() {
+		running = true;
+		worker = new Thread(this::runLoop, "audit-log-writer");
+		worker.setDaemon(true);
+		worker.start();
+		System.out.println("📝 Audit log writer started (batch " + batchSize + ", flush every " + flushIntervalMs + " ms)");
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+		if (worker != null) {
+			worker.interrupt();
+			try {
+				worker.join(10_000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		int drained = 0;
+		List<Entry> batch = new ArrayList<>(batchSize);
+		while (buffer.drainTo(batch, batchSize) > 0) {
+			drained += batch.size();
+			write(batch);
+			batch = new ArrayList<>(batchSize);
+		}
+		System.out.println("📝 Audit log writer stopped, drained " + drained + " buffered row(s)");
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	// Stop after the web server and other lifecycle beans, before the datasource goes away
+	@Override
+	public int getPhase() {
+		return Integer.MIN_VALUE + 1000;
+	}
+
+	// ================= WORKER =================
+	private void runLoop() {
+		while (running) {
+			try {
+				Entry first = buffer.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				List<Entry> batch = new ArrayList<>(batchSize);
+				batch.add(first);
+
+				long deadline = System.currentTimeMillis() + flushIntervalMs;
+				while (batch.size() < batchSize) {
+					buffer.drainTo(batch, batchSize - batch.size());
+					long remaining = deadline - System.currentTimeMillis();
+					if (batch.size() >= batchSize || remaining <= 0) {
+						break;
+					}
+					Entry next = buffer.poll(remaining, TimeUnit.MILLISECONDS);
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+				write(batch);
+			} catch (InterruptedException e) {
+				// stop() drains what is left
+				return;
+			} catch (Exception e) {
+				System.err.println("❌ Audit log writer error: " + e.getMessage());
+			}
+		}
+	}
+
+	// One transaction per batch, rollups included; if the batch is rejected, rows are retried one by one so a bad row only loses itself
+	private void write(List<Entry> batch) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				auditLogRepository.saveAll(batch.stream().filter(entry -> !entry.saved()).map(Entry::log).toList());
+				auditRollupService.record(batch.stream().map(Entry::log).toList());
+			});
+		} catch (Exception batchError) {
+			for (Entry entry : batch) {
+				AuditLog log = entry.log();
+				try {
+					transactionTemplate.executeWithoutResult(status -> {
+						if (!entry.saved()) {
+							log.setLogId(null);
+							auditLogRepository.save(log);
+						}
+						auditRollupService.record(List.of(log));
+					});
+				} catch (Exception e) {
+					System.err.println("❌ Dropped audit row " + log.getActionPerformed() + " on "
+							+ log.getTargetResourceType() + " " + log.getTargetResourceId() + ": " + e.getMessage());
+				}
+			}
+		}
+	}
+}
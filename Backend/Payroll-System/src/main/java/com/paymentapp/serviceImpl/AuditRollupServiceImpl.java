@@ -0,0 +1,191 @@
+package com.paymentapp.serviceImpl;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.paymentapp.dto.AuditActivityPointView;
+import com.paymentapp.entity.AuditLog;
+import com.paymentapp.repository.AuditActivityRollupRepository;
+import com.paymentapp.repository.AuditArchiveSegmentRepository;
+import com.paymentapp.repository.AuditLogRepository;
+import com.paymentapp.service.AuditArchiveService;
+import com.paymentapp.service.AuditRollupService;
+
+@Service
+public class AuditRollupServiceImpl implements AuditRollupService {
+
+	private static final int MAX_KEY_LENGTH = 100;
+
+	private final AuditActivityRollupRepository rollupRepository;
+	private final AuditLogRepository auditLogRepository;
+	private final AuditArchiveSegmentRepository segmentRepository;
+	private final AuditArchiveService auditArchiveService;
+	private final ThreadPoolTaskExecutor auditMaintenanceExecutor;
+	private final TransactionTemplate transactionTemplate;
+	private final TransactionTemplate readOnlyTransactionTemplate;
+
+	private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+	public AuditRollupServiceImpl(AuditActivityRollupRepository rollupRepository, AuditLogRepository auditLogRepository,
+			AuditArchiveSegmentRepository segmentRepository, AuditArchiveService auditArchiveService,
+			ThreadPoolTaskExecutor auditMaintenanceExecutor, PlatformTransactionManager transactionManager) {
+		this.rollupRepository = rollupRepository;
+		this.auditLogRepository = auditLogRepository;
+		this.segmentRepository = segmentRepository;
+		this.auditArchiveService = auditArchiveService;
+		this.auditMaintenanceExecutor = auditMaintenanceExecutor;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+		this.readOnlyTransactionTemplate.setReadOnly(true);
+	}
+
+	private record BucketKey(Instant hour, String role, String action, String resourceType) {
+
+		static BucketKey of(AuditLog log) {
+			return new BucketKey(log.getActionTimestamp().truncatedTo(ChronoUnit.HOURS), clip(log.getPerformedByRole()),
+					clip(log.getActionPerformed()), clip(log.getTargetResourceType()));
+		}
+
+		private static String clip(String value) {
+			return value.length() > MAX_KEY_LENGTH ? value.substring(0, MAX_KEY_LENGTH) : value;
+		}
+	}
+
+	// ================= INCREMENTAL =================
+	@Override
+	@Transactional
+	public void record(List<AuditLog> rows) {
+		Map<BucketKey, Long> counts = new HashMap<>();
+		for (AuditLog log : rows) {
+			counts.merge(BucketKey.of(log), 1L, Long::sum);
+		}
+		// A batch usually lands in a handful of buckets, so this is a few upserts per flush
+		counts.forEach((key, count) -> rollupRepository.increment(key.hour(), key.role(), key.action(), key.resourceType(), count));
+	}
+
+	// ================= QUERIES =================
+	@Override
+	@Transactional(readOnly = true)
+	public List<AuditActivityPointView> getActivity(Instant from, Instant to, String role, String action, String resourceType) {
+		return rollupRepository.findActivity(from.truncatedTo(ChronoUnit.HOURS), to, blankToNull(role), blankToNull(action),
+				blankToNull(resourceType));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long countEvents() {
+		return rollupRepository.sumEventCount();
+	}
+
+	// ================= REBUILD =================
+	@EventListener(ApplicationReadyEvent.class)
+	public void backfillIfEmpty() {
+		if (rollupRepository.count() == 0
+				&& (auditLogRepository.findOldestTimestamp() != null || segmentRepository.findOldestTimestamp() != null)) {
+			System.out.println("📊 Audit rollups empty, backfilling from existing audit rows");
+			rebuildAsync(null, null);
+		}
+	}
+
+	@Override
+	public boolean rebuildAsync(Instant from, Instant to) {
+		if (rebuilding.get()) {
+			return false;
+		}
+		try {
+			auditMaintenanceExecutor.execute(() -> {
+				try {
+					rebuild(from, to);
+				} catch (Exception e) {
+					System.err.println("❌ Audit rollup rebuild failed: " + e.getMessage());
+				}
+			});
+			return true;
+		} catch (RejectedExecutionException e) {
+			return false;
+		}
+	}
+
+	@Override
+	public int rebuild(Instant from, Instant to) {
+		if (!rebuilding.compareAndSet(false, true)) {
+			throw new RuntimeException("An audit rollup rebuild is already running");
+		}
+		try {
+			// The current hour is still being written to, so only completed hours are recomputed
+			Instant end = Instant.now().truncatedTo(ChronoUnit.HOURS);
+			if (to != null && to.isBefore(end)) {
+				end = to.truncatedTo(ChronoUnit.HOURS);
+			}
+			Instant start = from != null ? from.truncatedTo(ChronoUnit.HOURS) : oldestAuditTimestamp();
+			if (start == null || !start.isBefore(end)) {
+				return 0;
+			}
+			start = start.truncatedTo(ChronoUnit.HOURS);
+
+			// One UTC month per step: bounded aggregate map and transaction, and each archive segment is read once
+			int buckets = 0;
+			Instant chunkStart = start;
+			while (chunkStart.isBefore(end)) {
+				LocalDate month = LocalDate.ofInstant(chunkStart, ZoneOffset.UTC).withDayOfMonth(1);
+				Instant nextMonth = month.plusMonths(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+				Instant chunkEnd = nextMonth.isBefore(end) ? nextMonth : end;
+				buckets += rebuildRange(chunkStart, chunkEnd);
+				chunkStart = chunkEnd;
+			}
+			System.out.println("📊 Rebuilt " + buckets + " audit rollup bucket(s) for " + start + " .. " + end);
+			return buckets;
+		} finally {
+			rebuilding.set(false);
+		}
+	}
+
+	private int rebuildRange(Instant from, Instant to) {
+		Map<BucketKey, Long> counts = new HashMap<>();
+		Consumer<AuditLog> add = log -> counts.merge(BucketKey.of(log), 1L, Long::sum);
+		Instant last = to.minusNanos(1);
+
+		auditArchiveService.forEachArchived(null, null, null, null, from, last, add);
+		readOnlyTransactionTemplate.executeWithoutResult(status -> {
+			try (Stream<AuditLog> rows = auditLogRepository.streamForExport(null, null, null, null, from, last)) {
+				rows.forEach(add);
+			}
+		});
+
+		transactionTemplate.executeWithoutResult(status -> {
+			rollupRepository.deleteByBucketHourRange(from, to);
+			counts.forEach((key, count) -> rollupRepository.increment(key.hour(), key.role(), key.action(), key.resourceType(), count));
+		});
+		return counts.size();
+	}
+
+	private Instant oldestAuditTimestamp() {
+		Instant live = auditLogRepository.findOldestTimestamp();
+		Instant archived = segmentRepository.findOldestTimestamp();
+		if (live == null) {
+			return archived;
+		}
+		return archived != null && archived.isBefore(live) ? archived : live;
+	}
+
+	private static String blankToNull(String value) {
+		return value == null || value.isBlank() ? null : value;
+	}
+}
@@ -0,0 +1,99 @@
+package com.paymentapp.serviceImpl;
+
+import java.math.BigDecimal;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.paymentapp.entity.Organization;
+import com.paymentapp.entity.Vendor;
+import com.paymentapp.repository.OrganizationRepository;
+import com.paymentapp.repository.VendorRepository;
+import com.paymentapp.service.BalanceService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Balance changes as single conditional UPDATE statements. The database applies
+ * "subtract if enough" atomically, so concurrent approvals against one organization
+ * neither lose updates nor need row locks held across the whole approval.
+ * The passed entity is refreshed with the stored balance for callers that display it.
+ */
+@Service
+@RequiredArgsConstructor
+public class BalanceServiceImpl implements BalanceService {
+
+	private final OrganizationRepository organizationRepository;
+	private final VendorRepository vendorRepository;
+
+	@Override
+	@Transactional
+	public boolean debitOrganization(Organization org, BigDecimal amount) {
+		requireNonNegative(amount);
+		if (organizationRepository.debitIfSufficient(org.getOrgId(), amount) == 0) {
+			syncOrganization(org);
+			return false;
+		}
+		syncOrganization(org);
+		System.out.println("💸 Debited ₹" + amount + " from organization " + org.getOrgId()
+				+ " | New Balance: ₹" + org.getAccountBalance());
+		return true;
+	}
+
+	@Override
+	@Transactional
+	public void creditOrganization(Organization org, BigDecimal amount) {
+		requireNonNegative(amount);
+		if (organizationRepository.credit(org.getOrgId(), amount) == 0) {
+			throw new RuntimeException("Organization not found");
+		}
+		syncOrganization(org);
+	}
+
+	@Override
+	@Transactional
+	public void overwriteOrganizationBalance(Organization org, BigDecimal balance) {
+		if (balance.signum() < 0) {
+			throw new RuntimeException("Balance cannot be negative");
+		}
+		if (organizationRepository.overwriteBalance(org.getOrgId(), balance) == 0) {
+			throw new RuntimeException("Organization not found");
+		}
+		syncOrganization(org);
+	}
+
+	@Override
+	@Transactional
+	public boolean debitVendor(Vendor vendor, BigDecimal amount) {
+		requireNonNegative(amount);
+		boolean debited = vendorRepository.debitIfSufficient(vendor.getVendorId(), amount) > 0;
+		syncVendor(vendor);
+		return debited;
+	}
+
+	@Override
+	@Transactional
+	public void creditVendor(Vendor vendor, BigDecimal amount) {
+		requireNonNegative(amount);
+		if (vendorRepository.credit(vendor.getVendorId(), amount) == 0) {
+			throw new RuntimeException("Vendor not found");
+		}
+		syncVendor(vendor);
+	}
+
+	// ================= UTILITY =================
+	// The column is not updatable through the entity, so setting it here never writes it back
+	private void syncOrganization(Organization org) {
+		org.setAccountBalance(organizationRepository.findAccountBalance(org.getOrgId()).orElse(BigDecimal.ZERO));
+	}
+
+	private void syncVendor(Vendor vendor) {
+		vendor.setBalance(vendorRepository.findBalance(vendor.getVendorId()).orElse(BigDecimal.ZERO));
+	}
+
+	private void requireNonNegative(BigDecimal amount) {
+		if (amount == null || amount.signum() < 0) {
+			throw new RuntimeException("Amount must not be negative");
+		}
+	}
+}
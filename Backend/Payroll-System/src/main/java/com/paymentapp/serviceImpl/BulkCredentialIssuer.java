@@ -0,0 +1,121 @@
+package com.paymentapp.serviceImpl;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.paymentapp.entity.AccountActivationToken;
+import com.paymentapp.entity.User;
+import com.paymentapp.repository.AccountActivationTokenRepository;
+
+/**
+ * Credentials for accounts created by the employee and org-admin bulk uploads.
+ * In "password" mode (the default) the generated passwords of a whole upload
+ * are BCrypt-hashed up front on the password hash pool, one worker per core,
+ * instead of one after another on the request thread. In "activation" mode
+ * nothing is hashed at import time: the account gets an unusable password and
+ * a single-use activation token, and the user picks a password through
+ * /api/auth/activate-account, so the import only costs database writes.
+ */
+@Component
+public class BulkCredentialIssuer {
+
+	public static final String PENDING_ACTIVATION = "PENDING_ACTIVATION";
+
+	// Not a BCrypt hash, so no password ever matches it
+	public static final String UNUSABLE_PASSWORD = "!";
+
+	private static final SecureRandom RANDOM = new SecureRandom();
+
+	private final PasswordEncoder passwordEncoder;
+	private final ThreadPoolTaskExecutor passwordHashExecutor;
+	private final AccountActivationTokenRepository activationTokenRepository;
+
+	// "password" or "activation"
+	@Value("${payroll.import.credentials:password}")
+	private String mode;
+
+	@Value("${payroll.import.activation-ttl-hours:72}")
+	private long activationTtlHours;
+
+	@Value("${payroll.import.activation-url:http://localhost:4200/activate-account}")
+	private String activationUrl;
+
+	public BulkCredentialIssuer(PasswordEncoder passwordEncoder, ThreadPoolTaskExecutor passwordHashExecutor,
+			AccountActivationTokenRepository activationTokenRepository) {
+		this.passwordEncoder = passwordEncoder;
+		this.passwordHashExecutor = passwordHashExecutor;
+		this.activationTokenRepository = activationTokenRepository;
+	}
+
+	public boolean isActivationMode() {
+		return "activation".equalsIgnoreCase(mode.trim());
+	}
+
+	/**
+	 * Hashes every password on the hash pool; result i belongs to rawPasswords.get(i).
+	 * Null entries (rows that will not be imported) stay null.
+	 */
+	public List<String> encodeAll(List<String> rawPasswords) {
+		String[] hashes = new String[rawPasswords.size()];
+		// A few slices per worker keeps the pool busy without one task per row
+		int slices = Math.max(1, passwordHashExecutor.getMaxPoolSize() * 4);
+		int sliceSize = Math.max(1, (rawPasswords.size() + slices - 1) / slices);
+
+		List<CompletableFuture<Void>> tasks = new ArrayList<>();
+		for (int start = 0; start < rawPasswords.size(); start += sliceSize) {
+			int from = start;
+			int to = Math.min(start + sliceSize, rawPasswords.size());
+			tasks.add(CompletableFuture.runAsync(() -> {
+				for (int i = from; i < to; i++) {
+					String raw = rawPasswords.get(i);
+					hashes[i] = raw != null ? passwordEncoder.encode(raw) : null;
+				}
+			}, passwordHashExecutor));
+		}
+
+		try {
+			CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+		} catch (CompletionException e) {
+			throw new RuntimeException("Password hashing failed: " + e.getCause().getMessage());
+		}
+		return Arrays.asList(hashes);
+	}
+
+	/**
+	 * Stores a new activation token for a saved user and returns the raw token,
+	 * which is only ever sent to the user
+	 */
+	public String issueActivationToken(User user) {
+		byte[] bytes = new byte[32];
+		RANDOM.nextBytes(bytes);
+		String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+		Instant now = Instant.now();
+		activationTokenRepository.save(AccountActivationToken.builder()
+				.user(user)
+				.tokenHash(AccountActivationService.hashToken(token))
+				.expiresAt(now.plus(Duration.ofHours(activationTtlHours)))
+				.createdAt(now)
+				.build());
+		return token;
+	}
+
+	public String activationEmail(String name, String role, String token) {
+		return String.format("Dear %s,\n\nYour %s account has been created.\n"
+				+ "Set your password to activate it: %s?token=%s\n\n"
+				+ "This link can be used once and expires in %d hours. If it has expired, use \"Forgot password\" "
+				+ "on the login page instead.\n\nBest,\nPaymentApp Team", name, role, activationUrl, token, activationTtlHours);
+	}
+}
@@ -0,0 +1,246 @@
+package com.paymentapp.serviceImpl;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.paymentapp.dto.ImportRowDTO;
+
+/**
+ * Validation stage shared by the employee, vendor and org-admin bulk uploads.
+ * Rows come from a streaming reader on the caller's thread and are cut into
+ * fixed-size chunks; field rules run on the import validation pool while the
+ * file is still being read. Results are handed back on the caller's thread in
+ * file order, which is also where uniqueness is resolved: each unique key is
+ * checked against the database with one IN query per chunk, then against the
+ * rows already accepted from the file (the first valid occurrence wins). At
+ * most a few chunks per worker are in flight, so memory stays bounded however
+ * long the file is.
+ */
+@Component
+public class BulkImportValidator {
+
+	private static final Pattern EMAIL = Pattern.compile("^[A-Za-z0-9._%+'-]+@[A-Za-z0-9-]+(\\.[A-Za-z0-9-]+)*\\.[A-Za-z]{2,}$");
+	private static final Pattern IFSC = Pattern.compile("^[A-Z]{4}0[A-Z0-9]{6}$");
+
+	private final ThreadPoolTaskExecutor importValidationExecutor;
+
+	// Rows per validation task, and per IN (...) lookup for each unique key
+	@Value("${payroll.import.chunk-size:1000}")
+	private int chunkSize;
+
+	public BulkImportValidator(ThreadPoolTaskExecutor importValidationExecutor) {
+		this.importValidationExecutor = importValidationExecutor;
+	}
+
+	// A parser that pushes rows into the consumer, e.g. rows -> importService.readEmployeeCsv(in, rows)
+	@FunctionalInterface
+	public interface RowReader<T> {
+		void read(Consumer<T> rows) throws IOException;
+	}
+
+	/**
+	 * A value that must be unique, e.g. email. Blank values are not checked. When existing is set
+	 * it is called with up to one chunk of distinct values and returns the ones already stored;
+	 * it runs on the calling thread, inside the caller's transaction.
+	 */
+	public record UniqueKey<T>(String label, Function<T, String> value,
+			Function<Collection<String>, Collection<String>> existing, String existsMessage) {
+
+		public static <T> UniqueKey<T> inFile(String label, Function<T, String> value) {
+			return new UniqueKey<>(label, value, null, null);
+		}
+
+		public static <T> UniqueKey<T> inFileAndDatabase(String label, Function<T, String> value,
+				Function<Collection<String>, Collection<String>> existing, String existsMessage) {
+			return new UniqueKey<>(label, value, existing, existsMessage);
+		}
+	}
+
+	/**
+	 * @param fieldRules per-row checks; must be thread-safe and must not touch the database
+	 * @param uniqueKeys values checked for duplicates within the file and, optionally, in the database
+	 * @param sink       receives every row in file order, on the calling thread
+	 */
+	public <T> int validate(RowReader<T> reader, Function<T, List<String>> fieldRules,
+			List<UniqueKey<T>> uniqueKeys, Consumer<ImportRowDTO<T>> sink) throws IOException {
+		Run<T> run = new Run<>(fieldRules, uniqueKeys, sink);
+		reader.read(run);
+		run.finish();
+		return run.rowCount;
+	}
+
+	public <T> List<ImportRowDTO<T>> validateAll(RowReader<T> reader, Function<T, List<String>> fieldRules,
+			List<UniqueKey<T>> uniqueKeys) throws IOException {
+		List<ImportRowDTO<T>> rows = new ArrayList<>();
+		validate(reader, fieldRules, uniqueKeys, rows::add);
+		return rows;
+	}
+
+	// State of one upload; only ever touched by the thread that reads the file
+	private final class Run<T> implements Consumer<T> {
+
+		private final Function<T, List<String>> fieldRules;
+		private final List<UniqueKey<T>> uniqueKeys;
+		private final Consumer<ImportRowDTO<T>> sink;
+		private final int maxInFlight = Math.max(2, importValidationExecutor.getMaxPoolSize() * 2);
+
+		private final Deque<CompletableFuture<List<ImportRowDTO<T>>>> inFlight = new ArrayDeque<>();
+		private final Map<String, Map<String, Integer>> seen = new HashMap<>();
+		private List<ImportRowDTO<T>> chunk = new ArrayList<>(chunkSize);
+		private int rowCount;
+
+		Run(Function<T, List<String>> fieldRules, List<UniqueKey<T>> uniqueKeys, Consumer<ImportRowDTO<T>> sink) {
+			this.fieldRules = fieldRules;
+			this.uniqueKeys = uniqueKeys;
+			this.sink = sink;
+		}
+
+		@Override
+		public void accept(T record) {
+			chunk.add(new ImportRowDTO<>(++rowCount, record, new ArrayList<>()));
+			if (chunk.size() < chunkSize) {
+				return;
+			}
+			submitChunk();
+
+			// Hand over whatever is already validated, and wait when too far ahead of the workers
+			while (!inFlight.isEmpty() && (inFlight.peekFirst().isDone() || inFlight.size() > maxInFlight)) {
+				emit(join(inFlight.pollFirst()));
+			}
+		}
+
+		void finish() {
+			if (!chunk.isEmpty()) {
+				submitChunk();
+			}
+			while (!inFlight.isEmpty()) {
+				emit(join(inFlight.pollFirst()));
+			}
+		}
+
+		private void submitChunk() {
+			List<ImportRowDTO<T>> rows = chunk;
+			chunk = new ArrayList<>(chunkSize);
+			inFlight.add(CompletableFuture.supplyAsync(() -> {
+				for (ImportRowDTO<T> row : rows) {
+					row.getErrors().addAll(fieldRules.apply(row.getRecord()));
+				}
+				return rows;
+			}, importValidationExecutor));
+		}
+
+		private List<ImportRowDTO<T>> join(CompletableFuture<List<ImportRowDTO<T>>> future) {
+			try {
+				return future.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException cause) {
+					throw cause;
+				}
+				throw new RuntimeException("Row validation failed: " + e.getCause().getMessage());
+			}
+		}
+
+		private void emit(List<ImportRowDTO<T>> rows) {
+			Map<String, Set<String>> stored = lookupExisting(rows);
+			for (ImportRowDTO<T> row : rows) {
+				if (row.isValid()) {
+					Map<String, String> claimed = new HashMap<>();
+					for (UniqueKey<T> unique : uniqueKeys) {
+						String value = keyOf(unique, row);
+						if (value == null) {
+							continue;
+						}
+						Integer firstRow = seen.computeIfAbsent(unique.label(), l -> new HashMap<>()).get(value);
+						if (stored.getOrDefault(unique.label(), Set.of()).contains(value)) {
+							row.getErrors().add(unique.existsMessage());
+						} else if (firstRow != null) {
+							row.getErrors().add("Duplicate " + unique.label() + " in file (row " + firstRow + ")");
+						} else {
+							claimed.put(unique.label(), value);
+						}
+					}
+					// Only rows that will actually be imported claim their values
+					if (row.isValid()) {
+						claimed.forEach((label, value) -> seen.get(label).put(value, row.getRowNumber()));
+					}
+				}
+				sink.accept(row);
+			}
+		}
+
+		// One IN (...) query per database-backed key for the whole chunk
+		private Map<String, Set<String>> lookupExisting(List<ImportRowDTO<T>> rows) {
+			Map<String, Set<String>> stored = new HashMap<>();
+			for (UniqueKey<T> unique : uniqueKeys) {
+				if (unique.existing() == null) {
+					continue;
+				}
+				Set<String> values = new HashSet<>();
+				for (ImportRowDTO<T> row : rows) {
+					String value = row.isValid() ? unique.value().apply(row.getRecord()) : null;
+					if (value != null && !value.isBlank()) {
+						values.add(value.trim());
+					}
+				}
+				if (values.isEmpty()) {
+					continue;
+				}
+				// Compared case-insensitively, like the database's default collation
+				Set<String> found = new HashSet<>();
+				for (String value : unique.existing().apply(values)) {
+					if (value != null) {
+						found.add(value.trim().toLowerCase());
+					}
+				}
+				stored.put(unique.label(), found);
+			}
+			return stored;
+		}
+
+		private String keyOf(UniqueKey<T> unique, ImportRowDTO<T> row) {
+			String value = unique.value().apply(row.getRecord());
+			return value == null || value.isBlank() ? null : value.trim().toLowerCase();
+		}
+	}
+
+	// ================= FIELD RULES =================
+
+	public static void checkEmail(String email, int maxLength, String missingMessage, List<String> errors) {
+		if (email == null || email.isBlank()) {
+			errors.add(missingMessage);
+		} else if (email.trim().length() > maxLength) {
+			errors.add("Email too long");
+		} else if (!EMAIL.matcher(email.trim()).matches()) {
+			errors.add("Invalid email format");
+		}
+	}
+
+	// Optional column: only checked when filled in
+	public static void checkIfsc(String ifsc, List<String> errors) {
+		if (ifsc != null && !ifsc.isBlank() && !IFSC.matcher(ifsc.trim().toUpperCase()).matches()) {
+			errors.add("Invalid IFSC code");
+		}
+	}
+
+	// Emails are stored lower-cased
+	public static String normalizeEmail(String email) {
+		return email == null ? null : email.trim().toLowerCase();
+	}
+}
@@ -0,0 +1,205 @@
+package com.paymentapp.serviceImpl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.paymentapp.entity.Notification;
+import com.paymentapp.repository.NotificationRepository;
+
+/**
+ * Delivers the EMAIL rows queued by NotificationService.sendEmail. Each poll
+ * claims due PENDING rows with a conditional update (so several app instances
+ * can poll the same table), splits them into chunks and sends every chunk over
+ * a single SMTP connection on the bounded mail dispatch pool. Failed messages
+ * go back to PENDING with exponential backoff until max-attempts, then FAILED.
+ * Delivery is at-least-once: a claim abandoned mid-send is released after the
+ * claim timeout and the email is sent again.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+	private final NotificationRepository notificationRepository;
+	private final JavaMailSender mailSender;
+	private final ThreadPoolTaskExecutor mailDispatchExecutor;
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${payroll.mail.from:}")
+	private String from;
+
+	// Messages sent over one SMTP connection
+	@Value("${payroll.mail.batch-size:50}")
+	private int batchSize;
+
+	// Upper bound on rows claimed per round; several chunks of one round are sent in parallel
+	@Value("${payroll.mail.claim-size:200}")
+	private int claimSize;
+
+	@Value("${payroll.mail.max-attempts:6}")
+	private int maxAttempts;
+
+	@Value("${payroll.mail.retry-base-ms:30000}")
+	private long retryBaseMs;
+
+	@Value("${payroll.mail.retry-max-ms:3600000}")
+	private long retryMaxMs;
+
+	@Value("${payroll.mail.claim-timeout-ms:600000}")
+	private long claimTimeoutMs;
+
+	public EmailOutboxDispatcher(NotificationRepository notificationRepository, JavaMailSender mailSender,
+			ThreadPoolTaskExecutor mailDispatchExecutor, TransactionTemplate transactionTemplate) {
+		this.notificationRepository = notificationRepository;
+		this.mailSender = mailSender;
+		this.mailDispatchExecutor = mailDispatchExecutor;
+		this.transactionTemplate = transactionTemplate;
+	}
+
+	// Fixed delay: the next poll starts only after this one has drained what was due
+	@Scheduled(fixedDelayString = "${payroll.mail.poll-interval-ms:2000}", initialDelayString = "${payroll.mail.initial-delay-ms:10000}")
+	public void dispatch() {
+		try {
+			Integer released = transactionTemplate.execute(status -> notificationRepository
+					.releaseStaleEmailClaims(Instant.now().minusMillis(claimTimeoutMs)));
+			if (released != null && released > 0) {
+				System.out.println("📧 Released " + released + " stale email claim(s)");
+			}
+
+			int claimed;
+			do {
+				claimed = dispatchRound();
+			} while (claimed >= claimSize);
+		} catch (Exception e) {
+			System.err.println("❌ Email outbox dispatch error: " + e.getMessage());
+		}
+	}
+
+	// Claims one round of due emails and waits until every chunk has been sent; returns the number claimed
+	private int dispatchRound() {
+		String token = UUID.randomUUID().toString();
+		List<Notification> claimed = transactionTemplate.execute(status -> {
+			Instant now = Instant.now();
+			List<Long> ids = notificationRepository.findDueEmailIds(now, PageRequest.of(0, claimSize));
+			if (ids.isEmpty() || notificationRepository.claimEmails(ids, token, now) == 0) {
+				return List.<Notification>of();
+			}
+			return notificationRepository.findByClaimToken(token);
+		});
+		if (claimed == null || claimed.isEmpty()) {
+			return 0;
+		}
+
+		List<CompletableFuture<Void>> chunks = new ArrayList<>();
+		for (int start = 0; start < claimed.size(); start += batchSize) {
+			List<Notification> chunk = claimed.subList(start, Math.min(start + batchSize, claimed.size()));
+			chunks.add(CompletableFuture.runAsync(() -> sendChunk(chunk, token), mailDispatchExecutor));
+		}
+		CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).join();
+		return claimed.size();
+	}
+
+	// ================= SENDING =================
+	private void sendChunk(List<Notification> chunk, String token) {
+		SimpleMailMessage[] messages = new SimpleMailMessage[chunk.size()];
+		for (int i = 0; i < chunk.size(); i++) {
+			Notification notification = chunk.get(i);
+			SimpleMailMessage message = new SimpleMailMessage();
+			if (!from.isBlank()) {
+				message.setFrom(from);
+			}
+			message.setTo(notification.getToEmail());
+			message.setSubject(notification.getSubject());
+			message.setText(notification.getBodySummary());
+			messages[i] = message;
+		}
+
+		// Keys are the message objects we passed in; SimpleMailMessage equality is by content, so match by identity
+		Map<SimpleMailMessage, String> failures = new IdentityHashMap<>();
+		try {
+			// One connection for the whole chunk
+			mailSender.send(messages);
+		} catch (MailSendException e) {
+			e.getFailedMessages().forEach((message, error) -> {
+				if (message instanceof SimpleMailMessage simple) {
+					failures.put(simple, error.getMessage());
+				}
+			});
+			if (failures.isEmpty()) {
+				for (SimpleMailMessage message : messages) {
+					failures.put(message, e.getMessage());
+				}
+			}
+		} catch (Exception e) {
+			// Authentication or configuration problems fail the whole chunk
+			for (SimpleMailMessage message : messages) {
+				failures.put(message, e.getMessage());
+			}
+		}
+
+		List<Long> sentIds = new ArrayList<>();
+		List<Notification> failed = new ArrayList<>();
+		for (int i = 0; i < chunk.size(); i++) {
+			if (failures.containsKey(messages[i])) {
+				failed.add(chunk.get(i));
+			} else {
+				sentIds.add(chunk.get(i).getNotificationId());
+			}
+		}
+
+		transactionTemplate.executeWithoutResult(status -> {
+			if (!sentIds.isEmpty()) {
+				notificationRepository.markEmailsSent(sentIds, token);
+			}
+			Instant now = Instant.now();
+			for (int i = 0; i < chunk.size(); i++) {
+				String error = failures.get(messages[i]);
+				if (error != null) {
+					recordFailure(chunk.get(i), token, error, now);
+				}
+			}
+		});
+
+		if (failed.isEmpty()) {
+			System.out.println("📧 Sent " + sentIds.size() + " email(s)");
+		} else {
+			System.err.println("⚠️ Sent " + sentIds.size() + " email(s), " + failed.size() + " failed");
+		}
+	}
+
+	private void recordFailure(Notification notification, String token, String error, Instant now) {
+		int attempts = notification.getAttempts() + 1;
+		boolean exhausted = attempts >= maxAttempts;
+		Instant nextAttemptAt = exhausted ? null : now.plus(backoff(attempts));
+		String message = error == null ? "Unknown mail error" : error.length() > 1000 ? error.substring(0, 1000) : error;
+
+		notificationRepository.markEmailAttemptFailed(notification.getNotificationId(), token,
+				exhausted ? "FAILED" : "PENDING", attempts, nextAttemptAt, message);
+		if (exhausted) {
+			System.err.println("❌ Giving up on email " + notification.getNotificationId() + " to " + notification.getToEmail()
+					+ " after " + attempts + " attempt(s): " + message);
+		}
+	}
+
+	// base * 2^(attempts-1), capped, with up to 20% jitter so retries after an outage do not arrive together
+	private Duration backoff(int attempts) {
+		long delay = retryBaseMs << Math.min(attempts - 1, 20);
+		delay = Math.min(delay < 0 ? retryMaxMs : delay, retryMaxMs);
+		delay += (long) (delay * 0.2 * Math.random());
+		return Duration.ofMillis(delay);
+	}
+}
@@ -5,9 +5,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
@@ -18,6 +21,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.paymentapp.dto.EmployeeRequestDTO;
 import com.paymentapp.dto.EmployeeResponseDTO;
+import com.paymentapp.dto.ImportRowDTO;
 import com.paymentapp.dto.SalaryGradeResponseDTO;
 import com.paymentapp.entity.Department;
 import com.paymentapp.entity.Employee;
@@ -38,6 +42,7 @@ import com.paymentapp.repository.UserRepository;
 import com.paymentapp.service.AuditLogService;
 import com.paymentapp.service.DocumentService;
 import com.paymentapp.service.EmployeeService;
+import com.paymentapp.serviceImpl.BulkImportValidator.UniqueKey;
 import com.paymentapp.service.NotificationService;
 
 import lombok.RequiredArgsConstructor;
@@ -59,6 +64,9 @@ public class EmployeeServiceImpl implements EmployeeService {
 	private final AuditLogService auditLogService;
 	private final ModelMapper modelMapper;
 	private final PasswordEncoder passwordEncoder;
+	private final BulkImportValidator bulkImportValidator;
+	private final BulkCredentialIssuer bulkCredentialIssuer;
+	private final UploadBatchLineWriter uploadBatchLineWriter;
 
 	private static final SecureRandom secureRandom = new SecureRandom();
 	private static final String ROLE_EMPLOYEE = "ROLE_EMPLOYEE";
@@ -188,6 +196,14 @@ public class EmployeeServiceImpl implements EmployeeService {
 
 
 
+	// Runs on the import validation pool: field checks only, no database access
+	private List<String> validateBulkRow(EmployeeRequestDTO dto) {
+		List<String> errors = new ArrayList<>();
+		BulkImportValidator.checkEmail(dto.getEmpEmail(), MAX_EMAIL_LENGTH, "Email is missing", errors);
+		BulkImportValidator.checkIfsc(dto.getIfscCode(), errors);
+		return errors;
+	}
+
 	@Override
 	@Transactional
 	public List<EmployeeResponseDTO> createEmployeesBulk(Long orgId, String departmentName, Long salaryGradeId,
@@ -198,37 +214,15 @@ public class EmployeeServiceImpl implements EmployeeService {
 			throw new RuntimeException("File name must be provided");
 		}
 
-		BufferedInputStream bis = new BufferedInputStream(fileInputStream);
-		List<EmployeeRequestDTO> dtos;
-		UserDataImportService importService = new UserDataImportService();
-
-		if (fileName.toLowerCase().endsWith(".xlsx") || fileName.toLowerCase().endsWith(".xls")) {
-			dtos = importService.parseEmployeeExcel(bis);
-		} else if (fileName.toLowerCase().endsWith(".csv")) {
-			dtos = importService.parseEmployeeCsv(bis);
-		} else {
-			throw new RuntimeException("Unsupported file type: " + fileName);
-		}
+		List<ImportRowDTO<EmployeeRequestDTO>> dtos = readBulkFile(fileInputStream, fileName);
 
 		if (dtos.isEmpty()) {
 			throw new RuntimeException("No valid records found in uploaded file");
 		}
 
-		Organization organization = organizationRepository.findById(orgId)
-				.orElseThrow(() -> new RuntimeException("Organization not found"));
-
-		if (organization.getStatus() == null || organization.getStatus().trim().equalsIgnoreCase("REJECTED")) {
-			throw new RuntimeException("Operation denied: Organization is rejected");
-		}
-
-		Department department = departmentRepository
-				.findByNameIgnoreCaseAndOrganizationAndDeletedFalse(departmentName.trim(), organization).orElseThrow(
-						() -> new RuntimeException("Active department not found with name: " + departmentName.trim()));
-		SalaryGrade salaryGrade = null;
-		if (salaryGradeId != null && salaryGradeId > 0) {
-			salaryGrade = salaryGradeRepository.findById(salaryGradeId)
-					.orElseThrow(() -> new RuntimeException("Salary grade not found with id: " + salaryGradeId));
-		}
+		Organization organization = findActiveOrganization(orgId);
+		Department department = findBulkDepartment(departmentName, organization);
+		SalaryGrade salaryGrade = findBulkSalaryGrade(salaryGradeId);
 		UploadBatch batch = new UploadBatch();
 		batch.setUploadedBy(performingUser.getUserId());
 		batch.setFileUrl(fileUrl != null && !fileUrl.isBlank() ? fileUrl : "Uploaded Directly");
@@ -238,91 +232,38 @@ public class EmployeeServiceImpl implements EmployeeService {
 		batch.setRecordCount(dtos.size());
 		batch.setEntityType("EMPLOYEE");
 
-		int rowNo = 1;
-		for (EmployeeRequestDTO dto : dtos) {
+		for (ImportRowDTO<EmployeeRequestDTO> row : dtos) {
+			EmployeeRequestDTO dto = row.getRecord();
 			String rawData = dto.getEmpEmail() != null ? dto.getEmpEmail() : "";
-			UploadBatchLine line = UploadBatchLine.builder().rowNumber(rowNo++).rawData(rawData).status("PENDING")
+			UploadBatchLine line = UploadBatchLine.builder().rowNumber(row.getRowNumber()).rawData(rawData).status("PENDING")
 					.message(null).entityType("EMPLOYEE").uploadBatch(batch).build();
 			batch.addBatchLine(line);
 		}
 		batch = uploadBatchRepository.save(batch);
 
+		// Generated passwords are hashed for the whole file at once on the password hash pool;
+		// in activation mode there is nothing to hash, users set a password from the emailed link
+		Map<Integer, String> passwordHashes = hashBulkPasswords(organization, dtos);
+
 		List<EmployeeResponseDTO> createdList = new ArrayList<>();
 		int processedCount = 0;
 
 		for (int i = 0; i < dtos.size(); i++) {
-			EmployeeRequestDTO dto = dtos.get(i);
+			ImportRowDTO<EmployeeRequestDTO> row = dtos.get(i);
+			EmployeeRequestDTO dto = row.getRecord();
 			UploadBatchLine line = batch.getLines().get(i);
 
 			// ✅ Validation checks
-			if (dto.getEmpEmail() == null || dto.getEmpEmail().isBlank()) {
-				line.setStatus("FAILED");
-				line.setMessage("Email is missing");
-				uploadBatchLineRepository.save(line);
-				continue;
-			}
-
-			if (dto.getEmpEmail().length() > MAX_EMAIL_LENGTH) {
+			if (!row.isValid()) {
 				line.setStatus("FAILED");
-				line.setMessage("Email too long");
-				uploadBatchLineRepository.save(line);
-				continue;
-			}
-
-			String normalizedEmail = dto.getEmpEmail().trim().toLowerCase();
-			if (userRepository.existsByEmail(normalizedEmail)) {
-				line.setStatus("FAILED");
-				line.setMessage("Duplicate email");
+				line.setMessage(row.getMessage());
 				uploadBatchLineRepository.save(line);
 				continue;
 			}
 
 			try {
-				String email = dto.getEmpEmail().trim().toLowerCase();
-				String pwd = generatePassword(organization.getOrgName(), dto.getEmpName());
-				Role role = roleRepository.findByRoleName(ROLE_EMPLOYEE)
-						.orElseThrow(() -> new RuntimeException("Role not found"));
-
-				User user = new User();
-				user.setEmail(email);
-				user.setPassword(passwordEncoder.encode(pwd));
-				user.setOrganization(organization);
-				user.setRoles(Set.of(role));
-				user.setStatus("ACTIVE");
-				user = userRepository.save(user);
-
-				Employee emp = new Employee();
-				emp.setEmpName(dto.getEmpName());
-				emp.setEmpEmail(email);
-				emp.setPhone(dto.getPhone());
-				emp.setBankAccountName(dto.getBankAccountName()); // ✅ NEW - Set from CSV/Excel
-				emp.setBankAccountNo(dto.getBankAccountNo());
-				emp.setIfscCode(dto.getIfscCode());
-				emp.setStatus("ACTIVE");
-				emp.setOrganization(organization);
-				emp.setUser(user);
-				emp.setDeleted(false);
-				emp.setDepartment(department);
-				emp.setSalaryGrade(salaryGrade); // ✅ No salary grade in bulk upload
-
-				emp = employeeRepository.save(emp);
-				user.setEmployee(emp);
-				
-				if (dto.getDocumentUrl() != null && !dto.getDocumentUrl().isBlank()) {
-				    try {
-				        documentService.uploadAndSaveDocumentFromUrl(
-				            dto.getDocumentUrl(),
-				            "EMPLOYEE",
-				            emp.getEmpId(),
-				            "BULK_UPLOAD_DOCUMENT",
-				            performingUser.getUserId(),
-				            organization
-				        );
-				    } catch (Exception ex) {
-				        System.err.println("Failed to upload document for empId=" + emp.getEmpId() + ": " + ex.getMessage());
-				    }
-				}
-
+				Employee emp = createBulkEmployee(dto, passwordHashes.get(row.getRowNumber()), organization, department,
+						salaryGrade, performingUser);
 
 				EmployeeResponseDTO resp = modelMapper.map(emp, EmployeeResponseDTO.class);
 
@@ -330,15 +271,6 @@ public class EmployeeServiceImpl implements EmployeeService {
 				line.setStatus("SUCCESS");
 				line.setMessage("Created successfully");
 				uploadBatchLineRepository.save(line);
-
-				 auditLogService.log(
-			                "CREATE_EMPLOYEE",
-			                "EMPLOYEE",
-			                user.getUserId(),
-			                performingUser.getUserId(),
-			                performingUser.getEmail(),
-			                performingUser.getRoles().stream().map(Role::getRoleName).findFirst().orElse("UNKNOWN")
-			            );
 				 
 				createdList.add(resp);
 				processedCount++;
@@ -366,6 +298,190 @@ public class EmployeeServiceImpl implements EmployeeService {
 		return createdList;
 	}
 
+	// Background run of a batch queued by UploadBatchJobService; not transactional, every chunk commits on its own
+	@Override
+	public void importEmployeeBatch(UploadBatch batch, InputStream fileInputStream, int committedRows) throws IOException {
+		Long orgId = batch.getOrganization().getOrgId();
+
+		// Rows go from the validator straight into commit-size chunks, so the file's rows are never all in memory
+		uploadBatchLineWriter.writeAll(batch.getBatchId(), "EMPLOYEE", committedRows, EmployeeRequestDTO::getEmpEmail,
+				new UploadBatchLineWriter.ChunkImporter<>() {
+
+					private Map<Integer, String> passwordHashes = Map.of();
+
+					@Override
+					public void prepare(List<ImportRowDTO<EmployeeRequestDTO>> chunk) {
+						Organization organization = organizationRepository.findById(orgId)
+								.orElseThrow(() -> new RuntimeException("Organization not found"));
+						passwordHashes = hashBulkPasswords(organization, chunk);
+					}
+
+					@Override
+					public UploadBatchLineWriter.RowImporter<EmployeeRequestDTO> begin() {
+						// Loaded in every chunk transaction so new rows attach to managed entities
+						Organization organization = findActiveOrganization(orgId);
+						Department department = findBulkDepartment(batch.getDepartmentName(), organization);
+						SalaryGrade salaryGrade = findBulkSalaryGrade(batch.getSalaryGradeId());
+						User performingUser = userRepository.findById(batch.getUploadedBy())
+								.orElseThrow(() -> new RuntimeException("Uploading user not found"));
+						return row -> createBulkEmployee(row.getRecord(), passwordHashes.get(row.getRowNumber()),
+								organization, department, salaryGrade, performingUser).getEmpId();
+					}
+				}, sink -> validateBulkFile(fileInputStream, batch.getFileName(), sink));
+	}
+
+	// Parses the upload and validates every row; rows come back in file order
+	private List<ImportRowDTO<EmployeeRequestDTO>> readBulkFile(InputStream fileInputStream, String fileName)
+			throws IOException {
+		List<ImportRowDTO<EmployeeRequestDTO>> rows = new ArrayList<>();
+		validateBulkFile(fileInputStream, fileName, rows::add);
+		return rows;
+	}
+
+	// Same, but hands each row to the sink as soon as its validation chunk is done
+	private void validateBulkFile(InputStream fileInputStream, String fileName,
+			Consumer<ImportRowDTO<EmployeeRequestDTO>> sink) throws IOException {
+		BufferedInputStream bis = new BufferedInputStream(fileInputStream);
+		UserDataImportService importService = new UserDataImportService();
+		BulkImportValidator.RowReader<EmployeeRequestDTO> reader;
+
+		if (fileName.toLowerCase().endsWith(".xlsx") || fileName.toLowerCase().endsWith(".xls")) {
+			reader = rows -> importService.readEmployeeExcel(bis, rows);
+		} else if (fileName.toLowerCase().endsWith(".csv")) {
+			reader = rows -> importService.readEmployeeCsv(bis, rows);
+		} else {
+			throw new RuntimeException("Unsupported file type: " + fileName);
+		}
+
+		// Field checks run on the validation pool while the file is read; rows come back in file order with
+		// duplicates (in the file or already stored) flagged, using one IN query per key per chunk
+		bulkImportValidator.validate(reader, this::validateBulkRow, List.of(
+				UniqueKey.inFileAndDatabase("email", dto -> BulkImportValidator.normalizeEmail(dto.getEmpEmail()),
+						userRepository::findExistingEmails, "Duplicate email"),
+				UniqueKey.inFileAndDatabase("phone", EmployeeRequestDTO::getPhone,
+						employeeRepository::findExistingPhones, "Duplicate phone"),
+				UniqueKey.inFileAndDatabase("bank account number", EmployeeRequestDTO::getBankAccountNo,
+						employeeRepository::findExistingBankAccountNos, "Duplicate bank account number")), sink);
+	}
+
+	private Organization findActiveOrganization(Long orgId) {
+		Organization organization = organizationRepository.findById(orgId)
+				.orElseThrow(() -> new RuntimeException("Organization not found"));
+
+		if (organization.getStatus() == null || organization.getStatus().trim().equalsIgnoreCase("REJECTED")) {
+			throw new RuntimeException("Operation denied: Organization is rejected");
+		}
+		return organization;
+	}
+
+	private Department findBulkDepartment(String departmentName, Organization organization) {
+		if (departmentName == null || departmentName.isBlank()) {
+			throw new RuntimeException("Department name must be provided");
+		}
+		return departmentRepository
+				.findByNameIgnoreCaseAndOrganizationAndDeletedFalse(departmentName.trim(), organization).orElseThrow(
+						() -> new RuntimeException("Active department not found with name: " + departmentName.trim()));
+	}
+
+	private SalaryGrade findBulkSalaryGrade(Long salaryGradeId) {
+		if (salaryGradeId == null || salaryGradeId <= 0) {
+			return null;
+		}
+		return salaryGradeRepository.findById(salaryGradeId)
+				.orElseThrow(() -> new RuntimeException("Salary grade not found with id: " + salaryGradeId));
+	}
+
+	// Row number -> BCrypt hash of a generated password for every valid row, hashed in parallel;
+	// empty in activation mode
+	private Map<Integer, String> hashBulkPasswords(Organization organization, List<ImportRowDTO<EmployeeRequestDTO>> rows) {
+		if (bulkCredentialIssuer.isActivationMode()) {
+			return Map.of();
+		}
+		List<Integer> rowNumbers = new ArrayList<>();
+		List<String> passwords = new ArrayList<>();
+		for (ImportRowDTO<EmployeeRequestDTO> row : rows) {
+			String name = row.getRecord().getEmpName();
+			if (row.isValid() && name != null && !name.isBlank()) {
+				rowNumbers.add(row.getRowNumber());
+				passwords.add(generatePassword(organization.getOrgName(), name));
+			}
+		}
+		List<String> hashes = bulkCredentialIssuer.encodeAll(passwords);
+		Map<Integer, String> byRow = new HashMap<>();
+		for (int i = 0; i < rowNumbers.size(); i++) {
+			byRow.put(rowNumbers.get(i), hashes.get(i));
+		}
+		return byRow;
+	}
+
+	// One bulk-uploaded employee with its login; passwordHash is ignored in activation mode
+	private Employee createBulkEmployee(EmployeeRequestDTO dto, String passwordHash, Organization organization,
+			Department department, SalaryGrade salaryGrade, User performingUser) {
+		boolean activation = bulkCredentialIssuer.isActivationMode();
+		String email = dto.getEmpEmail().trim().toLowerCase();
+		if (!activation && passwordHash == null) {
+			throw new RuntimeException("Employee name is missing");
+		}
+		Role role = roleRepository.findByRoleName(ROLE_EMPLOYEE)
+				.orElseThrow(() -> new RuntimeException("Role not found"));
+
+		User user = new User();
+		user.setEmail(email);
+		user.setPassword(activation ? BulkCredentialIssuer.UNUSABLE_PASSWORD : passwordHash);
+		user.setOrganization(organization);
+		user.setRoles(Set.of(role));
+		user.setStatus(activation ? BulkCredentialIssuer.PENDING_ACTIVATION : "ACTIVE");
+		user = userRepository.save(user);
+
+		Employee emp = new Employee();
+		emp.setEmpName(dto.getEmpName());
+		emp.setEmpEmail(email);
+		emp.setPhone(dto.getPhone());
+		emp.setBankAccountName(dto.getBankAccountName()); // ✅ NEW - Set from CSV/Excel
+		emp.setBankAccountNo(dto.getBankAccountNo());
+		emp.setIfscCode(dto.getIfscCode());
+		emp.setStatus("ACTIVE");
+		emp.setOrganization(organization);
+		emp.setUser(user);
+		emp.setDeleted(false);
+		emp.setDepartment(department);
+		emp.setSalaryGrade(salaryGrade); // ✅ No salary grade in bulk upload
+
+		emp = employeeRepository.save(emp);
+		user.setEmployee(emp);
+
+		if (activation) {
+			String token = bulkCredentialIssuer.issueActivationToken(user);
+			notificationService.sendEmail(email, "Welcome to PaymentApp - Activate Your Employee Account",
+					bulkCredentialIssuer.activationEmail(dto.getEmpName(), "employee", token));
+		}
+		
+		if (dto.getDocumentUrl() != null && !dto.getDocumentUrl().isBlank()) {
+		    try {
+		        documentService.uploadAndSaveDocumentFromUrl(
+		            dto.getDocumentUrl(),
+		            "EMPLOYEE",
+		            emp.getEmpId(),
+		            "BULK_UPLOAD_DOCUMENT",
+		            performingUser.getUserId(),
+		            organization
+		        );
+		    } catch (Exception ex) {
+		        System.err.println("Failed to upload document for empId=" + emp.getEmpId() + ": " + ex.getMessage());
+		    }
+		}
+
+		 auditLogService.log(
+	                "CREATE_EMPLOYEE",
+	                "EMPLOYEE",
+	                user.getUserId(),
+	                performingUser.getUserId(),
+	                performingUser.getEmail(),
+	                performingUser.getRoles().stream().map(Role::getRoleName).findFirst().orElse("UNKNOWN")
+	            );
+		return emp;
+	}
+
 	@Override
 	public List<EmployeeResponseDTO> getAllEmployees(Long orgId) {
 	    System.out.println("📋 Getting all employees for orgId: " + orgId);
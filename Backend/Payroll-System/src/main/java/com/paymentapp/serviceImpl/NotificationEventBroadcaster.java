@@ -0,0 +1,229 @@
+package com.paymentapp.serviceImpl;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Per-node registry of Server-Sent Event subscribers for in-app notifications.
+ * Every connection has its own bounded send queue, drained on the push
+ * executor, so publishing never waits for a client. A client whose queue
+ * fills up is disconnected; the browser reconnects with Last-Event-ID and
+ * gets what it missed from the database.
+ */
+@Component
+public class NotificationEventBroadcaster {
+
+	// id is set for replayable events (notifications); name == null marks a heartbeat comment
+	public record NotificationEvent(Long id, String name, Object data) {
+	}
+
+	private static final NotificationEvent HEARTBEAT = new NotificationEvent(null, null, null);
+
+	private final ThreadPoolTaskExecutor notificationPushExecutor;
+	private final ConcurrentHashMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+	@Value("${payroll.notifications.sse.queue-size:100}")
+	private int queueSize;
+
+	@Value("${payroll.notifications.sse.timeout-ms:1800000}")
+	private long timeoutMs;
+
+	@Value("${payroll.notifications.sse.max-connections-per-user:5}")
+	private int maxConnectionsPerUser;
+
+	public NotificationEventBroadcaster(ThreadPoolTaskExecutor notificationPushExecutor) {
+		this.notificationPushExecutor = notificationPushExecutor;
+	}
+
+	/**
+	 * Opens a connection for the user. The subscriber is registered before the
+	 * initial events are loaded, and anything published in between is merged
+	 * behind them without duplicates, so nothing committed around the
+	 * (re)connect is lost.
+	 */
+	public SseEmitter subscribe(Long userId, Supplier<List<NotificationEvent>> initialEvents) {
+		Subscriber subscriber = new Subscriber(userId, new SseEmitter(timeoutMs));
+		SseEmitter emitter = subscriber.emitter;
+		emitter.onCompletion(() -> remove(subscriber));
+		emitter.onTimeout(subscriber::close);
+		emitter.onError(error -> subscriber.close());
+
+		Set<Subscriber> userSubscribers = subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet());
+		userSubscribers.add(subscriber);
+		// Too many tabs: the oldest connection goes
+		if (userSubscribers.size() > maxConnectionsPerUser) {
+			userSubscribers.stream().min(Comparator.comparingLong(s -> s.connectedAt)).ifPresent(Subscriber::close);
+		}
+
+		try {
+			subscriber.start(initialEvents.get());
+		} catch (RuntimeException e) {
+			subscriber.close();
+			throw e;
+		}
+		return emitter;
+	}
+
+	public boolean hasSubscribers(Long userId) {
+		return subscribers.containsKey(userId);
+	}
+
+	public void publish(Long userId, NotificationEvent event) {
+		Set<Subscriber> userSubscribers = subscribers.get(userId);
+		if (userSubscribers == null) {
+			return;
+		}
+		for (Subscriber subscriber : userSubscribers) {
+			subscriber.offer(event);
+		}
+	}
+
+	// Keeps proxies and load balancers from cutting idle connections, and detects dead ones
+	@Scheduled(fixedDelayString = "${payroll.notifications.sse.heartbeat-ms:25000}")
+	public void heartbeat() {
+		subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT)));
+	}
+
+	public int connectionCount() {
+		return subscribers.values().stream().mapToInt(Set::size).sum();
+	}
+
+	@PreDestroy
+	public void closeAll() {
+		subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(Subscriber::close));
+	}
+
+	private void remove(Subscriber subscriber) {
+		subscribers.computeIfPresent(subscriber.userId, (id, userSubscribers) -> {
+			userSubscribers.remove(subscriber);
+			return userSubscribers.isEmpty() ? null : userSubscribers;
+		});
+	}
+
+	private final class Subscriber {
+
+		private final Long userId;
+		private final SseEmitter emitter;
+		private final long connectedAt = System.nanoTime();
+
+		private ArrayDeque<NotificationEvent> queue = new ArrayDeque<>();
+		private boolean started;
+		private boolean draining;
+		private boolean closed;
+
+		Subscriber(Long userId, SseEmitter emitter) {
+			this.userId = userId;
+			this.emitter = emitter;
+		}
+
+		synchronized void start(List<NotificationEvent> initial) {
+			Set<Long> initialIds = new HashSet<>();
+			initial.forEach(event -> initialIds.add(event.id()));
+			ArrayDeque<NotificationEvent> merged = new ArrayDeque<>(initial);
+			for (NotificationEvent queued : queue) {
+				if (queued.id() == null || !initialIds.contains(queued.id())) {
+					merged.add(queued);
+				}
+			}
+			queue = merged;
+			started = true;
+			scheduleDrain();
+		}
+
+		void offer(NotificationEvent event) {
+			synchronized (this) {
+				if (closed) {
+					return;
+				}
+				if (queue.size() < queueSize) {
+					queue.add(event);
+					scheduleDrain();
+					return;
+				}
+			}
+			System.out.println("🐢 Dropping slow notification stream for user " + userId);
+			close();
+		}
+
+		// Caller holds the lock
+		private void scheduleDrain() {
+			if (!started || draining || closed || queue.isEmpty()) {
+				return;
+			}
+			draining = true;
+			try {
+				notificationPushExecutor.execute(this::drain);
+			} catch (RejectedExecutionException e) {
+				// Push pool saturated: shed this connection, the client reconnects and replays
+				draining = false;
+				close();
+			}
+		}
+
+		private void drain() {
+			while (true) {
+				NotificationEvent next;
+				synchronized (this) {
+					next = queue.poll();
+					if (next == null || closed) {
+						draining = false;
+						return;
+					}
+				}
+				try {
+					emitter.send(toSse(next));
+				} catch (Exception e) {
+					// Any failure (client gone, emitter completed, unserializable payload) ends the connection;
+					// leaving draining set would stop this subscriber from ever being drained again
+					synchronized (this) {
+						draining = false;
+					}
+					close();
+					return;
+				}
+			}
+		}
+
+		void close() {
+			synchronized (this) {
+				if (closed) {
+					return;
+				}
+				closed = true;
+				queue.clear();
+			}
+			remove(this);
+			try {
+				emitter.complete();
+			} catch (Exception ignored) {
+				// already completed by the container
+			}
+		}
+	}
+
+	private static SseEmitter.SseEventBuilder toSse(NotificationEvent event) {
+		if (event.name() == null) {
+			return SseEmitter.event().comment("heartbeat");
+		}
+		SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.name()).data(event.data(), MediaType.APPLICATION_JSON);
+		if (event.id() != null) {
+			builder.id(String.valueOf(event.id()));
+		}
+		return builder;
+	}
+}
@@ -1,16 +1,28 @@
 package com.paymentapp.serviceImpl;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.paymentapp.dto.NotificationDTO;
 import com.paymentapp.entity.Notification;
 import com.paymentapp.entity.User;
 import com.paymentapp.repository.NotificationRepository;
 import com.paymentapp.service.NotificationService;
+import com.paymentapp.serviceImpl.NotificationEventBroadcaster.NotificationEvent;
 
 import lombok.RequiredArgsConstructor;
 
@@ -18,10 +30,25 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class NotificationServiceImpl implements NotificationService {
 
-    private final JavaMailSender mailSender;
     private final NotificationRepository notificationRepository;
+    private final NotificationEventBroadcaster notificationEventBroadcaster;
 
-    // ================= EXISTING EMAIL METHOD =================
+    // userId -> unread in-app count. Changes are applied once the writing transaction commits;
+    // an entry is reloaded from the database on a miss, after eviction, or once older than the TTL
+    private final ConcurrentHashMap<Long, UnreadCounter> unreadCounters = new ConcurrentHashMap<>();
+
+    @Value("${payroll.notifications.unread-cache-size:100000}")
+    private int unreadCacheSize;
+
+    @Value("${payroll.notifications.unread-cache-ttl-ms:600000}")
+    private long unreadCacheTtlMs;
+
+    private record UnreadCounter(long count, long loadedAt) {
+    }
+
+    // ================= EMAIL (OUTBOX) =================
+    // Only queues the email: the row commits or rolls back with the caller's transaction and
+    // EmailOutboxDispatcher delivers it in the background, so callers never wait on SMTP
     @Override
     @Transactional
     public void sendEmail(String to, String subject, String body) {
@@ -31,20 +58,9 @@ public class NotificationServiceImpl implements NotificationService {
                 .bodySummary(body)
                 .type("EMAIL")
                 .status("PENDING")
+                .nextAttemptAt(Instant.now())
                 .build();
 
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(body);
-            mailSender.send(message);
-            notification.setStatus("SENT");
-        } catch (Exception e) {
-            notification.setStatus("FAILED");
-            notification.setBodySummary(body + "\nError: " + e.getMessage());
-        }
-
         notificationRepository.save(notification);
     }
 
@@ -80,6 +96,12 @@ public class NotificationServiceImpl implements NotificationService {
         
         try {
             Notification saved = notificationRepository.save(notification);
+            Long userId = user.getUserId();
+            afterCommit(() -> {
+                adjustUnreadCount(userId, 1);
+                notificationEventBroadcaster.publish(userId, new NotificationEvent(saved.getNotificationId(), "notification", NotificationDTO.from(saved)));
+                publishUnreadCount(userId);
+            });
             System.out.println("✅ Notification saved with ID: " + saved.getNotificationId());
             System.out.println("   User ID: " + saved.getUser().getUserId());
         } catch (Exception e) {
@@ -106,27 +128,165 @@ public class NotificationServiceImpl implements NotificationService {
     
     @Override
     public Long getUnreadInAppNotificationCount(User user) {
-        Long count = notificationRepository.countByUserAndTypeAndStatus(user, "IN_APP", "UNREAD");
-        System.out.println("🔢 Unread count for " + user.getEmail() + ": " + count);
-        return count;
+        return getUnreadInAppNotificationCount(user.getUserId());
     }
     
     @Override
-    @Transactional
-    public void markInAppNotificationAsRead(Long notificationId) {
-        notificationRepository.findById(notificationId).ifPresent(notification -> {
-            notification.setStatus("READ");
-            notificationRepository.save(notification);
-            System.out.println("✅ Notification marked as read: " + notificationId);
+    public long getUnreadInAppNotificationCount(Long userId) {
+        long now = System.currentTimeMillis();
+        UnreadCounter counter = unreadCounters.get(userId);
+        if (counter != null && now - counter.loadedAt() <= unreadCacheTtlMs) {
+            return counter.count();
+        }
+
+        if (counter == null && unreadCounters.size() >= unreadCacheSize) {
+            evictUnreadCounters();
+        }
+        // compute() serialises the load with after-commit adjustments for the same user
+        counter = unreadCounters.compute(userId, (id, current) -> {
+            if (current != null && now - current.loadedAt() <= unreadCacheTtlMs) {
+                return current;
+            }
+            long count = notificationRepository.countByUser_UserIdAndTypeAndStatus(id, "IN_APP", "UNREAD");
+            System.out.println("🔢 Unread count loaded for user " + id + ": " + count);
+            return new UnreadCounter(count, now);
         });
+        return counter.count();
     }
     
+    // ================= BULK STATE CHANGES =================
+    // Each is a single UPDATE/DELETE; the affected counts drive the cached unread counter after commit
+
     @Override
     @Transactional
-    public void markAllInAppNotificationsAsRead(User user) {
-        List<Notification> unreadNotifications = getUnreadInAppNotifications(user);
-        unreadNotifications.forEach(notification -> notification.setStatus("READ"));
-        notificationRepository.saveAll(unreadNotifications);
-        System.out.println("✅ Marked all notifications as read for: " + user.getEmail());
+    public int markInAppNotificationsAsRead(Long userId, Collection<Long> notificationIds) {
+        if (notificationIds == null || notificationIds.isEmpty()) {
+            return 0;
+        }
+        int marked = notificationRepository.markInAppReadByIds(userId, notificationIds);
+        unreadCountChanged(userId, -marked);
+        System.out.println("✅ " + marked + " notification(s) marked as read for user " + userId);
+        return marked;
+    }
+    
+    @Override
+    @Transactional
+    public int markAllInAppNotificationsAsRead(Long userId) {
+        int marked = notificationRepository.markAllInAppRead(userId);
+        unreadCountChanged(userId, -marked);
+        System.out.println("✅ Marked all " + marked + " notification(s) as read for user " + userId);
+        return marked;
+    }
+    
+    @Override
+    @Transactional
+    public int markInAppNotificationsAsReadByType(Long userId, String relatedEntityType) {
+        int marked = notificationRepository.markInAppReadByRelatedEntityType(userId, relatedEntityType);
+        unreadCountChanged(userId, -marked);
+        System.out.println("✅ Marked " + marked + " " + relatedEntityType + " notification(s) as read for user " + userId);
+        return marked;
+    }
+    
+    @Override
+    @Transactional
+    public int deleteInAppNotifications(Long userId, Collection<Long> notificationIds) {
+        if (notificationIds == null || notificationIds.isEmpty()) {
+            return 0;
+        }
+        int unread = notificationRepository.deleteInAppByIds(userId, notificationIds, true);
+        int read = notificationRepository.deleteInAppByIds(userId, notificationIds, false);
+        unreadCountChanged(userId, -unread);
+        System.out.println("🗑️ Deleted " + (unread + read) + " notification(s) for user " + userId);
+        return unread + read;
+    }
+    
+    @Override
+    @Transactional
+    public int deleteInAppNotificationsOlderThan(Long userId, int days) {
+        if (days < 0) {
+            throw new RuntimeException("Days must not be negative");
+        }
+        Instant cutoff = Instant.now().minus(Duration.ofDays(days));
+        int unread = notificationRepository.deleteInAppOlderThan(userId, cutoff, true);
+        int read = notificationRepository.deleteInAppOlderThan(userId, cutoff, false);
+        unreadCountChanged(userId, -unread);
+        System.out.println("🗑️ Deleted " + (unread + read) + " notification(s) older than " + days + " day(s) for user " + userId);
+        return unread + read;
+    }
+
+    private void unreadCountChanged(Long userId, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        afterCommit(() -> {
+            adjustUnreadCount(userId, delta);
+            publishUnreadCount(userId);
+        });
+    }
+
+    // ================= UNREAD COUNTERS =================
+
+    // Only cached users are adjusted; anyone else is loaded from the database, which already has the change
+    private void adjustUnreadCount(Long userId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        unreadCounters.computeIfPresent(userId,
+                (id, current) -> new UnreadCounter(Math.max(0, current.count() + delta), current.loadedAt()));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // ================= PUSH (SSE) =================
+
+    @Override
+    @Transactional(readOnly = true)
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = notificationEventBroadcaster.subscribe(userId, () -> {
+            List<NotificationEvent> initial = new ArrayList<>();
+            // Reconnect: whatever was created while the client was away, oldest first
+            if (lastEventId != null) {
+                List<Notification> missed = notificationRepository
+                        .findTop100ByUser_UserIdAndTypeAndNotificationIdGreaterThanOrderByNotificationIdDesc(userId, "IN_APP", lastEventId);
+                Collections.reverse(missed);
+                missed.forEach(n -> initial.add(new NotificationEvent(n.getNotificationId(), "notification", NotificationDTO.from(n))));
+            }
+            initial.add(unreadCountEvent(getUnreadInAppNotificationCount(userId)));
+            return initial;
+        });
+        System.out.println("📡 Notification stream opened for user " + userId
+                + (lastEventId != null ? " (resuming after " + lastEventId + ")" : ""));
+        return emitter;
+    }
+
+    private void publishUnreadCount(Long userId) {
+        if (notificationEventBroadcaster.hasSubscribers(userId)) {
+            notificationEventBroadcaster.publish(userId, unreadCountEvent(getUnreadInAppNotificationCount(userId)));
+        }
+    }
+
+    private static NotificationEvent unreadCountEvent(long count) {
+        return new NotificationEvent(null, "unread-count", Map.of("count", count));
+    }
+
+    // Drop about a tenth of the entries; evicted users are simply reloaded on their next poll
+    private void evictUnreadCounters() {
+        int toRemove = Math.max(1, unreadCacheSize / 10);
+        Iterator<Long> keys = unreadCounters.keySet().iterator();
+        while (toRemove-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
     }
 }
@@ -15,6 +15,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.paymentapp.dto.ImportRowDTO;
 import com.paymentapp.dto.OrgAdminRequestDTO;
 import com.paymentapp.dto.OrgAdminResponseDTO;
 import com.paymentapp.dto.SalaryGradeResponseDTO;
@@ -37,6 +38,7 @@ import com.paymentapp.repository.UserRepository;
 import com.paymentapp.service.AuditLogService;
 import com.paymentapp.service.DocumentService;
 import com.paymentapp.service.NotificationService;
+import com.paymentapp.serviceImpl.BulkImportValidator.UniqueKey;
 import com.paymentapp.service.OrgAdminService;
 
 import lombok.RequiredArgsConstructor;
@@ -58,6 +60,8 @@ public class OrgAdminServiceImpl implements OrgAdminService {
     private final UploadBatchLineRepository uploadBatchLineRepository;
     private final DocumentService documentService;
     private final DepartmentRepository departmentRepository;
+    private final BulkImportValidator bulkImportValidator;
+    private final BulkCredentialIssuer bulkCredentialIssuer;
 
     private static final String ROLE_ORG_ADMIN = "ROLE_ORG_ADMIN";
     private static final int MAX_EMAIL_LENGTH = 100;
@@ -175,6 +179,14 @@ public class OrgAdminServiceImpl implements OrgAdminService {
         return responseDTO;
     }
 
+    // Runs on the import validation pool: field checks only, no database access
+    private List<String> validateBulkRow(OrgAdminRequestDTO dto) {
+        List<String> errors = new ArrayList<>();
+        BulkImportValidator.checkEmail(dto.getEmail(), MAX_EMAIL_LENGTH, "Email is missing", errors);
+        BulkImportValidator.checkIfsc(dto.getIfscCode(), errors);
+        return errors;
+    }
+
     @Override
     @Transactional
     public List<OrgAdminResponseDTO> createMultipleOrgAdmins(Long orgId, String departmentName, Long salaryGradeId,
@@ -187,17 +199,25 @@ public class OrgAdminServiceImpl implements OrgAdminService {
 
         BufferedInputStream bis = new BufferedInputStream(fileInputStream);
 
-        List<OrgAdminRequestDTO> dtos;
         UserDataImportService importService = new UserDataImportService();
+        BulkImportValidator.RowReader<OrgAdminRequestDTO> reader;
 
         if (fileName.toLowerCase().endsWith(".xlsx") || fileName.toLowerCase().endsWith(".xls")) {
-            dtos = importService.parseOrgAdminExcel(bis);
+            reader = rows -> importService.readOrgAdminExcel(bis, rows);
         } else if (fileName.toLowerCase().endsWith(".csv")) {
-            dtos = importService.parseOrgAdminCsv(bis);
+            reader = rows -> importService.readOrgAdminCsv(bis, rows);
         } else {
             throw new RuntimeException("Unsupported file type: " + fileName);
         }
 
+        // Field checks run on the validation pool while the file is read; rows come back in file order with
+        // duplicates (in the file or already stored) flagged, using one IN query per key per chunk
+        List<ImportRowDTO<OrgAdminRequestDTO>> dtos = bulkImportValidator.validateAll(reader, this::validateBulkRow, List.of(
+                UniqueKey.inFileAndDatabase("email", dto -> BulkImportValidator.normalizeEmail(dto.getEmail()),
+                        userRepository::findExistingEmails, "Duplicate email"),
+                UniqueKey.inFileAndDatabase("phone", OrgAdminRequestDTO::getPhone,
+                        orgAdminRepository::findExistingPhones, "Duplicate phone")));
+
         if (dtos.isEmpty()) {
             throw new RuntimeException("No valid records found in the uploaded file");
         }
@@ -241,11 +261,11 @@ public class OrgAdminServiceImpl implements OrgAdminService {
         batch.setRecordCount(dtos.size());
         batch.setEntityType("ORG_ADMIN");
 
-        int rowNo = 1;
-        for (OrgAdminRequestDTO dto : dtos) {
+        for (ImportRowDTO<OrgAdminRequestDTO> row : dtos) {
+            OrgAdminRequestDTO dto = row.getRecord();
             String rawData = dto.getEmail() != null ? dto.getEmail() : "";
             UploadBatchLine line = UploadBatchLine.builder()
-                    .rowNumber(rowNo++)
+                    .rowNumber(row.getRowNumber())
                     .rawData(rawData)
                     .status("PENDING")
                     .message(null)
@@ -256,46 +276,51 @@ public class OrgAdminServiceImpl implements OrgAdminService {
         }
         batch = uploadBatchRepository.save(batch);
 
+        // Generated passwords are hashed for the whole file at once on the password hash pool;
+        // in activation mode there is nothing to hash, admins set a password from the emailed link
+        boolean activation = bulkCredentialIssuer.isActivationMode();
+        List<String> passwords = new ArrayList<>(dtos.size());
+        List<String> passwordHashes = null;
+        if (!activation) {
+            for (ImportRowDTO<OrgAdminRequestDTO> row : dtos) {
+                String name = row.getRecord().getName();
+                passwords.add(row.isValid() && name != null && !name.isBlank()
+                        ? generatePassword(organization.getOrgName(), name) : null);
+            }
+            passwordHashes = bulkCredentialIssuer.encodeAll(passwords);
+        }
+
         List<OrgAdminResponseDTO> createdList = new ArrayList<>();
         int processedCount = 0;
 
         for (int i = 0; i < dtos.size(); i++) {
-            OrgAdminRequestDTO dto = dtos.get(i);
+            ImportRowDTO<OrgAdminRequestDTO> row = dtos.get(i);
+            OrgAdminRequestDTO dto = row.getRecord();
             UploadBatchLine line = batch.getLines().get(i);
 
-            if (dto.getEmail() == null || dto.getEmail().isBlank()) {
+            if (!row.isValid()) {
                 line.setStatus("FAILED");
-                line.setMessage("Email is missing");
-                uploadBatchLineRepository.save(line);
-                continue;
-            }
-
-            if (dto.getEmail().length() > MAX_EMAIL_LENGTH) {
-                line.setStatus("FAILED");
-                line.setMessage("Email too long");
+                line.setMessage(row.getMessage());
                 uploadBatchLineRepository.save(line);
                 continue;
             }
 
             String normalizedEmail = dto.getEmail().trim().toLowerCase();
-            if (userRepository.existsByEmail(normalizedEmail)) {
-                line.setStatus("FAILED");
-                line.setMessage("Duplicate email");
-                uploadBatchLineRepository.save(line);
-                continue;
-            }
 
             try {
-                String pwd = generatePassword(organization.getOrgName(), dto.getName());
+                String passwordHash = activation ? BulkCredentialIssuer.UNUSABLE_PASSWORD : passwordHashes.get(i);
+                if (passwordHash == null) {
+                    throw new RuntimeException("Name is missing");
+                }
                 Role role = roleRepository.findByRoleName(ROLE_ORG_ADMIN)
                         .orElseThrow(() -> new RuntimeException("Role not found"));
 
                 User user = new User();
                 user.setEmail(normalizedEmail);
-                user.setPassword(passwordEncoder.encode(pwd));
+                user.setPassword(passwordHash);
                 user.setOrganization(organization);
                 user.setRoles(Set.of(role));
-                user.setStatus("ACTIVE");
+                user.setStatus(activation ? BulkCredentialIssuer.PENDING_ACTIVATION : "ACTIVE");
                 user = userRepository.save(user);
 
                 OrgAdmin admin = new OrgAdmin();
@@ -345,10 +370,16 @@ public class OrgAdminServiceImpl implements OrgAdminService {
                 createdList.add(responseDTO);
 
                 // Send email
-                notificationService.sendEmail(normalizedEmail, "Welcome to PaymentApp - Org Admin Account Created",
-                        String.format("Dear %s,\n\nYour organization admin account has been created successfully.\n" +
-                                "Your default password is: %s\nPlease change your password after login.\n\n" +
-                                "Best,\nPaymentApp Team", dto.getName(), pwd));
+                if (activation) {
+                    String token = bulkCredentialIssuer.issueActivationToken(user);
+                    notificationService.sendEmail(normalizedEmail, "Welcome to PaymentApp - Activate Your Org Admin Account",
+                            bulkCredentialIssuer.activationEmail(dto.getName(), "organization admin", token));
+                } else {
+                    notificationService.sendEmail(normalizedEmail, "Welcome to PaymentApp - Org Admin Account Created",
+                            String.format("Dear %s,\n\nYour organization admin account has been created successfully.\n" +
+                                    "Your default password is: %s\nPlease change your password after login.\n\n" +
+                                    "Best,\nPaymentApp Team", dto.getName(), passwords.get(i)));
+                }
 
                 // Audit log
                 auditLogService.log("CREATE_ORG_ADMIN", "ORG_ADMIN", user.getUserId(), performingUser.getUserId(),
@@ -34,6 +34,7 @@ import com.paymentapp.repository.OrganizationVerificationDocumentRepository;
 import com.paymentapp.repository.RoleRepository;
 import com.paymentapp.repository.UserRepository;
 import com.paymentapp.service.AuditLogService;
+import com.paymentapp.service.BalanceService;
 import com.paymentapp.service.NotificationService;
 import com.paymentapp.service.OrganizationService;
 import com.paymentapp.service.OrganizationVerificationDocumentService;
@@ -53,6 +54,7 @@ public class OrganizationServiceImpl implements OrganizationService {
 	private final RoleRepository roleRepository;
 	private final ModelMapper modelMapper;
 	private final AuditLogService auditLogService;
+	private final BalanceService balanceService;
 
 	private static final SecureRandom secureRandom = new SecureRandom();
 
@@ -480,7 +482,7 @@ public class OrganizationServiceImpl implements OrganizationService {
 	        org.setEmployeeCount(dto.getEmployeeCount());
 	    }
 	    if (dto.getAccountBalance() != null) {
-	        org.setAccountBalance(dto.getAccountBalance());
+	        balanceService.overwriteOrganizationBalance(org, dto.getAccountBalance());
 	    }
 
 	    organizationRepository.save(org);
@@ -573,10 +575,7 @@ public class OrganizationServiceImpl implements OrganizationService {
 	        .orElseThrow(() -> new RuntimeException("Organization not found"));
 	    
 	    // Add amount to current balance
-	    BigDecimal currentBalance = org.getAccountBalance();
-	    org.setAccountBalance(currentBalance.add(amount));
-	    
-	    organizationRepository.save(org);
+	    balanceService.creditOrganization(org, amount);
 	    
 	    // Log transaction
 	    auditLogService.log(
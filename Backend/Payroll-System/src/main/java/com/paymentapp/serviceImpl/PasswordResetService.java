@@ -115,6 +115,10 @@ public class PasswordResetService {
         
         // Update password
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        // Also the way in for imported accounts whose activation link expired
+        if (BulkCredentialIssuer.PENDING_ACTIVATION.equals(user.getStatus())) {
+            user.setStatus("ACTIVE");
+        }
         userRepository.save(user);
         
         // Mark token as used
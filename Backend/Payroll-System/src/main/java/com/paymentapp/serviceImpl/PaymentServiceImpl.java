@@ -1,11 +1,17 @@
 package com.paymentapp.serviceImpl;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,6 +33,7 @@ import com.paymentapp.repository.PaymentTransactionRepository;
 import com.paymentapp.repository.UserRepository;
 import com.paymentapp.repository.VendorRepository;
 import com.paymentapp.service.AuditLogService;
+import com.paymentapp.service.BalanceService;
 import com.paymentapp.service.NotificationService;
 import com.paymentapp.service.PaymentService;
 
@@ -45,6 +52,11 @@ public class PaymentServiceImpl implements PaymentService {
     private final UserRepository userRepo;
     private final AuditLogService auditLogService;
     private final NotificationService notificationService;
+    private final BalanceService balanceService;
+
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final Set<String> QUEUE_SORT_FIELDS =
+            Set.of("createdAt", "amount", "orgName", "vendorName", "paymentId");
     // ═══════════════════════════════════════════════════════════════════
     // CREATE PAYMENT REQUEST
     // ═══════════════════════════════════════════════════════════════════
@@ -101,11 +113,39 @@ public class PaymentServiceImpl implements PaymentService {
     // ═══════════════════════════════════════════════════════════════════
     @Override
     public List<PaymentRequestDTO> getPendingRequests() {
-        return requestRepo.findByStatus("PENDING").stream()
+        return requestRepo.findByStatusWithParties("PENDING").stream()
                 .map(this::toDTO)
                 .collect(Collectors.toList());
     }
 
+    // ═══════════════════════════════════════════════════════════════════
+    // PENDING QUEUE (PAGINATED PROJECTION)
+    // ═══════════════════════════════════════════════════════════════════
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PaymentRequestDTO> getPendingQueue(int page, int size, String sortBy, String direction) {
+        String property = QUEUE_SORT_FIELDS.contains(sortBy) ? sortBy : "createdAt";
+        Sort sort = Sort.by("desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC, property);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE), sort);
+
+        return requestRepo.findQueueByStatus("PENDING", pageable).map(row -> {
+            PaymentRequestDTO dto = new PaymentRequestDTO();
+            dto.setPaymentId(row.getPaymentId());
+            dto.setAmount(row.getAmount());
+            dto.setInvoiceReference(row.getInvoiceReference());
+            dto.setStatus(row.getStatus());
+            dto.setOrgId(row.getOrgId());
+            dto.setOrgName(row.getOrgName());
+            dto.setVendorId(row.getVendorId());
+            dto.setVendorName(row.getVendorName());
+            dto.setCreatedAt(row.getCreatedAt());
+            if (row.getCreatedAt() != null) {
+                dto.setAgeMinutes(Duration.between(row.getCreatedAt(), Instant.now()).toMinutes());
+            }
+            return dto;
+        });
+    }
+
     // ═══════════════════════════════════════════════════════════════════
     // GET REQUEST BY ID
     // ═══════════════════════════════════════════════════════════════════
@@ -369,13 +409,11 @@ public class PaymentServiceImpl implements PaymentService {
         Vendor vendor = req.getVendor();
         BigDecimal amount = req.getAmount();
 
-        // Deduct from org
-        org.setAccountBalance(org.getAccountBalance().subtract(amount));
-        orgRepo.save(org);
-
-        // Add to vendor
-        vendor.setBalance(vendor.getBalance().add(amount));
-        vendorRepo.save(vendor);
+        // Deduct from org only if the balance still covers it, then credit the vendor
+        if (!balanceService.debitOrganization(org, amount)) {
+            throw new RuntimeException("Insufficient balance");
+        }
+        balanceService.creditVendor(vendor, amount);
 
         // Create transaction
         String bankRef = "BANK-" + UUID.randomUUID().toString().substring(0, 12).toUpperCase();
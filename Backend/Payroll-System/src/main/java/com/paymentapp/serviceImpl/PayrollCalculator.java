@@ -0,0 +1,147 @@
+package com.paymentapp.serviceImpl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.springframework.stereotype.Component;
+
+import com.paymentapp.dto.PayeeGradeView;
+import com.paymentapp.entity.SalaryGrade;
+import com.paymentapp.repository.SalaryGradeRepository;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class PayrollCalculator {
+
+	private final SalaryGradeRepository salaryGradeRepository;
+	private final ForkJoinPool payrollForkJoinPool;
+
+	public record SalaryBreakdown(BigDecimal gross, BigDecimal deductions, BigDecimal net) {
+	}
+
+	public record PricedPayee(PayeeGradeView payee, SalaryBreakdown breakdown) {
+	}
+
+	public record PricingResult(List<PricedPayee> priced, BigDecimal total, List<String> errors) {
+	}
+
+	// ✅ One query for every grade of the org, each priced once and shared by all lines
+	public Map<Long, SalaryBreakdown> loadGradeBreakdowns(Long orgId) {
+		Map<Long, SalaryBreakdown> breakdowns = new ConcurrentHashMap<>();
+		for (SalaryGrade grade : salaryGradeRepository.findByOrganization_OrgId(orgId)) {
+			breakdowns.put(grade.getGradeId(), compute(grade));
+		}
+		System.out.println("🧮 Priced " + breakdowns.size() + " salary grade(s) for org " + orgId);
+		return breakdowns;
+	}
+
+	// Falls back to a single lookup for a grade outside the preloaded set (e.g. another org's grade)
+	public SalaryBreakdown breakdownFor(Map<Long, SalaryBreakdown> breakdowns, Long gradeId) {
+		if (gradeId == null) {
+			return null;
+		}
+		return breakdowns.computeIfAbsent(gradeId, id -> salaryGradeRepository.findById(id)
+				.map(PayrollCalculator::compute)
+				.orElse(null));
+	}
+
+	public static String missingGradeMessage(PayeeGradeView payee, boolean employee) {
+		return "Salary grade missing for " + (employee ? "employee" : "Org Admin") + ": "
+				+ payee.getName() + " (ID: " + payee.getPayeeId() + ")";
+	}
+
+	// ================= PARALLEL PRICING =================
+
+	/**
+	 * Prices payees on the payroll pool, one task per department (or per fixed-size chunk).
+	 * Partial results are merged in a fixed partition order; BigDecimal addition is exact,
+	 * so the total is identical to the sequential path. Every missing-grade error is
+	 * collected instead of stopping at the first.
+	 * Must be called inside the caller's transaction: grades are resolved up front so
+	 * workers never touch JPA.
+	 */
+	public PricingResult priceInParallel(List<PayeeGradeView> payees, Map<Long, SalaryBreakdown> breakdowns,
+			boolean employee, String partitionBy, int chunkSize) {
+		payees.forEach(p -> breakdownFor(breakdowns, p.getGradeId()));
+
+		List<List<PayeeGradeView>> partitions = "CHUNK".equalsIgnoreCase(partitionBy)
+				? partitionByChunk(payees, chunkSize)
+				: partitionByDepartment(payees);
+
+		List<ForkJoinTask<PricingResult>> tasks = new ArrayList<>(partitions.size());
+		for (List<PayeeGradeView> partition : partitions) {
+			tasks.add(payrollForkJoinPool.submit(() -> price(partition, breakdowns, employee)));
+		}
+
+		List<PricedPayee> priced = new ArrayList<>(payees.size());
+		List<String> errors = new ArrayList<>();
+		BigDecimal total = BigDecimal.ZERO;
+		for (ForkJoinTask<PricingResult> task : tasks) {
+			PricingResult partial = task.join();
+			priced.addAll(partial.priced());
+			errors.addAll(partial.errors());
+			total = total.add(partial.total());
+		}
+
+		System.out.println("🧮 Priced " + priced.size() + " payee(s) across " + partitions.size()
+				+ " partition(s), " + errors.size() + " error(s)");
+		return new PricingResult(priced, total, errors);
+	}
+
+	private PricingResult price(List<PayeeGradeView> payees, Map<Long, SalaryBreakdown> breakdowns, boolean employee) {
+		List<PricedPayee> priced = new ArrayList<>(payees.size());
+		List<String> errors = new ArrayList<>();
+		BigDecimal total = BigDecimal.ZERO;
+
+		for (PayeeGradeView payee : payees) {
+			SalaryBreakdown breakdown = payee.getGradeId() != null ? breakdowns.get(payee.getGradeId()) : null;
+			if (breakdown == null) {
+				errors.add(missingGradeMessage(payee, employee));
+				continue;
+			}
+			priced.add(new PricedPayee(payee, breakdown));
+			total = total.add(breakdown.net());
+		}
+		return new PricingResult(priced, total, errors);
+	}
+
+	private List<List<PayeeGradeView>> partitionByDepartment(List<PayeeGradeView> payees) {
+		// TreeMap keeps partition order stable; payees without a department go last
+		Map<Long, List<PayeeGradeView>> byDepartment = new TreeMap<>(Comparator.nullsLast(Comparator.naturalOrder()));
+		for (PayeeGradeView payee : payees) {
+			byDepartment.computeIfAbsent(payee.getDepartmentId(), id -> new ArrayList<>()).add(payee);
+		}
+		return new ArrayList<>(byDepartment.values());
+	}
+
+	private List<List<PayeeGradeView>> partitionByChunk(List<PayeeGradeView> payees, int chunkSize) {
+		List<List<PayeeGradeView>> chunks = new ArrayList<>();
+		for (int from = 0; from < payees.size(); from += chunkSize) {
+			chunks.add(payees.subList(from, Math.min(from + chunkSize, payees.size())));
+		}
+		return chunks;
+	}
+
+	public static SalaryBreakdown compute(SalaryGrade grade) {
+		BigDecimal basic = grade.getBasicSalary() != null ? grade.getBasicSalary() : BigDecimal.ZERO;
+		BigDecimal hra = grade.getHra() != null ? grade.getHra() : BigDecimal.ZERO;
+		BigDecimal da = grade.getDa() != null ? grade.getDa() : BigDecimal.ZERO;
+		BigDecimal allowances = grade.getAllowances() != null ? grade.getAllowances() : BigDecimal.ZERO;
+		BigDecimal pf = grade.getPf() != null ? grade.getPf() : BigDecimal.ZERO;
+
+		BigDecimal gross = basic.add(hra).add(da).add(allowances);
+		BigDecimal deductions = pf;
+		BigDecimal net = gross.subtract(deductions);
+
+		return new SalaryBreakdown(gross, deductions, net);
+	}
+}
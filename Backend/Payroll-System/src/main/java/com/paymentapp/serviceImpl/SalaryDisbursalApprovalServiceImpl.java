@@ -1,21 +1,42 @@
 	package com.paymentapp.serviceImpl;
 	
 	import java.math.BigDecimal;
+	import java.time.Duration;
+	import java.time.Instant;
 	import java.util.ArrayList;
+	import java.util.LinkedHashMap;
 	import java.util.List;
+	import java.util.Map;
+	import java.util.Set;
+	import java.util.concurrent.CompletableFuture;
+	import java.util.concurrent.ConcurrentHashMap;
 	import java.util.stream.Collectors;
 	
+	import org.springframework.beans.factory.annotation.Value;
+	import org.springframework.boot.context.event.ApplicationReadyEvent;
+	import org.springframework.context.event.EventListener;
+	import org.springframework.core.task.TaskRejectedException;
+	import org.springframework.data.domain.Page;
+	import org.springframework.data.domain.PageRequest;
+	import org.springframework.data.domain.Pageable;
+	import org.springframework.data.domain.Sort;
+	import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 	import org.springframework.security.core.Authentication;
 	import org.springframework.security.core.context.SecurityContextHolder;
 	import org.springframework.stereotype.Service;
 	import org.springframework.transaction.annotation.Transactional;
+	import org.springframework.transaction.support.TransactionTemplate;
 	
 	import com.paymentapp.dto.SalaryDisbursalApprovalRequestDTO;
+	import com.paymentapp.dto.SalaryDisbursalBulkApprovalRequestDTO;
+	import com.paymentapp.dto.SalaryDisbursalBulkApprovalResultDTO;
 	import com.paymentapp.dto.SalaryDisbursalLineDTO;
+	import com.paymentapp.dto.SalaryDisbursalQueueView;
 	import com.paymentapp.dto.SalaryDisbursalRequestDTO;
 	import com.paymentapp.entity.*;
 	import com.paymentapp.repository.*;
 	import com.paymentapp.service.AuditLogService;
+	import com.paymentapp.service.BalanceService;
 	import com.paymentapp.service.NotificationService;
 	import com.paymentapp.service.SalaryDisbursalApprovalService;
 	
@@ -33,10 +54,24 @@
 	    private final SalaryDisbursalApprovalHistoryRepository approvalHistoryRepo;
 	    private final SalarySlipRepository salarySlipRepository;
 	    private final UserRepository userRepository;
+	    private final SalaryDisbursalLineRepository lineRepository;
 	    
 	    // ================= SERVICES =================
 	    private final AuditLogService auditLogService;
 	    private final NotificationService notificationService;
+	    private final BalanceService balanceService;
+
+	    private final TransactionTemplate transactionTemplate;
+	    private final ThreadPoolTaskExecutor disbursalJobExecutor;
+	    private final ThreadPoolTaskExecutor disbursalApprovalExecutor;
+
+	    private static final int DEFAULT_LINE_PAGE_SIZE = 200;
+	    private static final int MAX_PAGE_SIZE = 1000;
+	    private static final Set<String> QUEUE_SORT_FIELDS =
+	            Set.of("createdAt", "totalAmount", "period", "orgName", "lineCount", "disbursalId");
+
+	    @Value("${payroll.approval.chunk-size:500}")
+	    private int approvalChunkSize;
 	
 	    // ================= GET PENDING REQUESTS =================
 	    @Override
@@ -44,25 +79,48 @@
 	    public List<SalaryDisbursalRequestDTO> getPendingRequests() {
 	        System.out.println("📋 Fetching pending salary disbursal requests...");
 	        
-	        List<SalaryDisbursalRequest> requests = disbursalRequestRepo.findByStatus("PENDING");
+	        List<SalaryDisbursalQueueView> requests = disbursalRequestRepo
+	                .findQueueByStatus("PENDING", Pageable.unpaged(Sort.by("createdAt")))
+	                .getContent();
 	        
 	        System.out.println("✅ Found " + requests.size() + " pending requests");
 	        
 	        return requests.stream()
-	                .map(this::mapToDTO)
+	                .map(this::mapQueueRow)
 	                .collect(Collectors.toList());
 	    }
-	
+
+	    @Override
+	    @Transactional(readOnly = true)
+	    public Page<SalaryDisbursalRequestDTO> getPendingQueue(int page, int size, String sortBy, String direction) {
+	        String property = QUEUE_SORT_FIELDS.contains(sortBy) ? sortBy : "createdAt";
+	        Sort sort = Sort.by("desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC, property);
+	        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE), sort);
+
+	        return disbursalRequestRepo.findQueueByStatus("PENDING", pageable).map(this::mapQueueRow);
+	    }
+
 	    // ================= GET REQUEST DETAILS =================
 	    @Override
 	    @Transactional(readOnly = true)
 	    public SalaryDisbursalRequestDTO getRequestDetails(Long disbursalId) {
-	        System.out.println("🔍 Fetching details for disbursal ID: " + disbursalId);
+	        return getRequestDetails(disbursalId, 0, DEFAULT_LINE_PAGE_SIZE);
+	    }
+
+	    // Header plus one page of lines; large requests are never mapped in full
+	    @Override
+	    @Transactional(readOnly = true)
+	    public SalaryDisbursalRequestDTO getRequestDetails(Long disbursalId, int page, int size) {
+	        System.out.println("🔍 Fetching details for disbursal ID: " + disbursalId + " | Line page: " + page);
 	        
 	        SalaryDisbursalRequest request = disbursalRequestRepo.findById(disbursalId)
 	                .orElseThrow(() -> new RuntimeException("Salary disbursal request not found with ID: " + disbursalId));
+
+	        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+	                Sort.by("lineId"));
+	        Page<SalaryDisbursalLine> lines = lineRepository.findPageByDisbursalId(disbursalId, pageable);
 	        
-	        SalaryDisbursalRequestDTO dto = mapToDTO(request);
+	        SalaryDisbursalRequestDTO dto = mapToDTO(request, lines);
 	        
 	        System.out.println("✅ Retrieved request for " + dto.getOrgName() + 
 	                         " | Period: " + dto.getPeriod() + 
@@ -70,90 +128,203 @@
 	        
 	        return dto;
 	    }
-	
+
 	    // ================= PROCESS APPROVAL =================
+	    // Not @Transactional: the approval is a debit transaction followed by one transaction per line chunk
 	    @Override
-	    @Transactional
 	    public void processApproval(SalaryDisbursalApprovalRequestDTO approvalRequest) {
-	        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-	        String username = auth.getName();
-	
-	        User actingUser = userRepository.findByEmail(username)
-	                .orElseThrow(() -> new RuntimeException("Acting user not found"));
-	
-	        SalaryDisbursalRequest request = disbursalRequestRepo.findById(approvalRequest.getDisbursalRequestId())
-	                .orElseThrow(() -> new RuntimeException("Disbursal request not found with ID: " 
-	                        + approvalRequest.getDisbursalRequestId()));
-	
-	        if (!"PENDING".equalsIgnoreCase(request.getStatus())) {
-	            throw new RuntimeException("Request already processed with status: " + request.getStatus());
+	        User actingUser = resolveActingUser();
+	        processApproval(approvalRequest.getDisbursalRequestId(), approvalRequest.getAction(),
+	                approvalRequest.getComment(), actingUser, true);
+	    }
+
+	    // ================= BULK APPROVAL =================
+	    // Requests of one organization run in order on one worker; organizations run side by side
+	    @Override
+	    public List<SalaryDisbursalBulkApprovalResultDTO> processBulkApproval(SalaryDisbursalBulkApprovalRequestDTO bulkRequest) {
+	        String action = bulkRequest.getAction() != null ? bulkRequest.getAction().toUpperCase() : "";
+	        if (!"APPROVE".equals(action) && !"REJECT".equals(action)) {
+	            throw new RuntimeException("Invalid action: " + bulkRequest.getAction() + ". Valid actions are: APPROVE, REJECT");
 	        }
-	
-	        auditLogService.log(
-	                "PROCESS_APPROVAL_STARTED",
-	                "SalaryDisbursalRequest",
-	                request.getDisbursalId(),
-	                actingUser.getUserId(),
-	                actingUser.getEmail(),
-	                getFirstRole(actingUser)
-	        );
-	        
-	        System.out.println("🔄 Processing salary disbursal " + approvalRequest.getAction() + 
-	                         " for Organization: " + request.getOrganization().getOrgName() + 
-	                         " | Period: " + request.getPeriod() + 
-	                         " | Amount: ₹" + request.getTotalAmount());
-	
-	        String action = approvalRequest.getAction().toUpperCase();
-	
-	        switch (action) {
-	            case "APPROVE":
-	                approveRequest(request, actingUser, approvalRequest.getComment());
-	                auditLogService.log(
-	                        "APPROVED_SALARY_DISBURSAL",
-	                        "SalaryDisbursalRequest",
-	                        request.getDisbursalId(),
-	                        actingUser.getUserId(),
-	                        actingUser.getEmail(),
-	                        getFirstRole(actingUser)
-	                );
-	                break;
-	
-	            case "REJECT":
-	                rejectRequest(request, actingUser, approvalRequest.getComment());
-	                auditLogService.log(
-	                        "REJECTED_SALARY_DISBURSAL",
-	                        "SalaryDisbursalRequest",
-	                        request.getDisbursalId(),
-	                        actingUser.getUserId(),
-	                        actingUser.getEmail(),
-	                        getFirstRole(actingUser)
-	                );
-	                break;
-	
-	            default:
-	                auditLogService.log(
-	                        "INVALID_ACTION_ATTEMPTED",
-	                        "SalaryDisbursalRequest",
-	                        request.getDisbursalId(),
-	                        actingUser.getUserId(),
-	                        actingUser.getEmail(),
-	                        getFirstRole(actingUser)
-	                );
-	                throw new RuntimeException("Invalid action: " + approvalRequest.getAction() + 
-	                                         ". Valid actions are: APPROVE, REJECT");
+	        if (bulkRequest.getDisbursalRequestIds() == null || bulkRequest.getDisbursalRequestIds().isEmpty()) {
+	            throw new RuntimeException("No salary disbursal requests selected");
 	        }
+
+	        User actingUser = resolveActingUser();
+	        List<Long> ids = bulkRequest.getDisbursalRequestIds().stream().distinct().collect(Collectors.toList());
+
+	        Map<Long, Long> orgByRequest = transactionTemplate.execute(status ->
+	                disbursalRequestRepo.findAllById(ids).stream()
+	                        .collect(Collectors.toMap(SalaryDisbursalRequest::getDisbursalId,
+	                                r -> r.getOrganization().getOrgId())));
+
+	        Map<Long, SalaryDisbursalBulkApprovalResultDTO> results = new ConcurrentHashMap<>();
+	        Map<Long, List<Long>> idsByOrg = new LinkedHashMap<>();
+	        for (Long id : ids) {
+	            Long orgId = orgByRequest.get(id);
+	            if (orgId == null) {
+	                results.put(id, new SalaryDisbursalBulkApprovalResultDTO(id, null, false, null,
+	                        "Disbursal request not found with ID: " + id));
+	            } else {
+	                idsByOrg.computeIfAbsent(orgId, k -> new ArrayList<>()).add(id);
+	            }
+	        }
+
+	        System.out.println("📦 Bulk " + action + " of " + ids.size() + " request(s) across "
+	                + idsByOrg.size() + " organization(s)");
+
+	        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+	        for (Map.Entry<Long, List<Long>> group : idsByOrg.entrySet()) {
+	            tasks.add(CompletableFuture.runAsync(
+	                    () -> processOrganizationGroup(group.getKey(), group.getValue(), action,
+	                            bulkRequest.getComment(), actingUser, results),
+	                    disbursalApprovalExecutor));
+	        }
+	        CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+
+	        long succeeded = results.values().stream().filter(SalaryDisbursalBulkApprovalResultDTO::isSuccess).count();
+	        System.out.println("✅ Bulk " + action + " finished: " + succeeded + " succeeded, "
+	                + (ids.size() - succeeded) + " failed");
+
+	        return ids.stream().map(results::get).collect(Collectors.toList());
 	    }
-	
+
+	    private void processOrganizationGroup(Long orgId, List<Long> ids, String action, String comment,
+	                                          User actingUser, Map<Long, SalaryDisbursalBulkApprovalResultDTO> results) {
+	        List<Long> done = new ArrayList<>();
+	        for (Long id : ids) {
+	            try {
+	                String status = processApproval(id, action, comment, actingUser, false);
+	                results.put(id, new SalaryDisbursalBulkApprovalResultDTO(id, orgId, true, status, null));
+	                done.add(id);
+	            } catch (RuntimeException e) {
+	                System.err.println("❌ Bulk " + action + " failed for request " + id + ": " + e.getMessage());
+	                results.put(id, new SalaryDisbursalBulkApprovalResultDTO(id, orgId, false, null, e.getMessage()));
+	            }
+	        }
+
+	        if (!done.isEmpty()) {
+	            try {
+	                transactionTemplate.executeWithoutResult(status -> sendBulkNotification(orgId, done, action, comment));
+	            } catch (Exception e) {
+	                System.err.println("❌ Failed to send bulk notification to organization " + orgId + ": " + e.getMessage());
+	            }
+	        }
+	    }
+
+	    // Returns the status the request ends up in
+	    private String processApproval(Long disbursalId, String rawAction, String comment, User actingUser, boolean notify) {
+	        String action = rawAction != null ? rawAction.toUpperCase() : "";
+
+	        Boolean approving = transactionTemplate.execute(status -> {
+	            SalaryDisbursalRequest request = disbursalRequestRepo.findById(disbursalId)
+	                    .orElseThrow(() -> new RuntimeException("Disbursal request not found with ID: " 
+	                            + disbursalId));
+
+	            // An interrupted approval is picked up again from its checkpoint, without a second debit
+	            if ("PROCESSING".equalsIgnoreCase(request.getStatus()) && "APPROVE".equals(action)) {
+	                System.out.println("🔁 Resuming approval of request " + disbursalId
+	                        + " after line " + request.getApprovalLastLineId());
+	                return true;
+	            }
+
+	            if (!"PENDING".equalsIgnoreCase(request.getStatus())) {
+	                throw new RuntimeException("Request already processed with status: " + request.getStatus());
+	            }
+
+	            auditLogService.log(
+	                    "PROCESS_APPROVAL_STARTED",
+	                    "SalaryDisbursalRequest",
+	                    request.getDisbursalId(),
+	                    actingUser.getUserId(),
+	                    actingUser.getEmail(),
+	                    getFirstRole(actingUser)
+	            );
+	            
+	            System.out.println("🔄 Processing salary disbursal " + action + 
+	                             " for Organization: " + request.getOrganization().getOrgName() + 
+	                             " | Period: " + request.getPeriod() + 
+	                             " | Amount: ₹" + request.getTotalAmount());
+
+	            switch (action) {
+	                case "APPROVE":
+	                    startApproval(request, actingUser, comment);
+	                    return true;
+
+	                case "REJECT":
+	                    rejectRequest(request, actingUser, comment, notify);
+	                    auditLogService.log(
+	                            "REJECTED_SALARY_DISBURSAL",
+	                            "SalaryDisbursalRequest",
+	                            request.getDisbursalId(),
+	                            actingUser.getUserId(),
+	                            actingUser.getEmail(),
+	                            getFirstRole(actingUser)
+	                    );
+	                    return false;
+
+	                default:
+	                    auditLogService.log(
+	                            "INVALID_ACTION_ATTEMPTED",
+	                            "SalaryDisbursalRequest",
+	                            request.getDisbursalId(),
+	                            actingUser.getUserId(),
+	                            actingUser.getEmail(),
+	                            getFirstRole(actingUser)
+	                    );
+	                    throw new RuntimeException("Invalid action: " + rawAction + 
+	                                             ". Valid actions are: APPROVE, REJECT");
+	            }
+	        });
+
+	        if (Boolean.TRUE.equals(approving)) {
+	            runApproval(disbursalId, notify);
+	            return "APPROVED";
+	        }
+	        return "REJECTED";
+	    }
+
+	    private User resolveActingUser() {
+	        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+	        return userRepository.findByEmail(auth.getName())
+	                .orElseThrow(() -> new RuntimeException("Acting user not found"));
+	    }
+
 	    // ================= APPROVE REQUEST =================
-	    private void approveRequest(SalaryDisbursalRequest request, User actingUser, String comment) {
+	    // Runs in its own transaction: checks, debits the organization once and flips the
+	    // request to PROCESSING. Lines are then settled chunk by chunk by runApproval.
+	    private void startApproval(SalaryDisbursalRequest request, User actingUser, String comment) {
 	        Organization org = request.getOrganization();
 	        BigDecimal totalAmount = request.getTotalAmount();
-	
+
 	        System.out.println("💰 Organization: " + org.getOrgName());
 	        System.out.println("💰 Current Balance: ₹" + org.getAccountBalance());
 	        System.out.println("💰 Required Amount: ₹" + totalAmount);
-	
-	        if (org.getAccountBalance() == null || org.getAccountBalance().compareTo(totalAmount) < 0) {
+
+	        long linesWithoutUser = lineRepository.countLinesWithoutUser(request.getDisbursalId());
+	        if (linesWithoutUser > 0) {
+	            String error = linesWithoutUser + " line(s) of request " + request.getDisbursalId() + " have no user account";
+	            System.err.println("❌ " + error);
+
+	            auditLogService.log(
+	                    "USER_MISSING_FOR_LINE",
+	                    "SalaryDisbursalRequest",
+	                    request.getDisbursalId(),
+	                    actingUser.getUserId(),
+	                    actingUser.getEmail(),
+	                    getFirstRole(actingUser)
+	            );
+	            throw new RuntimeException(error);
+	        }
+
+	        // Only the caller that moves PENDING -> PROCESSING may debit; a concurrent approval gets 0 here
+	        int claimed = disbursalRequestRepo.markProcessing(request.getDisbursalId(), actingUser.getUserId(), comment);
+	        if (claimed == 0) {
+	            throw new RuntimeException("Request is already being processed");
+	        }
+
+	        // Conditional debit; failing here rolls the claim back and leaves the request PENDING
+	        if (!balanceService.debitOrganization(org, totalAmount)) {
 	            BigDecimal currentBalance = org.getAccountBalance() != null ? 
 	                                       org.getAccountBalance() : BigDecimal.ZERO;
 	            BigDecimal shortfall = totalAmount.subtract(currentBalance);
@@ -179,11 +350,8 @@
 	            
 	            throw new RuntimeException(errorMsg);
 	        }
-	
-	        BigDecimal newOrgBalance = org.getAccountBalance().subtract(totalAmount);
-	        org.setAccountBalance(newOrgBalance);
-	        organizationRepository.save(org);
-	        
+
+	        BigDecimal newOrgBalance = org.getAccountBalance();
 	        System.out.println("💰 New Organization Balance: ₹" + newOrgBalance);
 	        
 	        auditLogService.log(
@@ -194,75 +362,89 @@
 	                actingUser.getEmail(),
 	                getFirstRole(actingUser)
 	        );
-	
-	        int processedCount = 0;
-	        for (SalaryDisbursalLine line : request.getLines()) {
-	            User user = null;
-	            Employee emp = line.getEmployee();
-	            OrgAdmin orgAdmin = line.getOrgAdmin();
-	            String recipientName = "";
-	            String recipientType = "";
-	
-	            if (emp != null) {
-	                user = emp.getUser();
-	                recipientName = emp.getEmpName();
-	                recipientType = "Employee";
-	            } else if (orgAdmin != null) {
-	                user = orgAdmin.getUser();
-	                recipientName = orgAdmin.getName();
-	                recipientType = "Org Admin";
-	            }
-	
+	    }
+
+	    // Settles the remaining lines one committed chunk at a time, then finalizes the request
+	    private void runApproval(Long disbursalId, boolean notify) {
+	        int chunks = 0;
+	        while (Boolean.TRUE.equals(transactionTemplate.execute(status -> approveNextChunk(disbursalId)))) {
+	            chunks++;
+	        }
+	        transactionTemplate.executeWithoutResult(status -> completeApproval(disbursalId, notify));
+	        System.out.println("📦 Approval of request " + disbursalId + " settled in " + chunks + " chunk(s)");
+	    }
+
+	    // Returns false once no line is left past the checkpoint
+	    private Boolean approveNextChunk(Long disbursalId) {
+	        SalaryDisbursalRequest request = disbursalRequestRepo.findByIdForUpdate(disbursalId)
+	                .orElseThrow(() -> new RuntimeException("Disbursal request not found with ID: " + disbursalId));
+	        if (!"PROCESSING".equals(request.getStatus())) {
+	            return false;
+	        }
+
+	        Long after = request.getApprovalLastLineId() != null ? request.getApprovalLastLineId() : 0L;
+	        List<SalaryDisbursalLine> lines = lineRepository.findApprovalChunk(disbursalId, after,
+	                PageRequest.of(0, approvalChunkSize));
+	        if (lines.isEmpty()) {
+	            return false;
+	        }
+
+	        User actingUser = userRepository.findById(request.getApprovalActorUserId())
+	                .orElseThrow(() -> new RuntimeException("Acting user not found"));
+	        String actingRole = getFirstRole(actingUser);
+
+	        for (SalaryDisbursalLine line : lines) {
+	            User user = line.getEmployee() != null ? line.getEmployee().getUser()
+	                    : line.getOrgAdmin() != null ? line.getOrgAdmin().getUser() : null;
 	            if (user == null) {
-	                String error = "No user found for " + recipientType + " in line ID: " + line.getLineId();
-	                System.err.println("❌ " + error);
-	                
-	                auditLogService.log(
-	                        "USER_MISSING_FOR_LINE",
-	                        "SalaryDisbursalLine",
-	                        line.getLineId(),
-	                        actingUser.getUserId(),
-	                        actingUser.getEmail(),
-	                        getFirstRole(actingUser)
-	                );
-	                throw new RuntimeException(error);
+	                throw new RuntimeException("No user found for line ID: " + line.getLineId());
 	            }
-	//
-	//            BigDecimal currentBalance;
-	//            BigDecimal newBalance;
-	//            
-	//            if (emp != null) {
-	//                currentBalance = emp.getBalance() != null ? emp.getBalance() : BigDecimal.ZERO;
-	//                newBalance = currentBalance.add(line.getNetAmount());
-	//                emp.setBalance(newBalance);
-	//                employeeRepository.save(emp);
-	//            } else {
-	//                currentBalance = orgAdmin.getBalance() != null ? orgAdmin.getBalance() : BigDecimal.ZERO;
-	//                newBalance = currentBalance.add(line.getNetAmount());
-	//                orgAdmin.setBalance(newBalance);
-	//                orgAdminRepository.save(orgAdmin);
-	//            }
-	
-	            line.setStatus("PAID");
-	            
-	            processedCount++;
-	//            System.out.println("✅ Paid " + recipientType + ": " + recipientName + 
-	//                             " | ₹" + line.getNetAmount() + 
-	//                             " | New Balance: ₹" + newBalance);
-	
+
 	            auditLogService.log(
 	                    "BALANCE_UPDATED_FOR_USER",
 	                    "User",
 	                    user.getUserId(),
 	                    actingUser.getUserId(),
 	                    actingUser.getEmail(),
-	                    getFirstRole(actingUser)
+	                    actingRole
+	            );
+
+	            auditLogService.log(
+	                    "SALARY_SLIP_CREATED",
+	                    "SalarySlip",
+	                    line.getLineId(),
+	                    actingUser.getUserId(),
+	                    actingUser.getEmail(),
+	                    actingRole
 	            );
 	        }
-	
+
+	        Long last = lines.get(lines.size() - 1).getLineId();
+	        lineRepository.markPaid(disbursalId, after, last);
+	        int slipsCreated = salarySlipRepository.insertMissingSlips(disbursalId, after, last, Instant.now());
+
+	        request.setApprovalLastLineId(last);
+	        request.setApprovalProcessedLines(request.getApprovalProcessedLines() + lines.size());
+
+	        System.out.println("✅ Request " + disbursalId + ": paid " + request.getApprovalProcessedLines()
+	                + " line(s) so far (checkpoint line " + last + "), " + slipsCreated + " slip(s) in this chunk");
+	        return true;
+	    }
+
+	    private void completeApproval(Long disbursalId, boolean notify) {
+	        SalaryDisbursalRequest request = disbursalRequestRepo.findByIdForUpdate(disbursalId)
+	                .orElseThrow(() -> new RuntimeException("Disbursal request not found with ID: " + disbursalId));
+	        if (!"PROCESSING".equals(request.getStatus())) {
+	            return;
+	        }
+
+	        User actingUser = userRepository.findById(request.getApprovalActorUserId())
+	                .orElseThrow(() -> new RuntimeException("Acting user not found"));
+	        String comment = request.getApprovalComment();
+
 	        request.setStatus("APPROVED");
 	        disbursalRequestRepo.save(request);
-	
+
 	        SalaryDisbursalApprovalHistory history = new SalaryDisbursalApprovalHistory();
 	        history.setAction("APPROVED");
 	        history.setComment(comment != null && !comment.isEmpty() ? 
@@ -270,7 +452,7 @@
 	        history.setActedBy(actingUser);
 	        history.setDisbursal(request);
 	        approvalHistoryRepo.save(history);
-	
+
 	        auditLogService.log(
 	                "APPROVAL_HISTORY_SAVED",
 	                "SalaryDisbursalApprovalHistory",
@@ -279,34 +461,49 @@
 	                actingUser.getEmail(),
 	                getFirstRole(actingUser)
 	        );
-	
-	        int slipsCreated = 0;
-	        for (SalaryDisbursalLine line : request.getLines()) {
-	            if ("PAID".equalsIgnoreCase(line.getStatus())) {
-	                createSalarySlip(line, request.getPeriod());
-	                slipsCreated++;
-	
-	                auditLogService.log(
-	                        "SALARY_SLIP_CREATED",
-	                        "SalarySlip",
-	                        line.getLineId(),
-	                        actingUser.getUserId(),
-	                        actingUser.getEmail(),
-	                        getFirstRole(actingUser)
-	                );
-	            }
+
+	        auditLogService.log(
+	                "APPROVED_SALARY_DISBURSAL",
+	                "SalaryDisbursalRequest",
+	                request.getDisbursalId(),
+	                actingUser.getUserId(),
+	                actingUser.getEmail(),
+	                getFirstRole(actingUser)
+	        );
+
+	        System.out.println("📄 Created " + request.getApprovalProcessedLines() + " salary slips");
+
+	        if (notify) {
+	            sendApprovalNotification(request, comment);
 	        }
 	        
-	        System.out.println("📄 Created " + slipsCreated + " salary slips");
-	
-	        sendApprovalNotification(request, comment);
-	        
-	        System.out.println("✅ Salary disbursal APPROVED for " + org.getOrgName() + 
-	                         " | Processed: " + processedCount + " people | Amount: ₹" + totalAmount);
+	        System.out.println("✅ Salary disbursal APPROVED for " + request.getOrganization().getOrgName() + 
+	                         " | Processed: " + request.getApprovalProcessedLines() + " people | Amount: ₹" + request.getTotalAmount());
 	    }
-	
+
+	    // ================= RESUME AFTER RESTART =================
+	    @EventListener(ApplicationReadyEvent.class)
+	    public void resumeInterruptedApprovals() {
+	        for (SalaryDisbursalRequest request : disbursalRequestRepo.findByStatus("PROCESSING")) {
+	            Long disbursalId = request.getDisbursalId();
+	            System.out.println("🔁 Resuming approval of request " + disbursalId
+	                    + " after line " + request.getApprovalLastLineId());
+	            try {
+	                disbursalJobExecutor.execute(() -> {
+	                    try {
+	                        runApproval(disbursalId, true);
+	                    } catch (Exception e) {
+	                        System.err.println("❌ Resumed approval of request " + disbursalId + " failed: " + e.getMessage());
+	                    }
+	                });
+	            } catch (TaskRejectedException e) {
+	                System.err.println("⚠️ Could not resume approval of request " + disbursalId + ": queue is full");
+	            }
+	        }
+	    }
+
 	    // ================= REJECT REQUEST =================
-	    private void rejectRequest(SalaryDisbursalRequest request, User actingUser, String comment) {
+	    private void rejectRequest(SalaryDisbursalRequest request, User actingUser, String comment, boolean notify) {
 	        System.out.println("❌ Rejecting salary disbursal for " + request.getOrganization().getOrgName() + 
 	                         " | Period: " + request.getPeriod() + 
 	                         " | Reason: " + (comment != null ? comment : "No reason provided"));
@@ -340,26 +537,11 @@
 	                getFirstRole(actingUser)
 	        );
 	
-	        sendRejectionNotification(request, comment);
-	        
-	        System.out.println("✅ Rejection notification sent to organization admins");
-	    }
-	
-	    // ================= CREATE SALARY SLIP =================
-	    private void createSalarySlip(SalaryDisbursalLine line, String period) {
-	        SalarySlip.SalarySlipBuilder slipBuilder = SalarySlip.builder()
-	                .period(period)
-	                .disbursal(line.getDisbursalRequest())
-	                .netAmount(line.getNetAmount());
-	
-	        if (line.getEmployee() != null) {
-	            slipBuilder.employee(line.getEmployee());
-	        } else if (line.getOrgAdmin() != null) {
-	            slipBuilder.orgAdmin(line.getOrgAdmin());
+	        if (notify) {
+	            sendRejectionNotification(request, comment);
+	            
+	            System.out.println("✅ Rejection notification sent to organization admins");
 	        }
-	
-	        SalarySlip slip = slipBuilder.build();
-	        salarySlipRepository.save(slip);
 	    }
 	
 	    // ================= SEND APPROVAL NOTIFICATION =================
@@ -407,7 +589,7 @@
 	            "• Salary slips are now available for download\n\n" +
 	            "%s",
 	            request.getPeriod(),
-	            request.getLines().size(),
+	            lineRepository.countByDisbursalRequest_DisbursalId(request.getDisbursalId()),
 	            request.getTotalAmount(),
 	            comment != null && !comment.isEmpty() ? 
 	                "💬 Bank Admin Comment: " + comment : ""
@@ -498,8 +680,69 @@
 	
 	   
 	
+	    // ================= SEND BULK NOTIFICATION =================
+	    // One summary per organization instead of one notification per request
+	    private void sendBulkNotification(Long orgId, List<Long> disbursalIds, String action, String comment) {
+	        Organization org = organizationRepository.findById(orgId)
+	                .orElseThrow(() -> new RuntimeException("Organization not found with ID: " + orgId));
+
+	        List<User> orgUsers = org.getUsers();
+	        if (orgUsers == null || orgUsers.isEmpty()) {
+	            System.err.println("❌ ERROR: Organization '" + org.getOrgName() + "' has NO users!");
+	            return;
+	        }
+
+	        User orgUser = orgUsers.stream()
+	                .filter(u -> u.getRoles() != null && u.getRoles().stream()
+	                        .anyMatch(r -> "ROLE_ORGANIZATION".equals(r.getRoleName())))
+	                .findFirst()
+	                .orElse(orgUsers.get(0));
+
+	        List<SalaryDisbursalRequest> requests = disbursalRequestRepo.findAllById(disbursalIds);
+	        String summary = requests.stream()
+	                .map(r -> "• " + r.getPeriod() + ": ₹" + r.getTotalAmount())
+	                .collect(Collectors.joining("\n"));
+
+	        boolean approved = "APPROVE".equals(action);
+	        String title = approved
+	                ? "✅ " + requests.size() + " Salary Request(s) Approved"
+	                : "❌ " + requests.size() + " Salary Request(s) Rejected";
+	        String message = (approved
+	                ? "The following salary disbursal requests have been approved by Bank Admin. Salary slips are now available for download.\n\n"
+	                : "The following salary disbursal requests have been rejected by Bank Admin.\n\n")
+	                + summary
+	                + (comment != null && !comment.isEmpty() ? "\n\n💬 Bank Admin Comment: " + comment : "");
+
+	        notificationService.createInAppNotification(
+	            orgUser,
+	            title,
+	            message,
+	            requests.size() == 1 ? requests.get(0).getDisbursalId() : null,
+	            "SALARY_DISBURSAL",
+	            "HIGH"
+	        );
+
+	        System.out.println("🔔 Bulk notification sent to " + orgUser.getEmail() + " for " + requests.size() + " request(s)");
+	    }
+
 	    // ================= MAP TO DTO =================
-	    private SalaryDisbursalRequestDTO mapToDTO(SalaryDisbursalRequest request) {
+	    private SalaryDisbursalRequestDTO mapQueueRow(SalaryDisbursalQueueView row) {
+	        SalaryDisbursalRequestDTO dto = new SalaryDisbursalRequestDTO();
+	        dto.setDisbursalId(row.getDisbursalId());
+	        dto.setOrgId(row.getOrgId());
+	        dto.setOrgName(row.getOrgName());
+	        dto.setPeriod(row.getPeriod());
+	        dto.setStatus(row.getStatus());
+	        dto.setTotalAmount(row.getTotalAmount());
+	        dto.setCreatedAt(row.getCreatedAt());
+	        dto.setLineCount(row.getLineCount() != null ? row.getLineCount().intValue() : 0);
+	        if (row.getCreatedAt() != null) {
+	            dto.setAgeMinutes(Duration.between(row.getCreatedAt(), Instant.now()).toMinutes());
+	        }
+	        return dto;
+	    }
+
+	    private SalaryDisbursalRequestDTO mapToDTO(SalaryDisbursalRequest request, Page<SalaryDisbursalLine> lines) {
 	        SalaryDisbursalRequestDTO dto = new SalaryDisbursalRequestDTO();
 	        dto.setDisbursalId(request.getDisbursalId());
 	        dto.setOrgId(request.getOrganization().getOrgId());
@@ -509,12 +752,15 @@
 	        dto.setTotalAmount(request.getTotalAmount());
 	        dto.setRemarks(request.getRemarks());
 	        dto.setCreatedAt(request.getCreatedAt());
-	
+	        dto.setLineCount((int) lines.getTotalElements());
+	        dto.setLinePage(lines.getNumber());
+	        dto.setLinePageSize(lines.getSize());
+
 	        List<SalaryDisbursalLineDTO> lineDTOs = new ArrayList<>();
-	        for (SalaryDisbursalLine line : request.getLines()) {
+	        for (SalaryDisbursalLine line : lines.getContent()) {
 	            SalaryDisbursalLineDTO lineDTO = new SalaryDisbursalLineDTO();
 	            lineDTO.setLineId(line.getLineId());
-	
+
 	            if (line.getEmployee() != null) {
 	                lineDTO.setEmployeeName(line.getEmployee().getEmpName());
 	                lineDTO.setEmployeeEmail(line.getEmployee().getEmpEmail());
@@ -522,19 +768,19 @@
 	                lineDTO.setEmployeeName(line.getOrgAdmin().getName());
 	                lineDTO.setEmployeeEmail(line.getOrgAdmin().getEmail());
 	            }
-	
+
 	            lineDTO.setGrossSalary(line.getGrossSalary());
 	            lineDTO.setDeductions(line.getDeductions());
 	            lineDTO.setNetAmount(line.getNetAmount());
 	            lineDTO.setStatus(line.getStatus());
-	
+
 	            lineDTOs.add(lineDTO);
 	        }
-	
+
 	        dto.setLines(lineDTOs);
 	        return dto;
 	    }
-	
+
 	    // ================= UTILITY =================
 	    private String getFirstRole(User user) {
 	        return user.getRoles().stream()
@@ -0,0 +1,304 @@
+package com.paymentapp.serviceImpl;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentapp.dto.SalaryDisbursalJobDTO;
+import com.paymentapp.dto.SalaryDisbursalPaymentGroupDTO;
+import com.paymentapp.dto.SalaryDisbursalRequestCreateDTO;
+import com.paymentapp.entity.Organization;
+import com.paymentapp.entity.SalaryDisbursalJob;
+import com.paymentapp.entity.SalaryDisbursalRequest;
+import com.paymentapp.entity.User;
+import com.paymentapp.exception.DuplicatePayrollException;
+import com.paymentapp.exception.ResourceNotFoundException;
+import com.paymentapp.repository.OrganizationRepository;
+import com.paymentapp.repository.SalaryDisbursalJobRepository;
+import com.paymentapp.repository.SalaryDisbursalLineRepository;
+import com.paymentapp.repository.SalaryDisbursalRequestRepository;
+import com.paymentapp.repository.UserRepository;
+import com.paymentapp.service.AuditLogService;
+import com.paymentapp.service.SalaryDisbursalJobService;
+import com.paymentapp.serviceImpl.PayrollCalculator.SalaryBreakdown;
+import com.paymentapp.serviceImpl.SalaryDisbursalLineWriter.ChunkResult;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Asynchronous disbursal creation. The HTTP call only validates the selection,
+ * writes a BUILDING request header plus a job row and returns; a background
+ * worker then writes lines one chunk per transaction and advances the job
+ * checkpoint in that same transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class SalaryDisbursalJobServiceImpl implements SalaryDisbursalJobService {
+
+    private final SalaryDisbursalJobRepository jobRepository;
+    private final SalaryDisbursalRequestRepository disbursalRequestRepo;
+    private final SalaryDisbursalLineRepository lineRepository;
+    private final OrganizationRepository organizationRepository;
+    private final UserRepository userRepository;
+    private final AuditLogService auditLogService;
+    private final PayrollCalculator payrollCalculator;
+    private final SalaryDisbursalLineWriter lineWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor disbursalJobExecutor;
+    private final ObjectMapper objectMapper;
+
+    @Value("${payroll.disbursal.chunk-size:500}")
+    private int chunkSize;
+
+    // ================= SUBMIT =================
+    @Override
+    public SalaryDisbursalJobDTO submitJob(SalaryDisbursalRequestCreateDTO dto) {
+        int totalPayees = validatePayments(dto);
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        User user = userRepository.findByEmail(auth.getName())
+                .orElseThrow(() -> new RuntimeException("User not found for audit logging"));
+        String role = user.getRoles().stream().findFirst().map(r -> r.getRoleName()).orElse("UNKNOWN");
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize disbursal request: " + e.getMessage());
+        }
+
+        SalaryDisbursalJob job = transactionTemplate.execute(status -> {
+            Organization org = organizationRepository.findById(dto.getOrgId())
+                    .orElseThrow(() -> new RuntimeException("Organization not found with ID: " + dto.getOrgId()));
+
+            List<SalaryDisbursalRequest> existing = disbursalRequestRepo.findActiveForPeriod(dto.getOrgId(), dto.getPeriod());
+            if (!existing.isEmpty()) {
+                throw new DuplicatePayrollException(dto.getPeriod(), existing.get(0).getStatus());
+            }
+
+            SalaryDisbursalRequest header = new SalaryDisbursalRequest();
+            header.setOrganization(org);
+            header.setPeriod(dto.getPeriod());
+            header.setStatus("BUILDING");
+            header.setRemarks(dto.getRemarks());
+            header.setTotalAmount(BigDecimal.ZERO);
+            header = disbursalRequestRepo.save(header);
+
+            SalaryDisbursalJob newJob = new SalaryDisbursalJob();
+            newJob.setOrganization(org);
+            newJob.setDisbursalId(header.getDisbursalId());
+            newJob.setPeriod(dto.getPeriod());
+            newJob.setStatus("QUEUED");
+            newJob.setPayload(payload);
+            newJob.setTotalPayees(totalPayees);
+            newJob.setRequestedByUserId(user.getUserId());
+            newJob.setRequestedByEmail(user.getEmail());
+            newJob.setRequestedByRole(role);
+            return jobRepository.save(newJob);
+        });
+
+        System.out.println("📥 Queued disbursal job " + job.getJobId() + " for " + totalPayees
+                + " payee(s), request ID " + job.getDisbursalId());
+
+        try {
+            Long jobId = job.getJobId();
+            disbursalJobExecutor.execute(() -> runJob(jobId));
+        } catch (TaskRejectedException e) {
+            failJob(job.getJobId(), "Job queue is full");
+            throw new RuntimeException("Too many disbursal jobs in progress, please retry shortly");
+        }
+
+        return mapToDTO(job);
+    }
+
+    // ================= STATUS =================
+    @Override
+    public SalaryDisbursalJobDTO getJobStatus(Long jobId, User performingUser) {
+        // Another organization's job is reported as missing, so job ids cannot be probed
+        SalaryDisbursalJob job = jobRepository.findById(jobId)
+                .filter(j -> performingUser.getOrganization() != null
+                        && performingUser.getOrganization().getOrgId().equals(j.getOrganization().getOrgId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Disbursal job not found with ID: " + jobId));
+        return mapToDTO(job);
+    }
+
+    // ================= RESUME AFTER RESTART =================
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        List<SalaryDisbursalJob> pending = jobRepository.findByStatusIn(List.of("QUEUED", "RUNNING"));
+        for (SalaryDisbursalJob job : pending) {
+            System.out.println("🔁 Resuming disbursal job " + job.getJobId() + " at group "
+                    + job.getNextGroupIndex() + ", offset " + job.getNextOffset());
+            Long jobId = job.getJobId();
+            try {
+                disbursalJobExecutor.execute(() -> runJob(jobId));
+            } catch (TaskRejectedException e) {
+                System.err.println("⚠️ Could not resume disbursal job " + jobId + ": queue is full");
+            }
+        }
+    }
+
+    // ================= WORKER =================
+    void runJob(Long jobId) {
+        try {
+            SalaryDisbursalJob job = transactionTemplate.execute(status -> {
+                SalaryDisbursalJob j = jobRepository.findById(jobId).orElse(null);
+                if (j == null || "COMPLETED".equals(j.getStatus()) || "FAILED".equals(j.getStatus())) {
+                    return null;
+                }
+                j.setStatus("RUNNING");
+                return j;
+            });
+            if (job == null) {
+                return;
+            }
+
+            SalaryDisbursalRequestCreateDTO payload = objectMapper.readValue(job.getPayload(),
+                    SalaryDisbursalRequestCreateDTO.class);
+            Long orgId = payload.getOrgId();
+            Map<Long, SalaryBreakdown> breakdowns = transactionTemplate.execute(
+                    status -> payrollCalculator.loadGradeBreakdowns(orgId));
+
+            while (Boolean.TRUE.equals(transactionTemplate.execute(status -> processNextChunk(jobId, payload, breakdowns)))) {
+                // one committed chunk per iteration
+            }
+
+            transactionTemplate.executeWithoutResult(status -> completeJob(jobId));
+
+        } catch (Exception e) {
+            System.err.println("❌ Disbursal job " + jobId + " failed: " + e.getMessage());
+            failJob(jobId, e.getMessage());
+        }
+    }
+
+    // Returns false once every payment group has been consumed
+    private Boolean processNextChunk(Long jobId, SalaryDisbursalRequestCreateDTO payload,
+                                     Map<Long, SalaryBreakdown> breakdowns) {
+        SalaryDisbursalJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Disbursal job not found with ID: " + jobId));
+
+        int groupIndex = job.getNextGroupIndex();
+        int offset = job.getNextOffset();
+        Long disbursalId = job.getDisbursalId();
+
+        if (groupIndex >= payload.getPayments().size()) {
+            return false;
+        }
+
+        SalaryDisbursalPaymentGroupDTO group = payload.getPayments().get(groupIndex);
+        List<Long> ids = group.getIds() != null ? group.getIds() : List.of();
+        if (offset >= ids.size()) {
+            job.setNextGroupIndex(groupIndex + 1);
+            job.setNextOffset(0);
+            return true;
+        }
+
+        boolean employees = "ROLE_EMPLOYEE".equalsIgnoreCase(group.getType());
+        List<Long> chunkIds = ids.subList(offset, Math.min(offset + chunkSize, ids.size()));
+
+        // The writer clears the persistence context, so the job row is re-read afterwards
+        ChunkResult chunk = lineWriter.priceAndWrite(disbursalId, employees, chunkIds, breakdowns);
+
+        job = jobRepository.findById(jobId).orElseThrow();
+        job.setNextOffset(offset + chunkIds.size());
+        job.setLinesComputed(job.getLinesComputed() + chunkIds.size());
+        job.setLinesPersisted(job.getLinesPersisted() + chunk.lineCount());
+        job.setRunningTotal(job.getRunningTotal().add(chunk.totalNet()));
+        if (employees) {
+            job.setEmployeeCount(job.getEmployeeCount() + chunk.lineCount());
+        } else {
+            job.setOrgAdminCount(job.getOrgAdminCount() + chunk.lineCount());
+        }
+        return true;
+    }
+
+    private void completeJob(Long jobId) {
+        SalaryDisbursalJob job = jobRepository.findById(jobId).orElseThrow();
+        if (job.getLinesPersisted() == 0) {
+            throw new RuntimeException("No employees or admins selected for salary disbursal");
+        }
+
+        SalaryDisbursalRequest request = disbursalRequestRepo.findById(job.getDisbursalId())
+                .orElseThrow(() -> new RuntimeException("Salary disbursal request not found with ID: " + job.getDisbursalId()));
+        request.setTotalAmount(job.getRunningTotal());
+        request.setStatus("PENDING");
+
+        job.setStatus("COMPLETED");
+
+        auditLogService.log(
+                "CREATED_SALARY_DISBURSAL",
+                "SalaryDisbursalRequest",
+                request.getDisbursalId(),
+                job.getRequestedByUserId(),
+                job.getRequestedByEmail(),
+                job.getRequestedByRole()
+        );
+
+        System.out.println("✅ Disbursal job " + jobId + " completed: " + job.getLinesPersisted()
+                + " line(s), total ₹" + job.getRunningTotal());
+    }
+
+    // Drops the partially built request so the period is free again; the job row keeps the error
+    private void failJob(Long jobId, String error) {
+        transactionTemplate.executeWithoutResult(status -> {
+            SalaryDisbursalJob job = jobRepository.findById(jobId).orElse(null);
+            if (job == null) {
+                return;
+            }
+            if (job.getDisbursalId() != null) {
+                lineRepository.deleteByDisbursalId(job.getDisbursalId());
+                disbursalRequestRepo.deleteById(job.getDisbursalId());
+            }
+            job.setStatus("FAILED");
+            job.setErrorMessage(error != null && error.length() > 2000 ? error.substring(0, 2000) : error);
+        });
+    }
+
+    // ================= UTILITY =================
+    private int validatePayments(SalaryDisbursalRequestCreateDTO dto) {
+        if (dto.getPayments() == null || dto.getPayments().isEmpty()) {
+            throw new RuntimeException("No employees or admins selected for salary disbursal");
+        }
+        int total = 0;
+        for (SalaryDisbursalPaymentGroupDTO group : dto.getPayments()) {
+            if (!"ROLE_EMPLOYEE".equalsIgnoreCase(group.getType())
+                    && !"ROLE_ORG_ADMIN".equalsIgnoreCase(group.getType())) {
+                throw new RuntimeException("Unsupported payment type: " + group.getType());
+            }
+            total += group.getIds() != null ? group.getIds().size() : 0;
+        }
+        if (total == 0) {
+            throw new RuntimeException("No employees or admins selected for salary disbursal");
+        }
+        return total;
+    }
+
+    private SalaryDisbursalJobDTO mapToDTO(SalaryDisbursalJob job) {
+        SalaryDisbursalJobDTO dto = new SalaryDisbursalJobDTO();
+        dto.setJobId(job.getJobId());
+        dto.setOrgId(job.getOrganization().getOrgId());
+        dto.setDisbursalId(job.getDisbursalId());
+        dto.setPeriod(job.getPeriod());
+        dto.setStatus(job.getStatus());
+        dto.setTotalPayees(job.getTotalPayees());
+        dto.setLinesComputed(job.getLinesComputed());
+        dto.setLinesPersisted(job.getLinesPersisted());
+        dto.setRunningTotal(job.getRunningTotal());
+        dto.setErrorMessage(job.getErrorMessage());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setUpdatedAt(job.getUpdatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,105 @@
+package com.paymentapp.serviceImpl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.paymentapp.dto.PayeeGradeView;
+import com.paymentapp.entity.Employee;
+import com.paymentapp.entity.OrgAdmin;
+import com.paymentapp.entity.SalaryDisbursalLine;
+import com.paymentapp.entity.SalaryDisbursalRequest;
+import com.paymentapp.repository.EmployeeRepository;
+import com.paymentapp.repository.OrgAdminRepository;
+import com.paymentapp.repository.SalaryDisbursalLineRepository;
+import com.paymentapp.serviceImpl.PayrollCalculator.PricedPayee;
+import com.paymentapp.serviceImpl.PayrollCalculator.SalaryBreakdown;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Prices and writes one chunk of salary disbursal lines inside the caller's transaction.
+ * Each chunk is batch-inserted, flushed and cleared so the persistence context stays small.
+ */
+@Component
+@RequiredArgsConstructor
+public class SalaryDisbursalLineWriter {
+
+    private final EmployeeRepository employeeRepository;
+    private final OrgAdminRepository orgAdminRepository;
+    private final SalaryDisbursalLineRepository lineRepository;
+    private final PayrollCalculator payrollCalculator;
+    private final EntityManager entityManager;
+
+    public record ChunkResult(int lineCount, BigDecimal totalNet) {
+    }
+
+    public List<PayeeGradeView> loadPayees(boolean employees, List<Long> ids) {
+        return employees
+                ? employeeRepository.findPayeeGradesByIdIn(ids)
+                : orgAdminRepository.findPayeeGradesByIdIn(ids);
+    }
+
+    // ✅ Sequential chunk: fails on the first payee without a salary grade
+    public ChunkResult priceAndWrite(Long requestId, boolean employees, List<Long> chunkIds,
+                                     Map<Long, SalaryBreakdown> breakdowns) {
+        List<PayeeGradeView> payees = loadPayees(employees, chunkIds);
+        SalaryDisbursalRequest requestRef = entityManager.getReference(SalaryDisbursalRequest.class, requestId);
+        List<SalaryDisbursalLine> lines = new ArrayList<>(payees.size());
+        BigDecimal totalNet = BigDecimal.ZERO;
+
+        for (PayeeGradeView payee : payees) {
+            SalaryBreakdown breakdown = payrollCalculator.breakdownFor(breakdowns, payee.getGradeId());
+            if (breakdown == null) {
+                String error = PayrollCalculator.missingGradeMessage(payee, employees);
+                System.err.println("❌ " + error);
+                throw new RuntimeException(error);
+            }
+            lines.add(buildLine(payee.getPayeeId(), employees, breakdown, requestRef));
+            totalNet = totalNet.add(breakdown.net());
+        }
+
+        write(lines);
+        return new ChunkResult(lines.size(), totalNet);
+    }
+
+    // ✅ Already priced (parallel path): just materialize and write
+    public void write(Long requestId, boolean employees, List<PricedPayee> priced) {
+        SalaryDisbursalRequest requestRef = entityManager.getReference(SalaryDisbursalRequest.class, requestId);
+        List<SalaryDisbursalLine> lines = new ArrayList<>(priced.size());
+        for (PricedPayee p : priced) {
+            lines.add(buildLine(p.payee().getPayeeId(), employees, p.breakdown(), requestRef));
+        }
+        write(lines);
+    }
+
+    // Shared by employees and org admins; the amounts come from the memoized grade breakdown
+    private SalaryDisbursalLine buildLine(Long payeeId, boolean employee, SalaryBreakdown breakdown,
+                                          SalaryDisbursalRequest requestRef) {
+        SalaryDisbursalLine line = new SalaryDisbursalLine();
+        if (employee) {
+            line.setEmployee(entityManager.getReference(Employee.class, payeeId));
+        } else {
+            line.setOrgAdmin(entityManager.getReference(OrgAdmin.class, payeeId));
+        }
+        line.setGrossSalary(breakdown.gross());
+        line.setDeductions(breakdown.deductions());
+        line.setNetAmount(breakdown.net());
+        line.setStatus("PENDING");
+        line.setDisbursalRequest(requestRef);
+        return line;
+    }
+
+    private void write(List<SalaryDisbursalLine> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        lineRepository.saveAll(lines);
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
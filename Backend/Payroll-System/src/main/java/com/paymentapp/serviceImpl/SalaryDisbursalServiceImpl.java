@@ -1,35 +1,45 @@
 package com.paymentapp.serviceImpl;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.paymentapp.dto.SalaryDisbursalLineDTO;
+import com.paymentapp.dto.DepartmentPayrollTotalsView;
+import com.paymentapp.dto.IncrementalPayrollSummaryDTO;
+import com.paymentapp.dto.PayeeGradeView;
+import com.paymentapp.dto.PayrollPreviewDTO;
+import com.paymentapp.dto.PayrollPreviewDepartmentDTO;
 import com.paymentapp.dto.SalaryDisbursalPaymentGroupDTO;
 import com.paymentapp.dto.SalaryDisbursalRequestCreateDTO;
 import com.paymentapp.dto.SalaryDisbursalRequestDTO;
-import com.paymentapp.entity.Employee;
-import com.paymentapp.entity.OrgAdmin;
 import com.paymentapp.entity.Organization;
-import com.paymentapp.entity.SalaryDisbursalLine;
 import com.paymentapp.entity.SalaryDisbursalRequest;
-import com.paymentapp.entity.SalaryGrade;
 import com.paymentapp.entity.User;
 import com.paymentapp.exception.DuplicatePayrollException;
+import com.paymentapp.exception.PayrollValidationException;
 import com.paymentapp.repository.EmployeeRepository;
 import com.paymentapp.repository.OrgAdminRepository;
 import com.paymentapp.repository.OrganizationRepository;
+import com.paymentapp.repository.SalaryDisbursalLineRepository;
 import com.paymentapp.repository.SalaryDisbursalRequestRepository;
-import com.paymentapp.repository.SalaryGradeRepository;
 import com.paymentapp.repository.UserRepository;
 import com.paymentapp.service.AuditLogService;
 import com.paymentapp.service.SalaryDisbursalService;
+import com.paymentapp.serviceImpl.PayrollCalculator.PricedPayee;
+import com.paymentapp.serviceImpl.PayrollCalculator.PricingResult;
+import com.paymentapp.serviceImpl.PayrollCalculator.SalaryBreakdown;
+import com.paymentapp.serviceImpl.SalaryDisbursalLineWriter.ChunkResult;
 
 import lombok.RequiredArgsConstructor;
 
@@ -39,11 +49,16 @@ public class SalaryDisbursalServiceImpl implements SalaryDisbursalService {
 
     private final EmployeeRepository employeeRepository;
     private final OrgAdminRepository orgAdminRepository;
-    private final SalaryGradeRepository salaryGradeRepo;
     private final SalaryDisbursalRequestRepository disbursalRequestRepo;
     private final UserRepository userRepository;
     private final OrganizationRepository organizationRepository;
     private final AuditLogService auditLogService;
+    private final PayrollCalculator payrollCalculator;
+    private final SalaryDisbursalLineWriter lineWriter;
+    private final SalaryDisbursalLineRepository lineRepository;
+
+    @Value("${payroll.disbursal.chunk-size:500}")
+    private int chunkSize;
 
     @Override
     @Transactional
@@ -67,11 +82,7 @@ public class SalaryDisbursalServiceImpl implements SalaryDisbursalService {
         System.out.println("\n🔍 Checking for existing payroll in period: " + dto.getPeriod());
         
         List<SalaryDisbursalRequest> existingRequests = disbursalRequestRepo
-                .findByOrganization_OrgIdAndPeriodAndStatusIn(
-                    dto.getOrgId(), 
-                    dto.getPeriod(), 
-                    Arrays.asList("PENDING", "APPROVED")
-                );
+                .findActiveForPeriod(dto.getOrgId(), dto.getPeriod());
         
         System.out.println("   Found " + existingRequests.size() + " existing request(s)");
         
@@ -97,7 +108,19 @@ public class SalaryDisbursalServiceImpl implements SalaryDisbursalService {
         
         System.out.println("✅ No existing request found. Proceeding with creation...\n");
 
-        // ✅ STEP 3: Create new request
+        // ✅ Incremental mode needs an approved base period to copy from
+        SalaryDisbursalRequest base = null;
+        if (dto.getIncrementalFromPeriod() != null && !dto.getIncrementalFromPeriod().isBlank()) {
+            base = disbursalRequestRepo
+                    .findFirstByOrganization_OrgIdAndPeriodAndStatusOrderByCreatedAtDesc(
+                            dto.getOrgId(), dto.getIncrementalFromPeriod(), "APPROVED")
+                    .orElseThrow(() -> new RuntimeException(
+                            "No approved salary disbursal found for period " + dto.getIncrementalFromPeriod()));
+            System.out.println("🔁 Incremental build from request " + base.getDisbursalId()
+                    + " (" + base.getPeriod() + ")");
+        }
+
+        // ✅ STEP 3: Create request header first; lines are streamed in against its id
         SalaryDisbursalRequest request = new SalaryDisbursalRequest();
         request.setOrganization(org);
         request.setPeriod(dto.getPeriod());
@@ -105,113 +128,34 @@ public class SalaryDisbursalServiceImpl implements SalaryDisbursalService {
         request.setRemarks(dto.getRemarks());
         request.setTotalAmount(BigDecimal.ZERO);
 
-        List<SalaryDisbursalLine> lines = new ArrayList<>();
-        BigDecimal totalNet = BigDecimal.ZERO;
-        
-        int employeeCount = 0;
-        int orgAdminCount = 0;
-
-        // ✅ STEP 4: Process payments
-        System.out.println("💰 Processing payments...");
-        
-        for (SalaryDisbursalPaymentGroupDTO group : dto.getPayments()) {
-            String paymentType = group.getType();
-            System.out.println("\n   Payment Group: " + paymentType);
-            System.out.println("   IDs: " + group.getIds());
-
-            if ("ROLE_EMPLOYEE".equalsIgnoreCase(paymentType)) {
-                List<Employee> employees = employeeRepository.findAllById(group.getIds());
-                System.out.println("   Found " + employees.size() + " employee(s)");
-
-                for (Employee emp : employees) {
-                    SalaryGrade grade = emp.getSalaryGrade();
-                    if (grade == null) {
-                        String error = "Salary grade missing for employee: " + emp.getEmpName() + " (ID: " + emp.getEmpId() + ")";
-                        System.err.println("❌ " + error);
-                        throw new RuntimeException(error);
-                    }
-
-                    BigDecimal basic = grade.getBasicSalary() != null ? grade.getBasicSalary() : BigDecimal.ZERO;
-                    BigDecimal hra = grade.getHra() != null ? grade.getHra() : BigDecimal.ZERO;
-                    BigDecimal da = grade.getDa() != null ? grade.getDa() : BigDecimal.ZERO;
-                    BigDecimal allowances = grade.getAllowances() != null ? grade.getAllowances() : BigDecimal.ZERO;
-                    BigDecimal pf = grade.getPf() != null ? grade.getPf() : BigDecimal.ZERO;
-
-                    BigDecimal gross = basic.add(hra).add(da).add(allowances);
-                    BigDecimal deductions = pf;
-                    BigDecimal net = gross.subtract(deductions);
-
-                    SalaryDisbursalLine line = new SalaryDisbursalLine();
-                    line.setEmployee(emp);
-                    line.setGrossSalary(gross);
-                    line.setDeductions(deductions);
-                    line.setNetAmount(net);
-                    line.setStatus("PENDING");
-                    line.setDisbursalRequest(request);
-
-                    lines.add(line);
-                    totalNet = totalNet.add(net);
-                    employeeCount++;
-                    
-                    System.out.println("      ✅ " + emp.getEmpName() + " - ₹" + net);
-                }
-
-            } else if ("ROLE_ORG_ADMIN".equalsIgnoreCase(paymentType)) {
-                List<OrgAdmin> admins = orgAdminRepository.findAllById(group.getIds());
-                System.out.println("   Found " + admins.size() + " org admin(s)");
-
-                for (OrgAdmin admin : admins) {
-                    SalaryGrade grade = admin.getSalaryGrade();
-                    if (grade == null) {
-                        String error = "Salary grade missing for Org Admin: " + admin.getName() + " (ID: " + admin.getOrgAdminId() + ")";
-                        System.err.println("❌ " + error);
-                        throw new RuntimeException(error);
-                    }
-
-                    BigDecimal basic = grade.getBasicSalary() != null ? grade.getBasicSalary() : BigDecimal.ZERO;
-                    BigDecimal hra = grade.getHra() != null ? grade.getHra() : BigDecimal.ZERO;
-                    BigDecimal da = grade.getDa() != null ? grade.getDa() : BigDecimal.ZERO;
-                    BigDecimal allowances = grade.getAllowances() != null ? grade.getAllowances() : BigDecimal.ZERO;
-                    BigDecimal pf = grade.getPf() != null ? grade.getPf() : BigDecimal.ZERO;
-
-                    BigDecimal gross = basic.add(hra).add(da).add(allowances);
-                    BigDecimal deductions = pf;
-                    BigDecimal net = gross.subtract(deductions);
-
-                    SalaryDisbursalLine line = new SalaryDisbursalLine();
-                    line.setOrgAdmin(admin);
-                    line.setGrossSalary(gross);
-                    line.setDeductions(deductions);
-                    line.setNetAmount(net);
-                    line.setStatus("PENDING");
-                    line.setDisbursalRequest(request);
-
-                    lines.add(line);
-                    totalNet = totalNet.add(net);
-                    orgAdminCount++;
-                    
-                    System.out.println("      ✅ " + admin.getName() + " - ₹" + net);
-                }
-
-            } else {
-                String error = "Unsupported payment type: " + paymentType;
-                System.err.println("❌ " + error);
-                throw new RuntimeException(error);
-            }
+        Long requestId = disbursalRequestRepo.saveAndFlush(request).getDisbursalId();
+
+        // ✅ STEP 4: Build lines (sequential chunks, or fork/join pricing when requested)
+        Map<Long, SalaryBreakdown> breakdowns = payrollCalculator.loadGradeBreakdowns(org.getOrgId());
+        BuildTotals totals;
+        if (base != null) {
+            totals = buildLinesIncrementally(dto, requestId, base, breakdowns);
+        } else if (Boolean.TRUE.equals(dto.getParallel())) {
+            totals = buildLinesInParallel(dto, requestId, breakdowns);
+        } else {
+            totals = buildLinesSequentially(dto, requestId, breakdowns);
         }
 
-        // ✅ Validate that at least one person selected
-        if (lines.isEmpty()) {
+        int employeeCount = totals.employeeCount();
+        int orgAdminCount = totals.orgAdminCount();
+        BigDecimal totalNet = totals.totalNet();
+
+        // ✅ Validate that at least one person selected (throwing rolls back the header too)
+        if (employeeCount + orgAdminCount == 0) {
             String error = "No employees or admins selected for salary disbursal";
             System.err.println("❌ " + error);
             throw new RuntimeException(error);
         }
 
-        request.setLines(lines);
-        request.setTotalAmount(totalNet);
-
-        // ✅ STEP 5: Save request
-        SalaryDisbursalRequest savedRequest = disbursalRequestRepo.save(request);
+        // ✅ STEP 5: Store the total on the header
+        SalaryDisbursalRequest savedRequest = disbursalRequestRepo.findById(requestId)
+                .orElseThrow(() -> new RuntimeException("Salary disbursal request not found with ID: " + requestId));
+        savedRequest.setTotalAmount(totalNet);
         
         System.out.println("\n📊 ════════════════════════════════════════");
         System.out.println("📊 SALARY DISBURSAL REQUEST CREATED");
@@ -242,10 +186,238 @@ public class SalaryDisbursalServiceImpl implements SalaryDisbursalService {
                 getFirstRole(user)
         );
 
-        return mapToDTO(savedRequest);
+        SalaryDisbursalRequestDTO response = mapToSummaryDTO(savedRequest, employeeCount + orgAdminCount);
+        response.setIncrementalSummary(totals.incrementalSummary());
+        return response;
+    }
+
+    // ================= PREVIEW (DRY RUN) =================
+    // Read-only: grouped SUM/COUNT queries per chunk of ids, merged per department in memory.
+    // No entities are loaded and nothing is written.
+    @Override
+    @Transactional(readOnly = true)
+    public PayrollPreviewDTO previewSalaryDisbursal(SalaryDisbursalRequestCreateDTO dto) {
+        Map<Long, PayrollPreviewDepartmentDTO> departments = new LinkedHashMap<>();
+
+        for (SalaryDisbursalPaymentGroupDTO group : dto.getPayments()) {
+            boolean employees = isEmployeeGroup(group);
+            List<Long> ids = group.getIds() != null ? group.getIds() : List.of();
+
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunkIds = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                List<DepartmentPayrollTotalsView> rows = employees
+                        ? employeeRepository.sumPayrollByDepartment(dto.getOrgId(), chunkIds)
+                        : orgAdminRepository.sumPayrollByDepartment(dto.getOrgId(), chunkIds);
+
+                for (DepartmentPayrollTotalsView row : rows) {
+                    PayrollPreviewDepartmentDTO dept = departments.computeIfAbsent(row.getDepartmentId(), id -> {
+                        PayrollPreviewDepartmentDTO d = new PayrollPreviewDepartmentDTO();
+                        d.setDepartmentId(id);
+                        d.setDepartmentName(row.getDepartmentName() != null ? row.getDepartmentName() : "Unassigned");
+                        return d;
+                    });
+                    BigDecimal gross = row.getGross() != null ? row.getGross() : BigDecimal.ZERO;
+                    BigDecimal deductions = row.getDeductions() != null ? row.getDeductions() : BigDecimal.ZERO;
+
+                    dept.setHeadcount(dept.getHeadcount() + row.getHeadcount());
+                    dept.setMissingGradeCount(dept.getMissingGradeCount()
+                            + (row.getMissingGradeCount() != null ? row.getMissingGradeCount() : 0L));
+                    dept.setGross(dept.getGross().add(gross));
+                    dept.setDeductions(dept.getDeductions().add(deductions));
+                    dept.setNet(dept.getGross().subtract(dept.getDeductions()));
+                }
+            }
+        }
+
+        PayrollPreviewDTO preview = new PayrollPreviewDTO();
+        preview.setOrgId(dto.getOrgId());
+        preview.setPeriod(dto.getPeriod());
+        preview.setDepartments(new ArrayList<>(departments.values()));
+        preview.setHeadcount(departments.values().stream().mapToLong(PayrollPreviewDepartmentDTO::getHeadcount).sum());
+        preview.setMissingGradeCount(departments.values().stream()
+                .mapToLong(PayrollPreviewDepartmentDTO::getMissingGradeCount).sum());
+        preview.setGross(departments.values().stream()
+                .map(PayrollPreviewDepartmentDTO::getGross).reduce(BigDecimal.ZERO, BigDecimal::add));
+        preview.setDeductions(departments.values().stream()
+                .map(PayrollPreviewDepartmentDTO::getDeductions).reduce(BigDecimal.ZERO, BigDecimal::add));
+        preview.setNet(preview.getGross().subtract(preview.getDeductions()));
+        return preview;
+    }
+
+    private record BuildTotals(int employeeCount, int orgAdminCount, BigDecimal totalNet,
+                               IncrementalPayrollSummaryDTO incrementalSummary) {
+    }
+
+    // ================= SEQUENTIAL BUILD =================
+    // Chunk by chunk: batch insert + clear keeps the heap flat
+    private BuildTotals buildLinesSequentially(SalaryDisbursalRequestCreateDTO dto, Long requestId,
+                                               Map<Long, SalaryBreakdown> breakdowns) {
+        BigDecimal totalNet = BigDecimal.ZERO;
+        int employeeCount = 0;
+        int orgAdminCount = 0;
+
+        System.out.println("💰 Processing payments in chunks of " + chunkSize + "...");
+
+        for (SalaryDisbursalPaymentGroupDTO group : dto.getPayments()) {
+            boolean employees = isEmployeeGroup(group);
+            List<Long> ids = group.getIds() != null ? group.getIds() : List.of();
+
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunkIds = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                ChunkResult chunk = lineWriter.priceAndWrite(requestId, employees, chunkIds, breakdowns);
+                totalNet = totalNet.add(chunk.totalNet());
+
+                if (employees) {
+                    employeeCount += chunk.lineCount();
+                    System.out.println("      ✅ Employees written: " + employeeCount);
+                } else {
+                    orgAdminCount += chunk.lineCount();
+                    System.out.println("      ✅ Org admins written: " + orgAdminCount);
+                }
+            }
+        }
+        return new BuildTotals(employeeCount, orgAdminCount, totalNet, null);
+    }
+
+    // ================= PARALLEL BUILD =================
+    // Every group is priced on the fork/join pool first so all validation errors surface
+    // together; only then are lines written, still in chunks, on this (transactional) thread.
+    private BuildTotals buildLinesInParallel(SalaryDisbursalRequestCreateDTO dto, Long requestId,
+                                             Map<Long, SalaryBreakdown> breakdowns) {
+        System.out.println("⚡ Parallel pricing, partitioned by "
+                + ("CHUNK".equalsIgnoreCase(dto.getPartitionBy()) ? "CHUNK" : "DEPARTMENT"));
+
+        List<PricingResult> results = new ArrayList<>();
+        List<Boolean> employeeFlags = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+
+        for (SalaryDisbursalPaymentGroupDTO group : dto.getPayments()) {
+            boolean employees = isEmployeeGroup(group);
+            List<Long> ids = group.getIds() != null ? group.getIds() : List.of();
+
+            List<PayeeGradeView> payees = new ArrayList<>(ids.size());
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunkIds = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                payees.addAll(lineWriter.loadPayees(employees, chunkIds));
+            }
+
+            PricingResult result = payrollCalculator.priceInParallel(
+                    payees, breakdowns, employees, dto.getPartitionBy(), chunkSize);
+            results.add(result);
+            employeeFlags.add(employees);
+            errors.addAll(result.errors());
+        }
+
+        if (!errors.isEmpty()) {
+            System.err.println("❌ " + errors.size() + " payroll validation error(s)");
+            throw new PayrollValidationException(errors);
+        }
+
+        BigDecimal totalNet = BigDecimal.ZERO;
+        int employeeCount = 0;
+        int orgAdminCount = 0;
+
+        for (int i = 0; i < results.size(); i++) {
+            boolean employees = employeeFlags.get(i);
+            List<PricedPayee> priced = results.get(i).priced();
+
+            for (int from = 0; from < priced.size(); from += chunkSize) {
+                lineWriter.write(requestId, employees, priced.subList(from, Math.min(from + chunkSize, priced.size())));
+            }
+
+            totalNet = totalNet.add(results.get(i).total());
+            if (employees) {
+                employeeCount += priced.size();
+            } else {
+                orgAdminCount += priced.size();
+            }
+        }
+        return new BuildTotals(employeeCount, orgAdminCount, totalNet, null);
     }
 
-    private SalaryDisbursalRequestDTO mapToDTO(SalaryDisbursalRequest request) {
+    // ================= INCREMENTAL BUILD =================
+    // Per chunk: one INSERT ... SELECT copies the base period's lines for unchanged payees,
+    // then only the rest (changed payees and joiners) are priced and written.
+    private BuildTotals buildLinesIncrementally(SalaryDisbursalRequestCreateDTO dto, Long requestId,
+                                                SalaryDisbursalRequest base,
+                                                Map<Long, SalaryBreakdown> breakdowns) {
+        Long baseId = base.getDisbursalId();
+        Instant since = base.getCreatedAt();
+        long baseLineCount = lineRepository.countByDisbursalRequest_DisbursalId(baseId);
+
+        IncrementalPayrollSummaryDTO summary = new IncrementalPayrollSummaryDTO();
+        summary.setBasePeriod(base.getPeriod());
+        summary.setBaseDisbursalId(baseId);
+
+        int employeeCount = 0;
+        int orgAdminCount = 0;
+
+        for (SalaryDisbursalPaymentGroupDTO group : dto.getPayments()) {
+            boolean employees = isEmployeeGroup(group);
+            List<Long> ids = group.getIds() != null ? group.getIds() : List.of();
+
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunkIds = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+
+                int cloned = employees
+                        ? lineRepository.cloneUnchangedEmployeeLines(requestId, baseId, chunkIds, since)
+                        : lineRepository.cloneUnchangedOrgAdminLines(requestId, baseId, chunkIds, since);
+
+                Set<Long> done = new HashSet<>(employees
+                        ? lineRepository.findEmployeeIdsInRequest(requestId, chunkIds)
+                        : lineRepository.findOrgAdminIdsInRequest(requestId, chunkIds));
+                List<Long> remaining = chunkIds.stream().filter(id -> !done.contains(id)).toList();
+
+                int recomputed = 0;
+                if (!remaining.isEmpty()) {
+                    int inBase = (employees
+                            ? lineRepository.findEmployeeIdsInRequest(baseId, remaining)
+                            : lineRepository.findOrgAdminIdsInRequest(baseId, remaining)).size();
+
+                    recomputed = lineWriter.priceAndWrite(requestId, employees, remaining, breakdowns).lineCount();
+                    summary.setChangedPayees(summary.getChangedPayees() + inBase);
+                    summary.setJoiners(summary.getJoiners() + Math.max(0, recomputed - inBase));
+                }
+
+                summary.setClonedLines(summary.getClonedLines() + cloned);
+                if (employees) {
+                    employeeCount += cloned + recomputed;
+                } else {
+                    orgAdminCount += cloned + recomputed;
+                }
+            }
+        }
+
+        summary.setLeavers(Math.max(0, baseLineCount - summary.getClonedLines() - summary.getChangedPayees()));
+        BigDecimal totalNet = lineRepository.sumNetAmountByDisbursalId(requestId);
+
+        System.out.println("🔁 Incremental summary: cloned " + summary.getClonedLines()
+                + ", changed " + summary.getChangedPayees()
+                + ", joiners " + summary.getJoiners()
+                + ", leavers " + summary.getLeavers());
+
+        return new BuildTotals(employeeCount, orgAdminCount, totalNet, summary);
+    }
+
+    private boolean isEmployeeGroup(SalaryDisbursalPaymentGroupDTO group) {
+        String paymentType = group.getType();
+        System.out.println("\n   Payment Group: " + paymentType + " ("
+                + (group.getIds() != null ? group.getIds().size() : 0) + " id(s))");
+
+        if ("ROLE_EMPLOYEE".equalsIgnoreCase(paymentType)) {
+            return true;
+        }
+        if ("ROLE_ORG_ADMIN".equalsIgnoreCase(paymentType)) {
+            return false;
+        }
+        String error = "Unsupported payment type: " + paymentType;
+        System.err.println("❌ " + error);
+        throw new RuntimeException(error);
+    }
+
+    // Header-only view: the created request can hold tens of thousands of lines,
+    // so they are not loaded back just to build the response.
+    private SalaryDisbursalRequestDTO mapToSummaryDTO(SalaryDisbursalRequest request, int lineCount) {
         SalaryDisbursalRequestDTO dto = new SalaryDisbursalRequestDTO();
         dto.setDisbursalId(request.getDisbursalId());
         dto.setOrgId(request.getOrganization().getOrgId());
@@ -255,30 +427,8 @@ public class SalaryDisbursalServiceImpl implements SalaryDisbursalService {
         dto.setTotalAmount(request.getTotalAmount());
         dto.setRemarks(request.getRemarks());
         dto.setCreatedAt(request.getCreatedAt());
-
-        List<SalaryDisbursalLineDTO> lineDTOs = new ArrayList<>();
-        for (SalaryDisbursalLine line : request.getLines()) {
-            SalaryDisbursalLineDTO lineDTO = new SalaryDisbursalLineDTO();
-            lineDTO.setLineId(line.getLineId());
-
-            if (line.getEmployee() != null) {
-                lineDTO.setEmployeeName(line.getEmployee().getEmpName());
-                lineDTO.setEmployeeEmail(line.getEmployee().getEmpEmail());
-            } else if (line.getOrgAdmin() != null) {
-                lineDTO.setEmployeeName(line.getOrgAdmin().getName());
-                lineDTO.setEmployeeEmail(line.getOrgAdmin().getEmail());
-            }
-
-            lineDTO.setGrossSalary(line.getGrossSalary());
-            lineDTO.setDeductions(line.getDeductions());
-            lineDTO.setNetAmount(line.getNetAmount());
-            lineDTO.setStatus(line.getStatus());
-
-            lineDTOs.add(lineDTO);
-        }
-
-        dto.setLines(lineDTOs);
-
+        dto.setLineCount(lineCount);
+        dto.setLines(new ArrayList<>());
         return dto;
     }
 
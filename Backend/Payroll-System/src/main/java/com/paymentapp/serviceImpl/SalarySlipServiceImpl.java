@@ -1,5 +1,7 @@
 package com.paymentapp.serviceImpl;
 
+import java.time.Instant;
+
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,6 +12,7 @@ import com.paymentapp.entity.Organization;
 import com.paymentapp.entity.SalaryDisbursalRequest;
 import com.paymentapp.entity.SalaryGrade;
 import com.paymentapp.entity.SalarySlip;
+import com.paymentapp.repository.SalaryDisbursalRequestRepository;
 import com.paymentapp.repository.SalarySlipRepository;
 import com.paymentapp.service.SalarySlipService;
 
@@ -21,6 +24,28 @@ public class SalarySlipServiceImpl implements SalarySlipService {
 
     private final SalarySlipRepository salarySlipRepository;
     private final SalarySlipPDFGenerator pdfGenerator;
+    private final SalaryDisbursalRequestRepository disbursalRequestRepo;
+
+    // ================= REGENERATE SLIPS =================
+    // Writes slips for every paid line of an approved request that is missing one
+    @Override
+    @Transactional
+    public int regenerateSlips(Long disbursalId) {
+        SalaryDisbursalRequest request = disbursalRequestRepo.findById(disbursalId)
+                .orElseThrow(() -> new RuntimeException("Salary disbursal request not found with ID: " + disbursalId));
+
+        if (!"APPROVED".equalsIgnoreCase(request.getStatus())) {
+            throw new RuntimeException("Slips can only be regenerated for approved requests, current status: "
+                    + request.getStatus());
+        }
+
+        int created = salarySlipRepository.insertMissingSlips(disbursalId, 0L, Long.MAX_VALUE, Instant.now());
+
+        System.out.println("📄 Regenerated " + created + " salary slip(s) for request " + disbursalId
+                + " (" + salarySlipRepository.countByDisbursal_DisbursalId(disbursalId) + " in total)");
+        return created;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public SalarySlipDetailsDTO getSalarySlipDetails(Long slipId) {
@@ -0,0 +1,323 @@
+package com.paymentapp.serviceImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.paymentapp.dto.UploadBatchDTO;
+import com.paymentapp.dto.UploadBatchLineDTO;
+import com.paymentapp.entity.Organization;
+import com.paymentapp.entity.Role;
+import com.paymentapp.entity.UploadBatch;
+import com.paymentapp.entity.UploadBatchFile;
+import com.paymentapp.entity.UploadBatchLine;
+import com.paymentapp.entity.User;
+import com.paymentapp.exception.ResourceNotFoundException;
+import com.paymentapp.repository.DepartmentRepository;
+import com.paymentapp.repository.OrganizationRepository;
+import com.paymentapp.repository.SalaryGradeRepository;
+import com.paymentapp.repository.UploadBatchFileRepository;
+import com.paymentapp.repository.UploadBatchLineRepository;
+import com.paymentapp.repository.UploadBatchRepository;
+import com.paymentapp.repository.UserRepository;
+import com.paymentapp.service.AuditLogService;
+import com.paymentapp.service.EmployeeService;
+import com.paymentapp.service.UploadBatchJobService;
+import com.paymentapp.service.VendorService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Background bulk uploads. The HTTP call only checks the request, stores the
+ * file and a QUEUED UploadBatch and returns the batch id; a worker on the
+ * upload job pool then validates the file and writes the rows one chunk per
+ * transaction (see UploadBatchLineWriter), so processedCount and failedCount
+ * move as chunks commit. Batches left QUEUED or RUNNING by a restart are
+ * picked up again and continue after their last committed chunk.
+ */
+@Service
+@RequiredArgsConstructor
+public class UploadBatchJobServiceImpl implements UploadBatchJobService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final List<String> ENTITY_TYPES = List.of("EMPLOYEE", "VENDOR");
+
+    private final UploadBatchRepository uploadBatchRepository;
+    private final UploadBatchLineRepository uploadBatchLineRepository;
+    private final UploadBatchFileRepository uploadBatchFileRepository;
+    private final OrganizationRepository organizationRepository;
+    private final DepartmentRepository departmentRepository;
+    private final SalaryGradeRepository salaryGradeRepository;
+    private final UserRepository userRepository;
+    private final EmployeeService employeeService;
+    private final VendorService vendorService;
+    private final AuditLogService auditLogService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor uploadJobExecutor;
+
+    // ================= SUBMIT =================
+    @Override
+    public UploadBatchDTO submit(String entityType, Long orgId, String departmentName, Long salaryGradeId,
+            MultipartFile file, String fileUrl, User performingUser) {
+        // Checked before anything is read or stored, so no batch or file row is left for another organization
+        if (!isSameOrganization(performingUser, orgId)) {
+            throw new RuntimeException("Access denied");
+        }
+        if (!ENTITY_TYPES.contains(entityType)) {
+            throw new RuntimeException("Unsupported upload type: " + entityType);
+        }
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("File must be provided");
+        }
+        String fileName = file.getOriginalFilename();
+        if (fileName == null || fileName.isBlank()) {
+            throw new RuntimeException("File name must be provided");
+        }
+        String lower = fileName.toLowerCase();
+        if (!lower.endsWith(".xlsx") && !lower.endsWith(".xls") && !lower.endsWith(".csv")) {
+            throw new RuntimeException("Unsupported file type: " + fileName);
+        }
+
+        byte[] content;
+        try {
+            content = file.getBytes();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read uploaded file: " + e.getMessage());
+        }
+
+        UploadBatch batch = transactionTemplate.execute(status -> {
+            Organization organization = organizationRepository.findById(orgId)
+                    .orElseThrow(() -> new RuntimeException("Organization not found"));
+            if (organization.getStatus() == null || organization.getStatus().trim().equalsIgnoreCase("REJECTED")) {
+                throw new RuntimeException("Operation denied: Organization is rejected");
+            }
+
+            // Fail fast on options the worker would reject for every row
+            if ("EMPLOYEE".equals(entityType)) {
+                if (departmentName == null || departmentName.isBlank()) {
+                    throw new RuntimeException("Department name must be provided");
+                }
+                departmentRepository.findByNameIgnoreCaseAndOrganizationAndDeletedFalse(departmentName.trim(), organization)
+                        .orElseThrow(() -> new RuntimeException("Active department not found with name: " + departmentName.trim()));
+                if (salaryGradeId != null && salaryGradeId > 0 && !salaryGradeRepository.existsById(salaryGradeId)) {
+                    throw new RuntimeException("Salary grade not found with id: " + salaryGradeId);
+                }
+            }
+
+            UploadBatch newBatch = new UploadBatch();
+            newBatch.setUploadedBy(performingUser.getUserId());
+            newBatch.setFileUrl(fileUrl != null && !fileUrl.isBlank() ? fileUrl : "Uploaded Directly");
+            newBatch.setFileName(fileName);
+            newBatch.setOrganization(organization);
+            newBatch.setEntityType(entityType);
+            newBatch.setDepartmentName(departmentName != null ? departmentName.trim() : null);
+            newBatch.setSalaryGradeId(salaryGradeId);
+            newBatch.setRecordCount(0);
+            newBatch.setProcessedCount(0);
+            newBatch.setFailedCount(0);
+            newBatch.setStatus("QUEUED");
+            newBatch = uploadBatchRepository.save(newBatch);
+
+            uploadBatchFileRepository.save(new UploadBatchFile(newBatch.getBatchId(), fileName, content));
+            return newBatch;
+        });
+
+        System.out.println("📥 Queued " + entityType + " upload batch " + batch.getBatchId() + " (" + fileName + ", "
+                + content.length + " bytes)");
+
+        try {
+            Long batchId = batch.getBatchId();
+            uploadJobExecutor.execute(() -> runBatch(batchId));
+        } catch (TaskRejectedException e) {
+            failBatch(batch.getBatchId(), "Upload queue is full");
+            throw new RuntimeException("Too many uploads in progress, please retry shortly");
+        }
+
+        return mapToDTO(batch, orgId);
+    }
+
+    // ================= STATUS =================
+    @Override
+    @Transactional(readOnly = true)
+    public UploadBatchDTO getBatch(Long batchId, User performingUser) {
+        UploadBatch batch = findOwnBatch(batchId, performingUser);
+        return mapToDTO(batch, batch.getOrganization().getOrgId());
+    }
+
+    // Newest first
+    @Override
+    @Transactional(readOnly = true)
+    public Page<UploadBatchDTO> getBatches(Long orgId, int page, int size, User performingUser) {
+        if (!isSameOrganization(performingUser, orgId)) {
+            throw new RuntimeException("Access denied");
+        }
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        return uploadBatchRepository.findByOrganization_OrgIdOrderByBatchIdDesc(orgId, pageable)
+                .map(batch -> mapToDTO(batch, orgId));
+    }
+
+    // Lines in file order, optionally only SUCCESS or FAILED ones
+    @Override
+    @Transactional(readOnly = true)
+    public Page<UploadBatchLineDTO> getLines(Long batchId, String status, int page, int size, User performingUser) {
+        findOwnBatch(batchId, performingUser);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+                Sort.by("rowNumber"));
+        String statusFilter = status != null && !status.isBlank() ? status.trim().toUpperCase() : null;
+        return uploadBatchLineRepository.findPageByBatchId(batchId, statusFilter, pageable).map(this::mapLineToDTO);
+    }
+
+    // ================= RESUME AFTER RESTART =================
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedBatches() {
+        List<UploadBatch> pending = uploadBatchRepository.findByStatusIn(List.of("QUEUED", "RUNNING"));
+        for (UploadBatch batch : pending) {
+            if (!ENTITY_TYPES.contains(batch.getEntityType())) {
+                continue;
+            }
+            System.out.println("🔁 Resuming upload batch " + batch.getBatchId() + " after "
+                    + (batch.getProcessedCount() + failedCount(batch)) + " row(s)");
+            Long batchId = batch.getBatchId();
+            try {
+                uploadJobExecutor.execute(() -> runBatch(batchId));
+            } catch (TaskRejectedException e) {
+                System.err.println("⚠️ Could not resume upload batch " + batchId + ": queue is full");
+            }
+        }
+    }
+
+    // ================= WORKER =================
+    void runBatch(Long batchId) {
+        try {
+            UploadBatch batch = transactionTemplate.execute(status -> {
+                UploadBatch b = uploadBatchRepository.findById(batchId).orElse(null);
+                if (b == null || !("QUEUED".equals(b.getStatus()) || "RUNNING".equals(b.getStatus()))) {
+                    return null;
+                }
+                b.setStatus("RUNNING");
+                return b;
+            });
+            if (batch == null) {
+                return;
+            }
+
+            byte[] content = transactionTemplate.execute(status -> uploadBatchFileRepository.findById(batchId)
+                    .map(UploadBatchFile::getContent)
+                    .orElseThrow(() -> new RuntimeException("Uploaded file is no longer available")));
+
+            // Every line written so far was committed together with these counters
+            int committedRows = batch.getProcessedCount() + failedCount(batch);
+            long started = System.currentTimeMillis();
+
+            try (InputStream in = new ByteArrayInputStream(content)) {
+                if ("EMPLOYEE".equals(batch.getEntityType())) {
+                    employeeService.importEmployeeBatch(batch, in, committedRows);
+                } else {
+                    vendorService.importVendorBatch(batch, in, committedRows);
+                }
+            }
+
+            transactionTemplate.executeWithoutResult(status -> completeBatch(batchId, System.currentTimeMillis() - started));
+
+        } catch (Exception e) {
+            System.err.println("❌ Upload batch " + batchId + " failed: " + e.getMessage());
+            failBatch(batchId, e.getMessage());
+        }
+    }
+
+    private void completeBatch(Long batchId, long elapsedMs) {
+        UploadBatch batch = uploadBatchRepository.findById(batchId).orElseThrow();
+        if (batch.getRecordCount() == 0) {
+            throw new RuntimeException("No valid records found in uploaded file");
+        }
+
+        batch.setStatus(failedCount(batch) == 0 ? "COMPLETED" : "PARTIALLY_COMPLETED");
+        uploadBatchFileRepository.deleteById(batchId);
+
+        User uploader = userRepository.findById(batch.getUploadedBy()).orElse(null);
+        if (uploader != null) {
+            auditLogService.log("BULK_CREATE_" + batch.getEntityType(), batch.getEntityType(), batchId,
+                    uploader.getUserId(), uploader.getEmail(),
+                    uploader.getRoles().stream().findFirst().map(Role::getRoleName).orElse("UNKNOWN"));
+        }
+
+        System.out.println("✅ Upload batch " + batchId + " finished in " + elapsedMs + " ms: "
+                + batch.getProcessedCount() + " created, " + failedCount(batch) + " failed");
+    }
+
+    // Rows already committed stay; the file is dropped since a failed batch is not retried
+    private void failBatch(Long batchId, String error) {
+        transactionTemplate.executeWithoutResult(status -> {
+            UploadBatch batch = uploadBatchRepository.findById(batchId).orElse(null);
+            if (batch == null) {
+                return;
+            }
+            batch.setStatus("FAILED");
+            batch.setErrorMessage(error != null && error.length() > 2000 ? error.substring(0, 2000) : error);
+            if (uploadBatchFileRepository.existsById(batchId)) {
+                uploadBatchFileRepository.deleteById(batchId);
+            }
+        });
+    }
+
+    // ================= UTILITY =================
+    // Another organization's batch is reported as missing, so batch ids cannot be probed
+    private UploadBatch findOwnBatch(Long batchId, User performingUser) {
+        return uploadBatchRepository.findById(batchId)
+                .filter(batch -> batch.getOrganization() != null
+                        && isSameOrganization(performingUser, batch.getOrganization().getOrgId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Upload batch not found with ID: " + batchId));
+    }
+
+    private boolean isSameOrganization(User user, Long orgId) {
+        return user.getOrganization() != null && user.getOrganization().getOrgId().equals(orgId);
+    }
+
+    // failed_count is null on batches from before background uploads
+    private int failedCount(UploadBatch batch) {
+        return batch.getFailedCount() != null ? batch.getFailedCount() : 0;
+    }
+
+    private UploadBatchDTO mapToDTO(UploadBatch batch, Long orgId) {
+        UploadBatchDTO dto = new UploadBatchDTO();
+        dto.setBatchId(batch.getBatchId());
+        dto.setOrgId(orgId);
+        dto.setEntityType(batch.getEntityType());
+        dto.setFileName(batch.getFileName());
+        dto.setStatus(batch.getStatus());
+        dto.setRecordCount(batch.getRecordCount());
+        dto.setProcessedCount(batch.getProcessedCount());
+        dto.setFailedCount(failedCount(batch));
+        dto.setErrorMessage(batch.getErrorMessage());
+        dto.setUploadedBy(batch.getUploadedBy());
+        dto.setCreatedAt(batch.getCreatedAt());
+        dto.setUpdatedAt(batch.getUpdatedAt());
+        return dto;
+    }
+
+    private UploadBatchLineDTO mapLineToDTO(UploadBatchLine line) {
+        UploadBatchLineDTO dto = new UploadBatchLineDTO();
+        dto.setId(line.getId());
+        dto.setRowNumber(line.getRowNumber());
+        dto.setRawData(line.getRawData());
+        dto.setStatus(line.getStatus());
+        dto.setMessage(line.getMessage());
+        dto.setEntityType(line.getEntityType());
+        dto.setEntityId(line.getEntityId());
+        return dto;
+    }
+}
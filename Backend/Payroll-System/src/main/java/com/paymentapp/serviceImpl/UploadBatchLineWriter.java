@@ -0,0 +1,170 @@
+package com.paymentapp.serviceImpl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.paymentapp.dto.ImportRowDTO;
+import com.paymentapp.entity.UploadBatch;
+import com.paymentapp.entity.UploadBatchLine;
+import com.paymentapp.repository.UploadBatchLineRepository;
+import com.paymentapp.repository.UploadBatchRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Writes the rows of a background upload batch one chunk per transaction. Rows
+ * are taken as the validator hands them over, so only the current chunk is held
+ * in memory, never the whole file. A chunk creates its records, inserts their
+ * UploadBatchLine results and bumps the batch counters in that same
+ * transaction, so the counters always match the committed lines and an
+ * interrupted batch resumes after its last chunk. When a row throws, the chunk
+ * is rolled back and replayed one row per transaction so that only the
+ * offending row ends up FAILED.
+ */
+@Component
+public class UploadBatchLineWriter {
+
+    private final UploadBatchRepository uploadBatchRepository;
+    private final UploadBatchLineRepository uploadBatchLineRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    // Rows committed per transaction
+    @Value("${payroll.import.commit-size:200}")
+    private int commitSize;
+
+    public UploadBatchLineWriter(UploadBatchRepository uploadBatchRepository,
+            UploadBatchLineRepository uploadBatchLineRepository, TransactionTemplate transactionTemplate,
+            EntityManager entityManager) {
+        this.uploadBatchRepository = uploadBatchRepository;
+        this.uploadBatchLineRepository = uploadBatchLineRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+    }
+
+    public interface ChunkImporter<T> {
+
+        // Called outside any transaction before a chunk is written, for CPU work such as password hashing
+        default void prepare(List<ImportRowDTO<T>> chunk) {
+        }
+
+        // Called inside each chunk transaction: loads what the rows attach to and returns the row importer
+        RowImporter<T> begin();
+    }
+
+    @FunctionalInterface
+    public interface RowImporter<T> {
+
+        // Creates the record for a valid row and returns its id; any exception fails the row
+        Long importRow(ImportRowDTO<T> row);
+    }
+
+    // Pushes validated rows into the sink in file order, e.g. sink -> validateBulkFile(in, fileName, sink)
+    @FunctionalInterface
+    public interface RowSource<T> {
+        void read(Consumer<ImportRowDTO<T>> sink) throws IOException;
+    }
+
+    /**
+     * @param committed rows already written by an earlier run of this batch; they are read again but skipped
+     * @param rawData   what is kept of each row on its UploadBatchLine
+     */
+    public <T> void writeAll(Long batchId, String entityType, int committed, Function<T, String> rawData,
+            ChunkImporter<T> importer, RowSource<T> source) throws IOException {
+        List<ImportRowDTO<T>> chunk = new ArrayList<>(commitSize);
+
+        source.read(row -> {
+            if (row.getRowNumber() <= committed) {
+                return;
+            }
+            chunk.add(row);
+            if (chunk.size() >= commitSize) {
+                commitChunk(batchId, entityType, chunk, rawData, importer);
+                chunk.clear();
+            }
+        });
+        if (!chunk.isEmpty()) {
+            commitChunk(batchId, entityType, chunk, rawData, importer);
+        }
+    }
+
+    private <T> void commitChunk(Long batchId, String entityType, List<ImportRowDTO<T>> chunk,
+            Function<T, String> rawData, ChunkImporter<T> importer) {
+        importer.prepare(chunk);
+        try {
+            transactionTemplate.executeWithoutResult(status -> writeChunk(batchId, entityType, chunk, rawData, importer));
+        } catch (RuntimeException e) {
+            System.err.println("⚠️ Upload batch " + batchId + ": chunk from row " + chunk.get(0).getRowNumber()
+                    + " rolled back (" + e.getMessage() + "), retrying row by row");
+            for (ImportRowDTO<T> row : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(
+                            status -> writeChunk(batchId, entityType, List.of(row), rawData, importer));
+                } catch (RuntimeException rowError) {
+                    transactionTemplate.executeWithoutResult(
+                            status -> writeFailedRow(batchId, entityType, row, rawData, rowError));
+                }
+            }
+        }
+    }
+
+    private <T> void writeChunk(Long batchId, String entityType, List<ImportRowDTO<T>> chunk,
+            Function<T, String> rawData, ChunkImporter<T> importer) {
+        RowImporter<T> rowImporter = importer.begin();
+        UploadBatch batchRef = entityManager.getReference(UploadBatch.class, batchId);
+
+        List<UploadBatchLine> lines = new ArrayList<>(chunk.size());
+        int created = 0;
+        int failed = 0;
+        for (ImportRowDTO<T> row : chunk) {
+            UploadBatchLine line = newLine(batchRef, entityType, row, rawData);
+            if (!row.isValid()) {
+                line.setStatus("FAILED");
+                line.setMessage(truncate(row.getMessage()));
+                failed++;
+            } else {
+                line.setEntityId(rowImporter.importRow(row));
+                line.setStatus("SUCCESS");
+                line.setMessage("Created successfully");
+                created++;
+            }
+            lines.add(line);
+        }
+
+        uploadBatchLineRepository.saveAll(lines);
+        // recordCount grows with the file as it is read; rows arrive in order, so the last one is the count so far
+        uploadBatchRepository.addProgress(batchId, created, failed, chunk.get(chunk.size() - 1).getRowNumber());
+    }
+
+    private <T> void writeFailedRow(Long batchId, String entityType, ImportRowDTO<T> row,
+            Function<T, String> rawData, RuntimeException error) {
+        UploadBatchLine line = newLine(entityManager.getReference(UploadBatch.class, batchId), entityType, row, rawData);
+        line.setStatus("FAILED");
+        line.setMessage(truncate("Error: " + error.getMessage()));
+        uploadBatchLineRepository.save(line);
+        uploadBatchRepository.addProgress(batchId, 0, 1, row.getRowNumber());
+    }
+
+    private <T> UploadBatchLine newLine(UploadBatch batchRef, String entityType, ImportRowDTO<T> row,
+            Function<T, String> rawData) {
+        String raw = rawData.apply(row.getRecord());
+        return UploadBatchLine.builder()
+                .uploadBatch(batchRef)
+                .rowNumber(row.getRowNumber())
+                .rawData(raw != null ? truncate(raw) : "")
+                .entityType(entityType)
+                .build();
+    }
+
+    // message and raw_data columns hold 1000 and 2000 characters; 1000 fits both
+    private String truncate(String text) {
+        return text != null && text.length() > 1000 ? text.substring(0, 1000) : text;
+    }
+}
@@ -4,9 +4,17 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.List;
-
+import java.io.UncheckedIOException;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.ss.usermodel.Row;
@@ -20,198 +28,159 @@ import com.paymentapp.dto.VendorRequestDTO;
 
 public class UserDataImportService {
 
-    // ✅ Parse Employee Excel - Updated for 6 columns
-    public List<EmployeeRequestDTO> parseEmployeeExcel(InputStream inputStream) throws IOException {
-        List<EmployeeRequestDTO> list = new ArrayList<>();
-        Workbook workbook = WorkbookFactory.create(inputStream);
-        Sheet sheet = workbook.getSheetAt(0);
-
-        for (Row row : sheet) {
-            if (row.getRowNum() == 0) continue; // Skip header
-
+    // ✅ Read Employee Excel - rows are handed to the consumer as the sheet is parsed
+    public void readEmployeeExcel(InputStream inputStream, Consumer<EmployeeRequestDTO> consumer) throws IOException {
+        readExcelRows(inputStream, 7, cells -> {
             EmployeeRequestDTO dto = new EmployeeRequestDTO();
-            dto.setEmpName(getCellValue(row.getCell(0)));           // Full Name
-            dto.setEmpEmail(getCellValue(row.getCell(1)));          // Email
-            dto.setPhone(getCellValue(row.getCell(2)));             // Phone
-            dto.setBankAccountName(getCellValue(row.getCell(3)));   // ✅ Bank Account Name
-            dto.setBankAccountNo(getCellValue(row.getCell(4)));     // Bank Account Number
-            dto.setIfscCode(getCellValue(row.getCell(5)));          // IFSC Code
-            dto.setDocumentUrl(getCellValue(row.getCell(6))); // Assuming it's in column G
-
-
-            list.add(dto);
-        }
-        workbook.close();
-        return list;
+            dto.setEmpName(cells[0]);           // Full Name
+            dto.setEmpEmail(cells[1]);          // Email
+            dto.setPhone(cells[2]);             // Phone
+            dto.setBankAccountName(cells[3]);   // ✅ Bank Account Name
+            dto.setBankAccountNo(cells[4]);     // Bank Account Number
+            dto.setIfscCode(cells[5]);          // IFSC Code
+            dto.setDocumentUrl(cells[6]);       // Document URL (column G)
+            consumer.accept(dto);
+        });
     }
 
-    // ✅ Parse Employee CSV - Updated for 6 columns
-    public List<EmployeeRequestDTO> parseEmployeeCsv(InputStream inputStream) throws IOException {
-        List<EmployeeRequestDTO> list = new ArrayList<>();
-        
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-            String line;
-            boolean isFirstLine = true;
-
-            while ((line = reader.readLine()) != null) {
-                if (isFirstLine) {
-                    isFirstLine = false; // Skip header
-                    continue;
-                }
-
-                if (line.trim().isEmpty()) continue;
-
-                String[] tokens = line.split(",", -1);
-                
-                if (tokens.length < 7) {
-                    throw new RuntimeException("Invalid CSV format, expected 7 columns: Name, Email, Phone, Bank Name, Acc No, IFSC, Document URL");
-                }
-
-
-                EmployeeRequestDTO dto = new EmployeeRequestDTO();
-                dto.setEmpName(tokens[0].trim());
-                dto.setEmpEmail(tokens[1].trim());
-                dto.setPhone(tokens[2].trim());
-                dto.setBankAccountName(tokens[3].trim());
-                dto.setBankAccountNo(tokens[4].trim());
-                dto.setIfscCode(tokens[5].trim());
-                dto.setDocumentUrl(tokens[6].trim());
-
-                list.add(dto);
-            }
-        }
-        return list;
+    // ✅ Read Employee CSV (RFC 4180: quoted fields may contain commas, quotes and line breaks)
+    public void readEmployeeCsv(InputStream inputStream, Consumer<EmployeeRequestDTO> consumer) throws IOException {
+        readCsvRecords(inputStream, 7, "Invalid CSV format, expected 7 columns: Name, Email, Phone, Bank Name, Acc No, IFSC, Document URL", tokens -> {
+            EmployeeRequestDTO dto = new EmployeeRequestDTO();
+            dto.setEmpName(tokens[0].trim());
+            dto.setEmpEmail(tokens[1].trim());
+            dto.setPhone(tokens[2].trim());
+            dto.setBankAccountName(tokens[3].trim());
+            dto.setBankAccountNo(tokens[4].trim());
+            dto.setIfscCode(tokens[5].trim());
+            dto.setDocumentUrl(tokens[6].trim());
+            consumer.accept(dto);
+        });
     }
-    public List<VendorRequestDTO> parseVendorCsv(InputStream inputStream) throws IOException {
-        List<VendorRequestDTO> list = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-            String line;
-            boolean isFirstLine = true;
-
-            while ((line = reader.readLine()) != null) {
-                if (isFirstLine) {
-                    isFirstLine = false; 
-                    continue;
-                }
 
-                if (line.trim().isEmpty())
-                    continue;
-
-                String[] tokens = line.split(",", -1); 
-
-                if (tokens.length < 6)
-                    throw new RuntimeException("Invalid CSV format. Required columns: Name, Email, Phone, VendorType, BankAccountNo, FileUrl");
-
-                VendorRequestDTO dto = new VendorRequestDTO();
-                dto.setName(tokens[0].trim());
-                dto.setContactEmail(tokens[1].trim());
-                dto.setPhone(tokens[2].trim());
-                dto.setVendorType(tokens[3].trim());
-                dto.setBankAccountNo(tokens[4].trim());
-                dto.setFileUrl(tokens[5].trim());
-
-                list.add(dto);
-            }
-        }
-        return list;
+    public void readVendorCsv(InputStream inputStream, Consumer<VendorRequestDTO> consumer) throws IOException {
+        readCsvRecords(inputStream, 6, "Invalid CSV format. Required columns: Name, Email, Phone, VendorType, BankAccountNo, FileUrl", tokens -> {
+            VendorRequestDTO dto = new VendorRequestDTO();
+            dto.setName(tokens[0].trim());
+            dto.setContactEmail(tokens[1].trim());
+            dto.setPhone(tokens[2].trim());
+            dto.setVendorType(tokens[3].trim());
+            dto.setBankAccountNo(tokens[4].trim());
+            dto.setFileUrl(tokens[5].trim());
+            consumer.accept(dto);
+        });
     }
    
 
 
-    public List<VendorRequestDTO> parseVendorExcel(InputStream inputStream) throws IOException {
-        List<VendorRequestDTO> list = new ArrayList<>();
-        Workbook workbook = WorkbookFactory.create(inputStream);
-        Sheet sheet = workbook.getSheetAt(0);
-
-        for (Row row : sheet) {
-            if (row.getRowNum() == 0)
-                continue; 
-
+    public void readVendorExcel(InputStream inputStream, Consumer<VendorRequestDTO> consumer) throws IOException {
+        readExcelRows(inputStream, 6, cells -> {
             VendorRequestDTO dto = new VendorRequestDTO();
-            dto.setName(getCellValue(row.getCell(0)));
-            dto.setContactEmail(getCellValue(row.getCell(1)));
-            dto.setPhone(getCellValue(row.getCell(2)));
-            dto.setVendorType(getCellValue(row.getCell(3)));
-            dto.setBankAccountNo(getCellValue(row.getCell(4)));
-            dto.setFileUrl(getCellValue(row.getCell(5)));
-
-            list.add(dto);
-        }
-
-        workbook.close();
-        return list;
+            dto.setName(cells[0]);
+            dto.setContactEmail(cells[1]);
+            dto.setPhone(cells[2]);
+            dto.setVendorType(cells[3]);
+            dto.setBankAccountNo(cells[4]);
+            dto.setFileUrl(cells[5]);
+            consumer.accept(dto);
+        });
     }
     
-    public List<OrgAdminRequestDTO> parseOrgAdminExcel(InputStream inputStream) throws IOException {
-        List<OrgAdminRequestDTO> list = new ArrayList<>();
-        Workbook workbook = WorkbookFactory.create(inputStream);
-        Sheet sheet = workbook.getSheetAt(0);
-
-        for (Row row : sheet) {
-            if (row.getRowNum() == 0)
-                continue; // skip header
-
+    public void readOrgAdminExcel(InputStream inputStream, Consumer<OrgAdminRequestDTO> consumer) throws IOException {
+        readExcelRows(inputStream, 8, cells -> {
             OrgAdminRequestDTO dto = new OrgAdminRequestDTO();
-            dto.setName(getCellValue(row.getCell(0)));
-            dto.setEmail(getCellValue(row.getCell(1)));
-            dto.setPhone(getCellValue(row.getCell(2)));
-            dto.setDepartmentName(getCellValue(row.getCell(3)));
-            dto.setFileUrl(getCellValue(row.getCell(4)));
-            dto.setBankAccountName(getCellValue(row.getCell(5)));
-            dto.setBankAccountNo(getCellValue(row.getCell(6)));
-            dto.setIfscCode(getCellValue(row.getCell(7)));
-
-
-            list.add(dto);
-        }
-
-        workbook.close();
-        return list;
+            dto.setName(cells[0]);
+            dto.setEmail(cells[1]);
+            dto.setPhone(cells[2]);
+            dto.setDepartmentName(cells[3]);
+            dto.setFileUrl(cells[4]);
+            dto.setBankAccountName(cells[5]);
+            dto.setBankAccountNo(cells[6]);
+            dto.setIfscCode(cells[7]);
+            consumer.accept(dto);
+        });
     }
 
 
     
-    public List<OrgAdminRequestDTO> parseOrgAdminCsv(InputStream inputStream) throws IOException {
-        List<OrgAdminRequestDTO> list = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-            String line;
-            boolean isFirstLine = true;
+    public void readOrgAdminCsv(InputStream inputStream, Consumer<OrgAdminRequestDTO> consumer) throws IOException {
+        readCsvRecords(inputStream, 8, "Invalid CSV format, expected 8 columns: Name, Email, Phone, Department, File URL, Bank Name, Acc No, IFSC", tokens -> {
+            OrgAdminRequestDTO dto = new OrgAdminRequestDTO();
+            dto.setName(tokens[0].trim());
+            dto.setEmail(tokens[1].trim());
+            dto.setPhone(tokens[2].trim());
+            dto.setDepartmentName(tokens[3].trim().isEmpty() ? null : tokens[3].trim());
+            dto.setFileUrl(tokens[4].trim());
+            dto.setBankAccountName(tokens[5].trim());
+            dto.setBankAccountNo(tokens[6].trim());
+            dto.setIfscCode(tokens[7].trim());
+            consumer.accept(dto);
+        });
+    }
 
-            while ((line = reader.readLine()) != null) {
-                if (isFirstLine) {
-                    isFirstLine = false; // skip header
+    // Records are parsed one at a time with commons-csv; bytes are decoded as strict UTF-8,
+    // so a file saved in another encoding fails with its line number instead of importing mangled names
+    private void readCsvRecords(InputStream inputStream, int columns, String formatError, Consumer<String[]> records) throws IOException {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        CSVFormat format = CSVFormat.DEFAULT.builder().setIgnoreSurroundingSpaces(true).build();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, decoder), 64 * 1024);
+                CSVParser parser = format.parse(reader)) {
+            boolean isFirstRecord = true;
+            for (CSVRecord record : parser) {
+                if (isFirstRecord) {
+                    isFirstRecord = false; // Skip header
                     continue;
                 }
 
-                if (line.trim().isEmpty())
-                    continue;
+                if (record.size() == 1 && record.get(0).isBlank()) continue;
 
-                String[] tokens = line.split(",", -1); // -1 keeps empty values
+                if (record.size() < columns) {
+                    throw new RuntimeException(formatError + " (line " + record.getParser().getCurrentLineNumber() + ")");
+                }
 
-                if (tokens.length < 8)
-                    throw new RuntimeException("Invalid CSV format, expected at least 9 columns");
+                String[] tokens = new String[columns];
+                for (int i = 0; i < columns; i++) {
+                    tokens[i] = record.get(i);
+                }
+                records.accept(tokens);
+            }
+        } catch (CharacterCodingException e) {
+            throw new RuntimeException("CSV file is not valid UTF-8");
+        } catch (IllegalStateException | UncheckedIOException e) {
+            // The record iterator wraps read errors (bad encoding, unterminated quotes)
+            if (e.getCause() instanceof CharacterCodingException) {
+                throw new RuntimeException("CSV file is not valid UTF-8");
+            }
+            throw new RuntimeException("Invalid CSV file: " + (e.getCause() != null ? e.getCause().getMessage() : e.getMessage()));
+        }
+    }
 
-                OrgAdminRequestDTO dto = new OrgAdminRequestDTO();
-                dto.setName(tokens[0].trim());
-                dto.setEmail(tokens[1].trim());
-                dto.setPhone(tokens[2].trim());
-                dto.setDepartmentName(tokens[3].trim().isEmpty() ? null : tokens[3].trim());
-                dto.setFileUrl(tokens[4].trim());
-                dto.setBankAccountName(tokens[5].trim());
-                dto.setBankAccountNo(tokens[6].trim());
-                dto.setIfscCode(tokens[7].trim());
+    // .xlsx is streamed with the SAX reader. Legacy .xls sheets are capped at 65,536 rows,
+    // so they still go through the usermodel.
+    private void readExcelRows(InputStream inputStream, int columns, Consumer<String[]> rows) throws IOException {
+        InputStream stream = FileMagic.prepareToCheckMagic(inputStream);
+        if (FileMagic.valueOf(stream) == FileMagic.OOXML) {
+            XlsxSheetReader.read(stream, columns, rows);
+            return;
+        }
 
+        try (Workbook workbook = WorkbookFactory.create(stream)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            for (Row row : sheet) {
+                if (row.getRowNum() == 0) continue; // Skip header
 
-                list.add(dto);
+                String[] cells = new String[columns];
+                for (int i = 0; i < columns; i++) {
+                    cells[i] = getCellValue(row.getCell(i));
+                }
+                rows.accept(cells);
             }
         }
-
-        return list;
     }
 
-
-
     private String getCellValue(Cell cell) {
         if (cell == null) return "";
         
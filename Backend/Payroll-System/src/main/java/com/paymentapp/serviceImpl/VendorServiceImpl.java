@@ -9,6 +9,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
@@ -18,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.paymentapp.dto.ChangePasswordDTO;
+import com.paymentapp.dto.ImportRowDTO;
 import com.paymentapp.dto.PaymentReceiptDTO;
 import com.paymentapp.dto.VendorProfileDTO;
 import com.paymentapp.dto.VendorRequestDTO;
@@ -42,8 +44,10 @@ import com.paymentapp.repository.UploadBatchRepository;
 import com.paymentapp.repository.UserRepository;
 import com.paymentapp.repository.VendorRepository;
 import com.paymentapp.service.AuditLogService;
+import com.paymentapp.service.BalanceService;
 import com.paymentapp.service.DocumentService;
 import com.paymentapp.service.NotificationService;
+import com.paymentapp.serviceImpl.BulkImportValidator.UniqueKey;
 import com.paymentapp.service.VendorService;
 
 import lombok.RequiredArgsConstructor;
@@ -68,6 +72,9 @@ public class VendorServiceImpl implements VendorService {
 	    private final PaymentRequestApprovalHistoryRepository paymentRequestApprovalHistoryRepository;
 	    private final PaymentReceiptRepository paymentReceiptRepository;
 	    private final AuditLogService auditLogService2;
+	    private final BalanceService balanceService;
+	    private final BulkImportValidator bulkImportValidator;
+	    private final UploadBatchLineWriter uploadBatchLineWriter;
 
 	    private static final int MAX_EMAIL_LENGTH = 100;
 
@@ -77,12 +84,7 @@ public class VendorServiceImpl implements VendorService {
 	        Vendor vendor = vendorRepository.findById(vendorId)
 	                .orElseThrow(() -> new RuntimeException("Vendor not found"));
 
-	        if (vendor.getBalance() == null) {
-	            vendor.setBalance(BigDecimal.ZERO);
-	        }
-
-	        vendor.setBalance(vendor.getBalance().add(amount));
-	        vendorRepository.save(vendor);
+	        balanceService.creditVendor(vendor, amount);
 
 	        auditLogService.log(
 	            "ADD_VENDOR_BALANCE", "VENDOR",
@@ -154,14 +156,10 @@ public class VendorServiceImpl implements VendorService {
 	        Organization org = request.getOrganization();
 	        Vendor vendor = request.getVendor();
 
-	        if (org.getAccountBalance().compareTo(request.getAmount()) < 0) {
+	        if (!balanceService.debitOrganization(org, request.getAmount())) {
 	            throw new RuntimeException("Insufficient balance in organization account");
 	        }
-
-	        org.setAccountBalance(org.getAccountBalance().subtract(request.getAmount()));
-	        vendor.setBalance(vendor.getBalance().add(request.getAmount()));
-	        organizationRepository.save(org);
-	        vendorRepository.save(vendor);
+	        balanceService.creditVendor(vendor, request.getAmount());
 
 	        PaymentTransaction transaction = new PaymentTransaction();
 	        transaction.setRelatedType("VENDOR");
@@ -262,6 +260,14 @@ public class VendorServiceImpl implements VendorService {
         return resp;
     }
 
+    // Runs on the import validation pool: field checks only, no database access
+    private List<String> validateBulkRow(VendorRequestDTO dto) {
+        List<String> errors = new ArrayList<>();
+        BulkImportValidator.checkEmail(dto.getContactEmail(), MAX_EMAIL_LENGTH, "Contact email missing", errors);
+        BulkImportValidator.checkIfsc(dto.getIfscCode(), errors);
+        return errors;
+    }
+
     @Override
     @Transactional
     public List<VendorResponseDTO> createVendorsBulk(Long orgId, InputStream fileInputStream, String fileName,
@@ -269,25 +275,16 @@ public class VendorServiceImpl implements VendorService {
         if (fileName == null || fileName.isBlank()) {
             throw new RuntimeException("File name must be provided");
         }
-        BufferedInputStream bis = new BufferedInputStream(fileInputStream);
 
-        List<VendorRequestDTO> dtos;
-        UserDataImportService importService = new UserDataImportService();
-        if (fileName.toLowerCase().endsWith(".xlsx") || fileName.toLowerCase().endsWith(".xls")) {
-            dtos = importService.parseVendorExcel(bis);
-        } else if (fileName.toLowerCase().endsWith(".csv")) {
-            dtos = importService.parseVendorCsv(bis);
-        } else {
-            throw new RuntimeException("Unsupported file type: " + fileName);
-        }
+        Organization organization = organizationRepository.findById(orgId)
+                .orElseThrow(() -> new RuntimeException("Organization not found"));
+
+        List<ImportRowDTO<VendorRequestDTO>> dtos = readBulkFile(fileInputStream, fileName, organization);
 
         if (dtos.isEmpty()) {
             throw new RuntimeException("No valid vendor records in file");
         }
 
-        Organization organization = organizationRepository.findById(orgId)
-                .orElseThrow(() -> new RuntimeException("Organization not found"));
-
         UploadBatch batch = new UploadBatch();
         batch.setUploadedBy(performingUser.getUserId());
         batch.setFileUrl(fileUrl != null && !fileUrl.isBlank() ? fileUrl : "DirectUpload");
@@ -297,11 +294,11 @@ public class VendorServiceImpl implements VendorService {
         batch.setStatus("PENDING");
         batch.setEntityType("VENDOR");
 
-        int rowNo = 1;
-        for (VendorRequestDTO dto : dtos) {
+        for (ImportRowDTO<VendorRequestDTO> row : dtos) {
+            VendorRequestDTO dto = row.getRecord();
             String rawData = dto.getContactEmail() != null ? dto.getContactEmail() : "";
             UploadBatchLine line = UploadBatchLine.builder()
-                    .rowNumber(rowNo++)
+                    .rowNumber(row.getRowNumber())
                     .rawData(rawData)
                     .status("PENDING")
                     .message(null)
@@ -316,94 +313,28 @@ public class VendorServiceImpl implements VendorService {
         int processedCount = 0;
 
         for (int i = 0; i < dtos.size(); i++) {
-            VendorRequestDTO dto = dtos.get(i);
+            ImportRowDTO<VendorRequestDTO> row = dtos.get(i);
+            VendorRequestDTO dto = row.getRecord();
             UploadBatchLine line = batch.getLines().get(i);
 
-            if (dto.getContactEmail() == null || dto.getContactEmail().isBlank()) {
-                line.setStatus("FAILED");
-                line.setMessage("Contact email missing");
-                uploadBatchLineRepository.save(line);
-                continue;
-            }
-            String normalizedEmail = dto.getContactEmail().trim().toLowerCase();
-
-            if (normalizedEmail.length() > MAX_EMAIL_LENGTH) {
+            if (!row.isValid()) {
                 line.setStatus("FAILED");
-                line.setMessage("Email too long");
-                uploadBatchLineRepository.save(line);
-                continue;
-            }
-
-            if (vendorRepository.existsByContactEmailAndOrganizationAndDeletedFalse(normalizedEmail, organization)) {
-                line.setStatus("FAILED");
-                line.setMessage("Duplicate vendor email in organization");
+                line.setMessage(row.getMessage());
                 uploadBatchLineRepository.save(line);
                 continue;
             }
 
             try {
-                String pwd = generatePassword(organization.getOrgName(), dto.getName());
-                BigDecimal default_balance= new BigDecimal("1000.000");
-                Vendor vendor = new Vendor();
-                vendor.setName(dto.getName());
-                vendor.setVendorType(dto.getVendorType());
-                vendor.setBankName(dto.getBankName());
-                vendor.setBankAccountNo(dto.getBankAccountNo());
-                vendor.setIfscCode(dto.getIfscCode());
-                vendor.setContactEmail(normalizedEmail);
-                vendor.setPhone(dto.getPhone());
-                vendor.setBalance(default_balance);
-                vendor.setOrganization(organization);
-                vendor = vendorRepository.save(vendor);
+                Vendor vendor = createBulkVendor(dto, organization, documentFile, performingUser);
 
                 line.setEntityId(vendor.getVendorId());
                 line.setStatus("SUCCESS");
                 line.setMessage("Created");
                 uploadBatchLineRepository.save(line);
 
-                if (dto.getFileUrl() != null && !dto.getFileUrl().isBlank()) {
-                    try {
-                        documentService.uploadAndSaveDocumentFromUrl(
-                                dto.getFileUrl(),
-                                "VENDOR",
-                                vendor.getVendorId(),
-                                "BULK_VENDOR_DOC",
-                                performingUser.getUserId(),
-                                organization
-                        );
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
-                }
-                if (documentFile != null && !documentFile.isEmpty()) {
-                    try {
-                        documentService.uploadAndSaveDocument(
-                                documentFile,
-                                "VENDOR",
-                                vendor.getVendorId(),
-                                "BULK_VENDOR_DOC",
-                                performingUser.getUserId(),
-                                organization
-                        );
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
-                }
-
                 createdList.add(modelMapper.map(vendor, VendorResponseDTO.class));
                 processedCount++;
 
-                notificationService.sendEmail(normalizedEmail, "Vendor Account Created",
-                        String.format(
-                                "Dear %s,\n\nYour vendor account has been created successfully.\nYour default password is: %s\nPlease change your password after login.\n\nBest,\nPaymentApp Team",
-                                dto.getName(), pwd));
-
-                auditLogService.log("CREATE_VENDOR", "VENDOR",
-                        vendor.getVendorId(),
-                        performingUser.getUserId(),
-                        performingUser.getEmail(),
-                        performingUser.getRoles().stream().findFirst().map(r -> r.getRoleName()).orElse("UNKNOWN"));
-
             } catch (Exception ex) {
                 ex.printStackTrace();
                 line.setStatus("FAILED");
@@ -419,6 +350,121 @@ public class VendorServiceImpl implements VendorService {
         return createdList;
     }
 
+    // Background run of a batch queued by UploadBatchJobService; not transactional, every chunk commits on its own
+    @Override
+    public void importVendorBatch(UploadBatch batch, InputStream fileInputStream, int committedRows) throws IOException {
+        Long orgId = batch.getOrganization().getOrgId();
+        Organization organization = organizationRepository.findById(orgId)
+                .orElseThrow(() -> new RuntimeException("Organization not found"));
+
+        // Rows go from the validator straight into commit-size chunks, so the file's rows are never all in memory
+        uploadBatchLineWriter.writeAll(batch.getBatchId(), "VENDOR", committedRows, VendorRequestDTO::getContactEmail,
+                () -> {
+                    // Loaded in every chunk transaction so new rows attach to managed entities
+                    Organization org = organizationRepository.findById(orgId)
+                            .orElseThrow(() -> new RuntimeException("Organization not found"));
+                    User performingUser = userRepository.findById(batch.getUploadedBy())
+                            .orElseThrow(() -> new RuntimeException("Uploading user not found"));
+                    return row -> createBulkVendor(row.getRecord(), org, null, performingUser).getVendorId();
+                }, sink -> validateBulkFile(fileInputStream, batch.getFileName(), organization, sink));
+    }
+
+    // Parses the upload and validates every row; rows come back in file order
+    private List<ImportRowDTO<VendorRequestDTO>> readBulkFile(InputStream fileInputStream, String fileName,
+                                                             Organization organization) throws IOException {
+        List<ImportRowDTO<VendorRequestDTO>> rows = new ArrayList<>();
+        validateBulkFile(fileInputStream, fileName, organization, rows::add);
+        return rows;
+    }
+
+    // Same, but hands each row to the sink as soon as its validation chunk is done
+    private void validateBulkFile(InputStream fileInputStream, String fileName, Organization organization,
+                                  Consumer<ImportRowDTO<VendorRequestDTO>> sink) throws IOException {
+        BufferedInputStream bis = new BufferedInputStream(fileInputStream);
+
+        UserDataImportService importService = new UserDataImportService();
+        BulkImportValidator.RowReader<VendorRequestDTO> reader;
+        if (fileName.toLowerCase().endsWith(".xlsx") || fileName.toLowerCase().endsWith(".xls")) {
+            reader = rows -> importService.readVendorExcel(bis, rows);
+        } else if (fileName.toLowerCase().endsWith(".csv")) {
+            reader = rows -> importService.readVendorCsv(bis, rows);
+        } else {
+            throw new RuntimeException("Unsupported file type: " + fileName);
+        }
+
+        // Field checks run on the validation pool while the file is read; rows come back in file order with
+        // duplicates (in the file or already stored) flagged, using one IN query per key per chunk
+        bulkImportValidator.validate(reader, this::validateBulkRow, List.of(
+                UniqueKey.inFileAndDatabase("email", dto -> BulkImportValidator.normalizeEmail(dto.getContactEmail()),
+                        emails -> vendorRepository.findExistingContactEmails(organization, emails),
+                        "Duplicate vendor email in organization"),
+                UniqueKey.inFileAndDatabase("phone", VendorRequestDTO::getPhone,
+                        vendorRepository::findExistingPhones, "Duplicate phone"),
+                UniqueKey.inFileAndDatabase("bank account number", VendorRequestDTO::getBankAccountNo,
+                        vendorRepository::findExistingBankAccountNos, "Duplicate bank account number")), sink);
+    }
+
+    // One bulk-uploaded vendor with its documents, welcome email and audit entry
+    private Vendor createBulkVendor(VendorRequestDTO dto, Organization organization, MultipartFile documentFile,
+                                    User performingUser) {
+        String normalizedEmail = dto.getContactEmail().trim().toLowerCase();
+
+        String pwd = generatePassword(organization.getOrgName(), dto.getName());
+        BigDecimal default_balance= new BigDecimal("1000.000");
+        Vendor vendor = new Vendor();
+        vendor.setName(dto.getName());
+        vendor.setVendorType(dto.getVendorType());
+        vendor.setBankName(dto.getBankName());
+        vendor.setBankAccountNo(dto.getBankAccountNo());
+        vendor.setIfscCode(dto.getIfscCode());
+        vendor.setContactEmail(normalizedEmail);
+        vendor.setPhone(dto.getPhone());
+        vendor.setBalance(default_balance);
+        vendor.setOrganization(organization);
+        vendor = vendorRepository.save(vendor);
+
+        if (dto.getFileUrl() != null && !dto.getFileUrl().isBlank()) {
+            try {
+                documentService.uploadAndSaveDocumentFromUrl(
+                        dto.getFileUrl(),
+                        "VENDOR",
+                        vendor.getVendorId(),
+                        "BULK_VENDOR_DOC",
+                        performingUser.getUserId(),
+                        organization
+                );
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+        if (documentFile != null && !documentFile.isEmpty()) {
+            try {
+                documentService.uploadAndSaveDocument(
+                        documentFile,
+                        "VENDOR",
+                        vendor.getVendorId(),
+                        "BULK_VENDOR_DOC",
+                        performingUser.getUserId(),
+                        organization
+                );
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+
+        notificationService.sendEmail(normalizedEmail, "Vendor Account Created",
+                String.format(
+                        "Dear %s,\n\nYour vendor account has been created successfully.\nYour default password is: %s\nPlease change your password after login.\n\nBest,\nPaymentApp Team",
+                        dto.getName(), pwd));
+
+        auditLogService.log("CREATE_VENDOR", "VENDOR",
+                vendor.getVendorId(),
+                performingUser.getUserId(),
+                performingUser.getEmail(),
+                performingUser.getRoles().stream().findFirst().map(r -> r.getRoleName()).orElse("UNKNOWN"));
+        return vendor;
+    }
+
     @Override
     public List<VendorResponseDTO> getVendorsByOrganization(Long orgId) {
         Organization org = organizationRepository.findById(orgId)
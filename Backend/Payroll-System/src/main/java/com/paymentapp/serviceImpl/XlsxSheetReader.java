@@ -0,0 +1,186 @@
+package com.paymentapp.serviceImpl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Reads the first sheet of an .xlsx file with POI's SAX event API instead of
+ * building the XSSF DOM. The upload is spooled to a temp file so the zip is
+ * read entry by entry, and each row is handed to the consumer as soon as its
+ * closing tag is parsed; only the shared-strings table and the current row
+ * are held in memory. Cell values match what the usermodel parser produced:
+ * trimmed strings, whole numbers without ".0", Date.toString() for
+ * date-formatted cells and the formula text for formula cells.
+ */
+class XlsxSheetReader {
+
+    private XlsxSheetReader() {
+    }
+
+    // Every row after the header, in sheet order; cells past the last one present are ""
+    static void read(InputStream inputStream, int columns, Consumer<String[]> rows) throws IOException {
+        Path tempFile = Files.createTempFile("upload-", ".xlsx");
+        try {
+            Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            try (OPCPackage pkg = OPCPackage.open(tempFile.toFile(), PackageAccess.READ)) {
+                XSSFReader reader = new XSSFReader(pkg);
+                ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+                StylesTable styles = reader.getStylesTable();
+
+                Iterator<InputStream> sheets = reader.getSheetsData();
+                if (!sheets.hasNext()) {
+                    return;
+                }
+                try (InputStream sheet = sheets.next()) {
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new SheetHandler(strings, styles, columns, rows));
+                    parser.parse(new InputSource(sheet));
+                }
+            } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+                throw new IOException("Could not read Excel file: " + e.getMessage(), e);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    // ================= SAX HANDLER =================
+    private static class SheetHandler extends DefaultHandler {
+
+        private final ReadOnlySharedStringsTable strings;
+        private final StylesTable styles;
+        private final int columns;
+        private final Consumer<String[]> rows;
+
+        private final StringBuilder value = new StringBuilder();
+        private final StringBuilder formula = new StringBuilder();
+        private boolean inValue;
+        private boolean inFormula;
+
+        private String[] cells;
+        private int rowNum;
+        private int nextColumn;
+        private int column;
+        private String cellType;
+        private String cellStyle;
+
+        SheetHandler(ReadOnlySharedStringsTable strings, StylesTable styles, int columns, Consumer<String[]> rows) {
+            this.strings = strings;
+            this.styles = styles;
+            this.columns = columns;
+            this.rows = rows;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> {
+                    String r = attributes.getValue("r");
+                    rowNum = r != null ? Integer.parseInt(r) - 1 : rowNum + 1;
+                    cells = new String[columns];
+                    Arrays.fill(cells, "");
+                    nextColumn = 0;
+                }
+                case "c" -> {
+                    String ref = attributes.getValue("r");
+                    column = ref != null ? new CellReference(ref).getCol() : nextColumn;
+                    nextColumn = column + 1;
+                    cellType = attributes.getValue("t");
+                    cellStyle = attributes.getValue("s");
+                    value.setLength(0);
+                    formula.setLength(0);
+                }
+                // <v> holds the value, <t> the text of an inline string
+                case "v", "t" -> inValue = true;
+                case "f" -> inFormula = true;
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue) {
+                value.append(ch, start, length);
+            } else if (inFormula) {
+                formula.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v", "t" -> inValue = false;
+                case "f" -> inFormula = false;
+                case "c" -> {
+                    if (column < columns) {
+                        cells[column] = cellValue();
+                    }
+                }
+                case "row" -> {
+                    if (rowNum != 0) { // skip header
+                        rows.accept(cells);
+                    }
+                    cells = null;
+                }
+                default -> {
+                }
+            }
+        }
+
+        private String cellValue() {
+            // Shared-formula followers carry an empty <f/>; those fall through to the cached value
+            if (formula.length() > 0) {
+                return formula.toString();
+            }
+            String raw = value.toString();
+            if (cellType == null || cellType.equals("n")) {
+                return raw.isEmpty() ? "" : numericValue(Double.parseDouble(raw));
+            }
+            return switch (cellType) {
+                case "s" -> strings.getItemAt(Integer.parseInt(raw)).getString().trim();
+                case "inlineStr", "str" -> raw.trim();
+                case "b" -> String.valueOf("1".equals(raw));
+                default -> ""; // "e" (error)
+            };
+        }
+
+        private String numericValue(double val) {
+            if (cellStyle != null && styles != null) {
+                XSSFCellStyle style = styles.getStyleAt(Integer.parseInt(cellStyle));
+                if (style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString())
+                        && DateUtil.isValidExcelDate(val)) {
+                    return DateUtil.getJavaDate(val).toString();
+                }
+            }
+            if (val == Math.floor(val)) {
+                return String.valueOf((long) val);
+            }
+            return String.valueOf(val);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.paymentapp.serviceImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.paymentapp.dto.ActivateAccountRequestDTO;
+import com.paymentapp.entity.AccountActivationToken;
+import com.paymentapp.entity.User;
+import com.paymentapp.repository.AccountActivationTokenRepository;
+import com.paymentapp.repository.UserRepository;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ AccountActivationService.class, BCryptPasswordEncoder.class })
+// Each activation commits on its own, as it does in the application
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AccountActivationServiceTest {
+
+	private static final String PLACEHOLDER_PASSWORD = "{unusable}";
+
+	@Autowired
+	private AccountActivationService activationService;
+
+	@Autowired
+	private AccountActivationTokenRepository tokenRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@AfterEach
+	void cleanUp() {
+		tokenRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void tokenActivatesTheAccountOnlyOnce() {
+		User user = saveUser("new.employee@acme.test");
+		saveToken(user, "first-token", Instant.now().plus(Duration.ofDays(3)));
+
+		activationService.activateAccount(request("first-token", "secret1"));
+
+		User activated = userRepository.findById(user.getUserId()).orElseThrow();
+		assertThat(activated.getStatus()).isEqualTo("ACTIVE");
+		assertThat(passwordEncoder.matches("secret1", activated.getPassword())).isTrue();
+		assertThat(tokenRepository.findByTokenHash(AccountActivationService.hashToken("first-token")).orElseThrow()
+				.getUsedAt()).isNotNull();
+
+		// Replaying the link cannot overwrite the password that was just set
+		assertThatThrownBy(() -> activationService.activateAccount(request("first-token", "hijacked")))
+				.hasMessage("Invalid or expired activation link");
+		assertThat(passwordEncoder.matches("secret1",
+				userRepository.findById(user.getUserId()).orElseThrow().getPassword())).isTrue();
+	}
+
+	@Test
+	void expiredTokenIsRefused() {
+		User user = saveUser("late.employee@acme.test");
+		saveToken(user, "old-token", Instant.now().minus(Duration.ofMinutes(1)));
+
+		assertThatThrownBy(() -> activationService.activateAccount(request("old-token", "secret1")))
+				.hasMessage("Invalid or expired activation link");
+
+		User unchanged = userRepository.findById(user.getUserId()).orElseThrow();
+		assertThat(unchanged.getStatus()).isEqualTo("PENDING_ACTIVATION");
+		assertThat(unchanged.getPassword()).isEqualTo(PLACEHOLDER_PASSWORD);
+	}
+
+	@Test
+	void unknownTokenIsRefused() {
+		assertThatThrownBy(() -> activationService.activateAccount(request("made-up", "secret1")))
+				.hasMessage("Invalid or expired activation link");
+	}
+
+	@Test
+	void tooShortPasswordDoesNotSpendTheToken() {
+		User user = saveUser("careful.employee@acme.test");
+		saveToken(user, "keep-token", Instant.now().plus(Duration.ofDays(3)));
+
+		assertThatThrownBy(() -> activationService.activateAccount(request("keep-token", "12345")))
+				.hasMessage("Password must be at least 6 characters");
+
+		activationService.activateAccount(request("keep-token", "123456"));
+		assertThat(userRepository.findById(user.getUserId()).orElseThrow().getStatus()).isEqualTo("ACTIVE");
+	}
+
+	@Test
+	void concurrentUsesOfOneTokenSucceedOnce() throws Exception {
+		User user = saveUser("racing.employee@acme.test");
+		saveToken(user, "race-token", Instant.now().plus(Duration.ofDays(3)));
+
+		int threads = 8;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Boolean>> results = new ArrayList<>();
+		try {
+			for (int i = 0; i < threads; i++) {
+				String password = "secret" + i;
+				Callable<Boolean> activation = () -> {
+					start.await();
+					try {
+						activationService.activateAccount(request("race-token", password));
+						return true;
+					} catch (RuntimeException e) {
+						return false;
+					}
+				};
+				results.add(pool.submit(activation));
+			}
+			start.countDown();
+
+			int succeeded = 0;
+			for (Future<Boolean> result : results) {
+				if (result.get()) {
+					succeeded++;
+				}
+			}
+			assertThat(succeeded).isEqualTo(1);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private User saveUser(String email) {
+		User user = new User();
+		user.setEmail(email);
+		user.setPassword(PLACEHOLDER_PASSWORD);
+		user.setStatus("PENDING_ACTIVATION");
+		return userRepository.save(user);
+	}
+
+	private void saveToken(User user, String rawToken, Instant expiresAt) {
+		tokenRepository.save(AccountActivationToken.builder()
+				.user(user)
+				.tokenHash(AccountActivationService.hashToken(rawToken))
+				.expiresAt(expiresAt)
+				.createdAt(Instant.now())
+				.build());
+	}
+
+	private static ActivateAccountRequestDTO request(String token, String newPassword) {
+		ActivateAccountRequestDTO request = new ActivateAccountRequestDTO();
+		request.setToken(token);
+		request.setNewPassword(newPassword);
+		return request;
+	}
+}
@@ -0,0 +1,131 @@
+package com.paymentapp.serviceImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentapp.dto.AuditLogPageDTO;
+import com.paymentapp.entity.AuditLog;
+import com.paymentapp.repository.AuditLogRepository;
+import com.paymentapp.service.AuditArchiveService;
+import com.paymentapp.service.AuditLogService;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AuditLogServiceImpl.class)
+class AuditLogServiceImplTest {
+
+	private static final Instant BASE = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+	@Autowired
+	private AuditLogService auditLogService;
+
+	@Autowired
+	private AuditLogRepository auditLogRepository;
+
+	@MockitoBean
+	private AuditLogWriter auditLogWriter;
+
+	@MockitoBean
+	private AuditArchiveService auditArchiveService;
+
+	@MockitoBean
+	private ObjectMapper objectMapper;
+
+	private List<AuditLog> saved;
+
+	@BeforeEach
+	void setUp() {
+		// 25 rows sharing only three timestamps, so most page boundaries fall between equal timestamps
+		List<AuditLog> logs = new ArrayList<>();
+		for (int i = 0; i < 25; i++) {
+			logs.add(AuditLog.builder()
+					.actionPerformed(i % 2 == 0 ? "LOGIN" : "LOGOUT")
+					.targetResourceType("User")
+					.targetResourceId((long) i)
+					.performedByUserId(1L)
+					.performedByEmail("admin@test")
+					.performedByRole("ROLE_BANK_ADMIN")
+					.actionTimestamp(BASE.minusSeconds(i % 3))
+					.build());
+		}
+		saved = auditLogRepository.saveAll(logs);
+	}
+
+	@Test
+	void cursorPagesVisitEveryRowOnceNewestFirst() {
+		List<AuditLog> visited = new ArrayList<>();
+		String cursor = null;
+		int pages = 0;
+		do {
+			AuditLogPageDTO page = auditLogService.search(null, null, null, null, null, null, cursor, 4, false);
+			assertThat(page.getItems()).hasSizeLessThanOrEqualTo(4);
+			visited.addAll(page.getItems());
+			cursor = page.getNextCursor();
+			pages++;
+		} while (cursor != null);
+
+		List<Long> expected = saved.stream()
+				.sorted(Comparator.comparing(AuditLog::getActionTimestamp).thenComparing(AuditLog::getLogId).reversed())
+				.map(AuditLog::getLogId)
+				.toList();
+		assertThat(visited).extracting(AuditLog::getLogId).containsExactlyElementsOf(expected);
+		assertThat(pages).isEqualTo(7);
+	}
+
+	@Test
+	void filteredPagesStayStableWhenNewerRowsArrive() {
+		AuditLogPageDTO first = auditLogService.search(null, "LOGIN", null, null, null, null, null, 5, false);
+
+		// A row logged between two page requests sorts ahead of the cursor and must not shift the next page
+		auditLogRepository.save(AuditLog.builder()
+				.actionPerformed("LOGIN")
+				.targetResourceType("User")
+				.targetResourceId(99L)
+				.performedByUserId(1L)
+				.performedByEmail("admin@test")
+				.performedByRole("ROLE_BANK_ADMIN")
+				.actionTimestamp(BASE)
+				.build());
+
+		AuditLogPageDTO second = auditLogService.search(null, "LOGIN", null, null, null, null,
+				first.getNextCursor(), 5, false);
+		AuditLogPageDTO third = auditLogService.search(null, "LOGIN", null, null, null, null,
+				second.getNextCursor(), 5, false);
+
+		List<AuditLog> visited = new ArrayList<>(first.getItems());
+		visited.addAll(second.getItems());
+		visited.addAll(third.getItems());
+		assertThat(visited).extracting(AuditLog::getActionPerformed).containsOnly("LOGIN");
+		assertThat(visited).extracting(AuditLog::getTargetResourceId).doesNotHaveDuplicates().hasSize(13);
+		assertThat(third.getNextCursor()).isNull();
+	}
+
+	@Test
+	void archiveIsReadOnlyWhenRequested() {
+		auditLogService.search(null, null, null, null, null, null, null, 100, false);
+		verifyNoInteractions(auditArchiveService);
+
+		auditLogService.search(null, null, null, null, null, null, null, 100, true);
+		verify(auditArchiveService).searchArchived(any(), any(), any(), any(), any(), any(), any(), any(), anyInt());
+	}
+}
@@ -0,0 +1,127 @@
+package com.paymentapp.serviceImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.paymentapp.entity.Organization;
+import com.paymentapp.repository.OrganizationRepository;
+import com.paymentapp.service.BalanceService;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(BalanceServiceImpl.class)
+// Every debit commits on its own, as it does in the application
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BalanceServiceImplTest {
+
+	@Autowired
+	private BalanceService balanceService;
+
+	@Autowired
+	private OrganizationRepository organizationRepository;
+
+	@AfterEach
+	void cleanUp() {
+		organizationRepository.deleteAll();
+	}
+
+	@Test
+	void debitIsRefusedWhenFundsAreInsufficient() {
+		Organization org = saveOrganization("100.00");
+
+		assertThat(balanceService.debitOrganization(org, new BigDecimal("100.01"))).isFalse();
+		assertThat(storedBalance(org)).isEqualByComparingTo("100.00");
+		assertThat(org.getAccountBalance()).isEqualByComparingTo("100.00");
+
+		assertThat(balanceService.debitOrganization(org, new BigDecimal("100.00"))).isTrue();
+		assertThat(storedBalance(org)).isEqualByComparingTo("0.00");
+	}
+
+	@Test
+	void concurrentDebitsNeitherLoseUpdatesNorOverdraw() throws Exception {
+		Organization org = saveOrganization("1000.00");
+		int threads = 20;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+
+		List<Future<Boolean>> results = new ArrayList<>();
+		try {
+			for (int i = 0; i < threads; i++) {
+				// Each caller works on its own copy of the entity, like separate requests do
+				Organization copy = organizationRepository.findById(org.getOrgId()).orElseThrow();
+				Callable<Boolean> debit = () -> {
+					start.await();
+					return balanceService.debitOrganization(copy, new BigDecimal("100.00"));
+				};
+				results.add(pool.submit(debit));
+			}
+			start.countDown();
+
+			int succeeded = 0;
+			for (Future<Boolean> result : results) {
+				if (result.get()) {
+					succeeded++;
+				}
+			}
+			assertThat(succeeded).isEqualTo(10);
+			assertThat(storedBalance(org)).isEqualByComparingTo("0.00");
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void concurrentCreditsAreAllApplied() throws Exception {
+		Organization org = saveOrganization("0.00");
+		ExecutorService pool = Executors.newFixedThreadPool(10);
+		try {
+			List<Future<?>> results = new ArrayList<>();
+			for (int i = 0; i < 50; i++) {
+				Organization copy = organizationRepository.findById(org.getOrgId()).orElseThrow();
+				results.add(pool.submit(() -> balanceService.creditOrganization(copy, new BigDecimal("10.00"))));
+			}
+			for (Future<?> result : results) {
+				result.get();
+			}
+			assertThat(storedBalance(org)).isEqualByComparingTo("500.00");
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private BigDecimal storedBalance(Organization org) {
+		return organizationRepository.findAccountBalance(org.getOrgId()).orElseThrow();
+	}
+
+	private Organization saveOrganization(String balance) {
+		Organization org = new Organization();
+		org.setOrgName("Balance Test Org");
+		org.setEmail("balance@test.com");
+		org.setPhone("9000000001");
+		org.setAddress("Test Street");
+		org.setBankAccountNo("100000000001");
+		org.setIfscCode("TEST0000001");
+		org.setStatus("ACTIVE");
+		org.setAccountBalance(new BigDecimal(balance));
+		return organizationRepository.save(org);
+	}
+}
@@ -0,0 +1,122 @@
+package com.paymentapp.serviceImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.paymentapp.dto.ImportRowDTO;
+import com.paymentapp.serviceImpl.BulkImportValidator.UniqueKey;
+
+class BulkImportValidatorTest {
+
+	record Row(String email, String phone) {
+	}
+
+	private ThreadPoolTaskExecutor executor;
+	private BulkImportValidator validator;
+
+	// Every IN (...) lookup the validator makes, in order
+	private final List<Collection<String>> lookups = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(4);
+		executor.setMaxPoolSize(4);
+		executor.initialize();
+		validator = new BulkImportValidator(executor);
+		// Tiny chunks, so duplicates and file order are resolved across chunk boundaries
+		ReflectionTestUtils.setField(validator, "chunkSize", 3);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdown();
+	}
+
+	@Test
+	void duplicatesInFileAndDatabaseAreFlaggedInFileOrder() throws IOException {
+		List<Row> file = List.of(
+				new Row("ann@acme.test", "9000000001"),     // 1 first occurrence wins
+				new Row("taken@acme.test", "9000000002"),   // 2 already stored
+				new Row("bob@acme.test", "9000000003"),     // 3
+				new Row("ANN@acme.test ", "9000000004"),    // 4 same email as row 1, other case and padding
+				new Row("cara@acme.test", "9000000003"),    // 5 same phone as row 3, in the next chunk
+				new Row("dan@acme.test", "9000000009"),     // 6
+				new Row("taken@acme.test", "9000000010"),   // 7 stored, not a file duplicate of row 2
+				new Row("ann@acme.test", "9000000001"));    // 8 both keys duplicate row 1
+
+		List<ImportRowDTO<Row>> rows = validate(file, Set.of("taken@acme.test"));
+
+		assertThat(rows).extracting(ImportRowDTO::getRowNumber).containsExactly(1, 2, 3, 4, 5, 6, 7, 8);
+		assertThat(rows).extracting(ImportRowDTO::getMessage).containsExactly(
+				"",
+				"Duplicate email",
+				"",
+				"Duplicate email in file (row 1)",
+				"Duplicate phone in file (row 3)",
+				"",
+				"Duplicate email",
+				"Duplicate email in file (row 1); Duplicate phone in file (row 1)");
+	}
+
+	@Test
+	void rejectedRowsDoNotClaimTheirValues() throws IOException {
+		List<Row> file = List.of(
+				new Row("not-an-email", "9000000001"),      // 1 fails its field rules
+				new Row("taken@acme.test", "9000000002"),   // 2 already stored
+				new Row("eve@acme.test", "9000000001"),     // 3 may use row 1's phone
+				new Row("fay@acme.test", "9000000002"));    // 4 may use row 2's phone
+
+		List<ImportRowDTO<Row>> rows = validate(file, Set.of("taken@acme.test"));
+
+		assertThat(rows).extracting(ImportRowDTO::getMessage)
+				.containsExactly("Invalid email format", "Duplicate email", "", "");
+	}
+
+	@Test
+	void largeFileKeepsOrderAndLooksUpOneChunkAtATime() throws IOException {
+		List<Row> file = new ArrayList<>();
+		for (int i = 1; i <= 100; i++) {
+			file.add(new Row("user" + (i % 40) + "@acme.test", "9" + i));
+		}
+
+		List<ImportRowDTO<Row>> rows = validate(file, Set.of());
+
+		assertThat(rows).extracting(ImportRowDTO::getRowNumber)
+				.containsExactlyElementsOf(IntStream.rangeClosed(1, 100).boxed().toList());
+		assertThat(rows.stream().filter(ImportRowDTO::isValid).count()).isEqualTo(40);
+		// user<i % 40> is first seen at row i for i < 40, and at row 40 for user0
+		assertThat(rows.get(40).getMessage()).isEqualTo("Duplicate email in file (row 1)");
+		assertThat(rows.get(79).getMessage()).isEqualTo("Duplicate email in file (row 40)");
+		assertThat(lookups).hasSize(34).allSatisfy(values -> assertThat(values).hasSizeLessThanOrEqualTo(3));
+	}
+
+	private List<ImportRowDTO<Row>> validate(List<Row> file, Set<String> storedEmails) throws IOException {
+		Function<Collection<String>, Collection<String>> existingEmails = values -> {
+			lookups.add(List.copyOf(values));
+			return values.stream().filter(storedEmails::contains).collect(Collectors.toSet());
+		};
+		return validator.validateAll(rows -> file.forEach(rows), row -> {
+			List<String> errors = new ArrayList<>();
+			BulkImportValidator.checkEmail(row.email(), 100, "Email is required", errors);
+			return errors;
+		}, List.of(
+				UniqueKey.inFileAndDatabase("email", (Row row) -> BulkImportValidator.normalizeEmail(row.email()),
+						existingEmails, "Duplicate email"),
+				UniqueKey.inFile("phone", Row::phone)));
+	}
+}
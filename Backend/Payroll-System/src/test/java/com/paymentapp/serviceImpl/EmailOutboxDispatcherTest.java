@@ -0,0 +1,254 @@
+package com.paymentapp.serviceImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.paymentapp.entity.Notification;
+import com.paymentapp.repository.NotificationRepository;
+
+import jakarta.mail.Message;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ EmailOutboxDispatcher.class, EmailOutboxDispatcherTest.MailConfig.class })
+@TestPropertySource(properties = {
+		"payroll.mail.from=payroll@test.local",
+		"payroll.mail.batch-size=2",
+		"payroll.mail.max-attempts=3",
+		"payroll.mail.retry-base-ms=60000",
+		"payroll.mail.claim-timeout-ms=60000" })
+// Claims, sends and outcomes are separate transactions, as they are in the application
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailOutboxDispatcherTest {
+
+	@RegisterExtension
+	static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+	@Autowired
+	private EmailOutboxDispatcher dispatcher;
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Autowired
+	private RejectingMailSender mailSender;
+
+	@AfterEach
+	void cleanUp() {
+		mailSender.rejected.clear();
+		notificationRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void dueEmailsAreClaimedSentAndMarkedSent() throws Exception {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			ids.add(queueEmail("employee" + i + "@test.local").getNotificationId());
+		}
+		Notification notDue = queueEmail("later@test.local");
+		notDue.setNextAttemptAt(Instant.now().plus(Duration.ofHours(1)));
+		notificationRepository.save(notDue);
+
+		dispatcher.dispatch();
+
+		// Five due emails in chunks of two, each chunk over its own connection
+		MimeMessage[] received = greenMail.getReceivedMessages();
+		assertThat(received).hasSize(5);
+		assertThat(received[0].getFrom()[0].toString()).isEqualTo("payroll@test.local");
+		assertThat(recipients(received)).doesNotContain("later@test.local");
+
+		for (Long id : ids) {
+			Notification sent = reload(id);
+			assertThat(sent.getStatus()).isEqualTo("SENT");
+			assertThat(sent.getAttempts()).isEqualTo(1);
+			assertThat(sent.getClaimToken()).isNull();
+		}
+		assertThat(reload(notDue.getNotificationId()).getStatus()).isEqualTo("PENDING");
+
+		// Nothing is sent twice on the next poll
+		dispatcher.dispatch();
+		assertThat(greenMail.getReceivedMessages()).hasSize(5);
+	}
+
+	@Test
+	void rejectedRecipientGoesBackToPendingWithBackoff() throws Exception {
+		Notification good = queueEmail("good@test.local");
+		Notification bad = queueEmail("bounced@test.local");
+		mailSender.rejected.add("bounced@test.local");
+
+		Instant before = Instant.now();
+		dispatcher.dispatch();
+
+		// The other message of the same chunk still goes out
+		assertThat(recipients(greenMail.getReceivedMessages())).containsExactly("good@test.local");
+		assertThat(reload(good.getNotificationId()).getStatus()).isEqualTo("SENT");
+
+		Notification retried = reload(bad.getNotificationId());
+		assertThat(retried.getStatus()).isEqualTo("PENDING");
+		assertThat(retried.getAttempts()).isEqualTo(1);
+		assertThat(retried.getLastError()).contains("Mailbox unavailable");
+		assertThat(retried.getClaimToken()).isNull();
+		assertThat(retried.getNextAttemptAt()).isAfterOrEqualTo(before.plusMillis(60000));
+
+		// Backing off: the next poll leaves it alone
+		dispatcher.dispatch();
+		assertThat(reload(bad.getNotificationId()).getAttempts()).isEqualTo(1);
+	}
+
+	@Test
+	void emailFailsAfterMaxAttempts() {
+		Notification bad = queueEmail("bounced@test.local");
+		mailSender.rejected.add("bounced@test.local");
+
+		for (int attempt = 1; attempt <= 3; attempt++) {
+			makeDue(bad.getNotificationId());
+			dispatcher.dispatch();
+			assertThat(reload(bad.getNotificationId()).getAttempts()).isEqualTo(attempt);
+		}
+
+		Notification failed = reload(bad.getNotificationId());
+		assertThat(failed.getStatus()).isEqualTo("FAILED");
+		assertThat(failed.getNextAttemptAt()).isNull();
+
+		// A failed email is never picked up again
+		makeDue(bad.getNotificationId());
+		dispatcher.dispatch();
+		assertThat(reload(bad.getNotificationId()).getAttempts()).isEqualTo(3);
+		assertThat(greenMail.getReceivedMessages()).isEmpty();
+	}
+
+	@Test
+	void staleClaimIsReleasedAndSentWhileFreshClaimIsLeftAlone() throws Exception {
+		Notification stale = queueEmail("stale@test.local");
+		stale.setStatus("SENDING");
+		stale.setClaimToken("dead-dispatcher");
+		stale.setClaimedAt(Instant.now().minus(Duration.ofMinutes(5)));
+		notificationRepository.save(stale);
+
+		Notification fresh = queueEmail("fresh@test.local");
+		fresh.setStatus("SENDING");
+		fresh.setClaimToken("busy-dispatcher");
+		fresh.setClaimedAt(Instant.now());
+		notificationRepository.save(fresh);
+
+		dispatcher.dispatch();
+
+		assertThat(recipients(greenMail.getReceivedMessages())).containsExactly("stale@test.local");
+		assertThat(reload(stale.getNotificationId()).getStatus()).isEqualTo("SENT");
+
+		Notification stillClaimed = reload(fresh.getNotificationId());
+		assertThat(stillClaimed.getStatus()).isEqualTo("SENDING");
+		assertThat(stillClaimed.getClaimToken()).isEqualTo("busy-dispatcher");
+	}
+
+	private Notification queueEmail(String to) {
+		return notificationRepository.save(Notification.builder()
+				.toEmail(to)
+				.subject("Salary credited")
+				.bodySummary("Your salary has been credited.")
+				.type("EMAIL")
+				.status("PENDING")
+				.nextAttemptAt(Instant.now())
+				.build());
+	}
+
+	private void makeDue(Long id) {
+		Notification notification = reload(id);
+		notification.setNextAttemptAt(Instant.now().minusSeconds(1));
+		notificationRepository.save(notification);
+	}
+
+	private Notification reload(Long id) {
+		return notificationRepository.findById(id).orElseThrow();
+	}
+
+	private static List<String> recipients(MimeMessage[] messages) throws Exception {
+		List<String> recipients = new ArrayList<>();
+		for (MimeMessage message : messages) {
+			recipients.add(message.getRecipients(Message.RecipientType.TO)[0].toString());
+		}
+		return recipients;
+	}
+
+	/**
+	 * Sends through GreenMail, except to addresses in {@code rejected}. Those fail the way
+	 * JavaMailSenderImpl reports a recipient refused by the server: a MailSendException
+	 * keyed by the original message, after the rest of the batch has been delivered.
+	 */
+	static class RejectingMailSender extends JavaMailSenderImpl {
+
+		final Set<String> rejected = ConcurrentHashMap.newKeySet();
+
+		@Override
+		public void send(SimpleMailMessage... simpleMessages) {
+			Map<Object, Exception> failed = new LinkedHashMap<>();
+			List<SimpleMailMessage> accepted = new ArrayList<>();
+			for (SimpleMailMessage message : simpleMessages) {
+				if (rejected.contains(message.getTo()[0])) {
+					failed.put(message, new SendFailedException("550 5.1.1 Mailbox unavailable"));
+				} else {
+					accepted.add(message);
+				}
+			}
+			if (!accepted.isEmpty()) {
+				super.send(accepted.toArray(new SimpleMailMessage[0]));
+			}
+			if (!failed.isEmpty()) {
+				throw new MailSendException(failed);
+			}
+		}
+	}
+
+	@TestConfiguration
+	static class MailConfig {
+
+		@Bean
+		RejectingMailSender mailSender() {
+			RejectingMailSender sender = new RejectingMailSender();
+			sender.setHost(ServerSetupTest.SMTP.getBindAddress());
+			sender.setPort(ServerSetupTest.SMTP.getPort());
+			return sender;
+		}
+
+		@Bean
+		ThreadPoolTaskExecutor mailDispatchExecutor() {
+			ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+			executor.setCorePoolSize(2);
+			executor.setMaxPoolSize(2);
+			executor.setThreadNamePrefix("mail-dispatch-test-");
+			executor.initialize();
+			return executor;
+		}
+	}
+}
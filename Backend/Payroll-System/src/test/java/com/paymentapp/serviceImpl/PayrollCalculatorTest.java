@@ -0,0 +1,125 @@
+package com.paymentapp.serviceImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.paymentapp.dto.PayeeGradeView;
+import com.paymentapp.entity.SalaryGrade;
+import com.paymentapp.repository.SalaryGradeRepository;
+import com.paymentapp.serviceImpl.PayrollCalculator.PricingResult;
+import com.paymentapp.serviceImpl.PayrollCalculator.SalaryBreakdown;
+
+class PayrollCalculatorTest {
+
+	private static final long ORG_ID = 1L;
+
+	private record Payee(Long payeeId, String name, Long gradeId, Long departmentId) implements PayeeGradeView {
+		public Long getPayeeId() { return payeeId; }
+		public String getName() { return name; }
+		public Long getGradeId() { return gradeId; }
+		public Long getDepartmentId() { return departmentId; }
+	}
+
+	private final SalaryGradeRepository salaryGradeRepository = mock(SalaryGradeRepository.class);
+	private ForkJoinPool pool;
+	private PayrollCalculator calculator;
+
+	@BeforeEach
+	void setUp() {
+		List<SalaryGrade> grades = new ArrayList<>();
+		Random random = new Random(42);
+		for (long id = 1; id <= 25; id++) {
+			SalaryGrade grade = new SalaryGrade();
+			grade.setGradeId(id);
+			// Paise-level amounts, so any rounding or lost addend would change the total
+			grade.setBasicSalary(amount(random, 20000, 90000));
+			grade.setHra(amount(random, 1000, 20000));
+			grade.setDa(amount(random, 500, 9000));
+			grade.setAllowances(id % 5 == 0 ? null : amount(random, 0, 5000));
+			grade.setPf(amount(random, 100, 4000));
+			grades.add(grade);
+		}
+		when(salaryGradeRepository.findByOrganization_OrgId(ORG_ID)).thenReturn(grades);
+		when(salaryGradeRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+		pool = new ForkJoinPool(4);
+		calculator = new PayrollCalculator(salaryGradeRepository, pool);
+	}
+
+	@AfterEach
+	void tearDown() {
+		pool.shutdown();
+	}
+
+	@Test
+	void parallelTotalsMatchSequentialTotals() {
+		List<PayeeGradeView> payees = payees(5000, false);
+		Map<Long, SalaryBreakdown> breakdowns = calculator.loadGradeBreakdowns(ORG_ID);
+
+		// The sequential build adds each payee's net in payment order
+		BigDecimal sequential = BigDecimal.ZERO;
+		for (PayeeGradeView payee : payees) {
+			sequential = sequential.add(calculator.breakdownFor(breakdowns, payee.getGradeId()).net());
+		}
+
+		for (String partitionBy : List.of("DEPARTMENT", "CHUNK")) {
+			for (int chunkSize : List.of(1, 7, 1000, 10000)) {
+				PricingResult result = calculator.priceInParallel(payees, breakdowns, true, partitionBy, chunkSize);
+
+				assertThat(result.errors()).isEmpty();
+				assertThat(result.priced()).hasSize(payees.size());
+				assertThat(result.total()).isEqualTo(sequential);
+				assertThat(result.priced().stream().map(p -> p.breakdown().net()).reduce(BigDecimal.ZERO, BigDecimal::add))
+						.isEqualTo(sequential);
+			}
+		}
+	}
+
+	@Test
+	void parallelPricingReportsEveryMissingGrade() {
+		List<PayeeGradeView> payees = payees(300, true);
+		Map<Long, SalaryBreakdown> breakdowns = calculator.loadGradeBreakdowns(ORG_ID);
+		long missing = payees.stream().filter(p -> p.getGradeId() == null || p.getGradeId() > 25).count();
+
+		PricingResult result = calculator.priceInParallel(payees, breakdowns, true, "DEPARTMENT", 50);
+
+		assertThat(missing).isPositive();
+		assertThat(result.errors()).hasSize((int) missing);
+		assertThat(result.priced()).hasSize(payees.size() - (int) missing);
+		assertThat(result.errors()).allMatch(error -> error.startsWith("Salary grade missing for employee"));
+	}
+
+	private List<PayeeGradeView> payees(int count, boolean withMissingGrades) {
+		Random random = new Random(7);
+		List<PayeeGradeView> payees = new ArrayList<>(count);
+		for (long id = 1; id <= count; id++) {
+			Long gradeId = 1L + random.nextInt(25);
+			if (withMissingGrades && id % 17 == 0) {
+				gradeId = id % 2 == 0 ? null : 999L;
+			}
+			// Uneven department sizes, and some payees without a department
+			Long departmentId = id % 11 == 0 ? null : (long) random.nextInt(random.nextBoolean() ? 3 : 12);
+			payees.add(new Payee(id, "Payee " + id, gradeId, departmentId));
+		}
+		return payees;
+	}
+
+	private static BigDecimal amount(Random random, int min, int max) {
+		long paise = (min + random.nextInt(max - min + 1)) * 100L + random.nextInt(100);
+		return BigDecimal.valueOf(paise, 2);
+	}
+}
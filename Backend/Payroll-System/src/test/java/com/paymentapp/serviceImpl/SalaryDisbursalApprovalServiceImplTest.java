@@ -0,0 +1,261 @@
+package com.paymentapp.serviceImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.paymentapp.dto.SalaryDisbursalApprovalRequestDTO;
+import com.paymentapp.entity.Employee;
+import com.paymentapp.entity.Organization;
+import com.paymentapp.entity.SalaryDisbursalLine;
+import com.paymentapp.entity.SalaryDisbursalRequest;
+import com.paymentapp.entity.User;
+import com.paymentapp.repository.EmployeeRepository;
+import com.paymentapp.repository.OrganizationRepository;
+import com.paymentapp.repository.SalaryDisbursalApprovalHistoryRepository;
+import com.paymentapp.repository.SalaryDisbursalLineRepository;
+import com.paymentapp.repository.SalaryDisbursalRequestRepository;
+import com.paymentapp.repository.SalarySlipRepository;
+import com.paymentapp.repository.UserRepository;
+import com.paymentapp.service.AuditLogService;
+import com.paymentapp.service.NotificationService;
+import com.paymentapp.service.SalaryDisbursalApprovalService;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ SalaryDisbursalApprovalServiceImpl.class, BalanceServiceImpl.class })
+// Small chunks so a handful of lines spans several committed chunks
+@TestPropertySource(properties = "payroll.approval.chunk-size=3")
+// The approval commits chunk by chunk, so the test must not wrap it in one transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SalaryDisbursalApprovalServiceImplTest {
+
+	private static final int LINES = 10;
+
+	@Autowired
+	private SalaryDisbursalApprovalService approvalService;
+
+	@Autowired
+	private OrganizationRepository organizationRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private SalaryDisbursalRequestRepository requestRepository;
+
+	@Autowired
+	private SalaryDisbursalLineRepository lineRepository;
+
+	@Autowired
+	private SalarySlipRepository slipRepository;
+
+	@Autowired
+	private SalaryDisbursalApprovalHistoryRepository historyRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@MockitoBean
+	private AuditLogService auditLogService;
+
+	@MockitoBean
+	private NotificationService notificationService;
+
+	@MockitoBean(name = "disbursalJobExecutor")
+	private ThreadPoolTaskExecutor disbursalJobExecutor;
+
+	@MockitoBean(name = "disbursalApprovalExecutor")
+	private ThreadPoolTaskExecutor disbursalApprovalExecutor;
+
+	@AfterEach
+	void cleanUp() {
+		SecurityContextHolder.clearContext();
+		slipRepository.deleteAllInBatch();
+		historyRepository.deleteAllInBatch();
+		lineRepository.deleteAllInBatch();
+		requestRepository.deleteAllInBatch();
+		employeeRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+		organizationRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void approvalPaysEveryLineOnceAcrossChunks() {
+		SalaryDisbursalRequest request = savePendingRequest();
+
+		approvalService.processApproval(approve(request));
+
+		assertApprovedOnce(request);
+		assertThatThrownBy(() -> approvalService.processApproval(approve(request)))
+				.hasMessageContaining("already processed");
+		assertThat(slipRepository.countByDisbursal_DisbursalId(request.getDisbursalId())).isEqualTo(LINES);
+	}
+
+	@Test
+	void interruptedApprovalResumesWithoutSecondDebitOrDuplicateSlips() {
+		SalaryDisbursalRequest request = savePendingRequest();
+		List<Long> lineIds = lineIds(request);
+
+		// The fifth line fails in the second chunk; the first chunk is already committed
+		Long failingLine = lineIds.get(4);
+		doThrow(new RuntimeException("Simulated crash"))
+				.when(auditLogService)
+				.log(eq("SALARY_SLIP_CREATED"), any(), eq(failingLine), anyLong(), any(), any());
+
+		assertThatThrownBy(() -> approvalService.processApproval(approve(request)))
+				.hasMessage("Simulated crash");
+
+		SalaryDisbursalRequest interrupted = requestRepository.findById(request.getDisbursalId()).orElseThrow();
+		assertThat(interrupted.getStatus()).isEqualTo("PROCESSING");
+		assertThat(interrupted.getApprovalLastLineId()).isEqualTo(lineIds.get(2));
+		assertThat(interrupted.getApprovalProcessedLines()).isEqualTo(3);
+		assertThat(paidLines(request)).isEqualTo(3);
+		assertThat(slipRepository.countByDisbursal_DisbursalId(request.getDisbursalId())).isEqualTo(3);
+		assertThat(balance(request)).isEqualByComparingTo("9000.00");
+
+		// Approving again resumes from the checkpoint instead of debiting a second time
+		doNothing()
+				.when(auditLogService)
+				.log(eq("SALARY_SLIP_CREATED"), any(), eq(failingLine), anyLong(), any(), any());
+		approvalService.processApproval(approve(request));
+
+		assertApprovedOnce(request);
+		// Only the finishing run notifies the organization
+		verify(notificationService).createInAppNotification(any(), any(), any(), eq(request.getDisbursalId()),
+				eq("SALARY_DISBURSAL"), any());
+	}
+
+	@Test
+	void replayingSettledChunksCreatesNoSlips() {
+		SalaryDisbursalRequest request = savePendingRequest();
+		approvalService.processApproval(approve(request));
+
+		Long lastLine = lineIds(request).get(LINES - 1);
+		Integer created = transactionTemplate.execute(status ->
+				slipRepository.insertMissingSlips(request.getDisbursalId(), 0L, lastLine, Instant.now()));
+
+		assertThat(created).isZero();
+		assertThat(slipRepository.countByDisbursal_DisbursalId(request.getDisbursalId())).isEqualTo(LINES);
+	}
+
+	private void assertApprovedOnce(SalaryDisbursalRequest request) {
+		SalaryDisbursalRequest approved = requestRepository.findById(request.getDisbursalId()).orElseThrow();
+		assertThat(approved.getStatus()).isEqualTo("APPROVED");
+		assertThat(approved.getApprovalProcessedLines()).isEqualTo(LINES);
+		assertThat(paidLines(request)).isEqualTo(LINES);
+		assertThat(slipRepository.countByDisbursal_DisbursalId(request.getDisbursalId())).isEqualTo(LINES);
+		assertThat(historyRepository.count()).isEqualTo(1);
+		// 10 lines of 100 debited exactly once from 10000
+		assertThat(balance(request)).isEqualByComparingTo("9000.00");
+	}
+
+	private SalaryDisbursalRequest savePendingRequest() {
+		Organization org = new Organization();
+		org.setOrgName("Acme Payroll");
+		org.setEmail("payroll@acme.test");
+		org.setPhone("9000000000");
+		org.setAddress("1 Test Street");
+		org.setBankAccountNo("ACME000001");
+		org.setIfscCode("TEST0000001");
+		org.setStatus("ACTIVE");
+		org.setAccountBalance(new BigDecimal("10000.00"));
+		Organization savedOrg = organizationRepository.save(org);
+
+		User admin = saveUser("bank.admin@test", null);
+		SecurityContextHolder.getContext().setAuthentication(
+				new TestingAuthenticationToken(admin.getEmail(), null, "ROLE_BANK_ADMIN"));
+
+		SalaryDisbursalRequest request = new SalaryDisbursalRequest();
+		request.setPeriod("2026-09");
+		request.setTotalAmount(new BigDecimal("100.00").multiply(BigDecimal.valueOf(LINES)));
+		request.setOrganization(savedOrg);
+
+		List<SalaryDisbursalLine> lines = new ArrayList<>();
+		for (int i = 0; i < LINES; i++) {
+			Employee employee = new Employee();
+			employee.setEmpName("Employee " + i);
+			employee.setEmpEmail("employee" + i + "@acme.test");
+			employee.setStatus("ACTIVE");
+			employee.setOrganization(savedOrg);
+			employee.setUser(saveUser("employee" + i + "@acme.test", savedOrg));
+
+			SalaryDisbursalLine line = new SalaryDisbursalLine();
+			line.setGrossSalary(new BigDecimal("120.00"));
+			line.setDeductions(new BigDecimal("20.00"));
+			line.setNetAmount(new BigDecimal("100.00"));
+			line.setEmployee(employeeRepository.save(employee));
+			line.setDisbursalRequest(request);
+			lines.add(line);
+		}
+		request.setLines(lines);
+		return requestRepository.save(request);
+	}
+
+	private User saveUser(String email, Organization org) {
+		User user = new User();
+		user.setEmail(email);
+		user.setPassword("{noop}secret");
+		user.setStatus("ACTIVE");
+		user.setOrganization(org);
+		return userRepository.save(user);
+	}
+
+	private SalaryDisbursalApprovalRequestDTO approve(SalaryDisbursalRequest request) {
+		SalaryDisbursalApprovalRequestDTO dto = new SalaryDisbursalApprovalRequestDTO();
+		dto.setDisbursalRequestId(request.getDisbursalId());
+		dto.setAction("APPROVE");
+		return dto;
+	}
+
+	private List<Long> lineIds(SalaryDisbursalRequest request) {
+		return lineRepository.findAll().stream()
+				.filter(l -> request.getDisbursalId().equals(l.getDisbursalRequest().getDisbursalId()))
+				.map(SalaryDisbursalLine::getLineId)
+				.sorted()
+				.toList();
+	}
+
+	private long paidLines(SalaryDisbursalRequest request) {
+		return lineRepository.findAll().stream()
+				.filter(l -> request.getDisbursalId().equals(l.getDisbursalRequest().getDisbursalId()))
+				.filter(l -> "PAID".equals(l.getStatus()))
+				.count();
+	}
+
+	private BigDecimal balance(SalaryDisbursalRequest request) {
+		return organizationRepository.findById(request.getOrganization().getOrgId())
+				.orElseThrow()
+				.getAccountBalance();
+	}
+}
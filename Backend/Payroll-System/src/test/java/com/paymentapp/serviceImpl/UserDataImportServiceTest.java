@@ -0,0 +1,93 @@
+package com.paymentapp.serviceImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.paymentapp.dto.EmployeeRequestDTO;
+
+class UserDataImportServiceTest {
+
+	private static final String HEADER = "Name,Email,Phone,Bank Name,Acc No,IFSC,Document URL\n";
+
+	private final UserDataImportService importService = new UserDataImportService();
+
+	@Test
+	void quotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+		String csv = HEADER
+				+ "\"Doe, John\",john@acme.test,9000000001,\"State Bank, Main Branch\",1001,SBIN0000001,https://docs.test/1\n"
+				+ "\"Anna \"\"Annie\"\" Roy\",anna@acme.test,9000000002,HDFC,1002,HDFC0000002,https://docs.test/2\n"
+				+ "\"Mary\nAnne\",mary@acme.test,9000000003,ICICI,1003,ICIC0000003,\"https://docs.test/3?a=1,b=2\"\n";
+
+		List<EmployeeRequestDTO> rows = read(csv.getBytes(StandardCharsets.UTF_8));
+
+		assertThat(rows).extracting(EmployeeRequestDTO::getEmpName)
+				.containsExactly("Doe, John", "Anna \"Annie\" Roy", "Mary\nAnne");
+		assertThat(rows.get(0).getBankAccountName()).isEqualTo("State Bank, Main Branch");
+		assertThat(rows.get(2).getEmpEmail()).isEqualTo("mary@acme.test");
+		assertThat(rows.get(2).getDocumentUrl()).isEqualTo("https://docs.test/3?a=1,b=2");
+	}
+
+	@Test
+	void utf8NamesAreDecoded() throws IOException {
+		String csv = HEADER + "Zoë Müller,zoe@acme.test,9000000001,HDFC,1001,HDFC0000001,https://docs.test/1\n";
+
+		List<EmployeeRequestDTO> rows = read(csv.getBytes(StandardCharsets.UTF_8));
+
+		assertThat(rows).extracting(EmployeeRequestDTO::getEmpName).containsExactly("Zoë Müller");
+	}
+
+	@Test
+	void fileInAnotherEncodingIsRejected() {
+		// Saved as Latin-1: the 'ë' is the single byte 0xEB, which is not valid UTF-8
+		String csv = HEADER + "Zoë Müller,zoe@acme.test,9000000001,HDFC,1001,HDFC0000001,https://docs.test/1\n";
+
+		assertThatThrownBy(() -> read(csv.getBytes(StandardCharsets.ISO_8859_1)))
+				.isInstanceOf(RuntimeException.class)
+				.hasMessage("CSV file is not valid UTF-8");
+	}
+
+	@Test
+	void malformedBytesDeepInTheFileAreRejected() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.writeBytes(HEADER.getBytes(StandardCharsets.UTF_8));
+		// Far past the first read buffer, so the failure surfaces while records are being iterated
+		for (int i = 0; i < 5000; i++) {
+			out.writeBytes(("Employee " + i + ",e" + i + "@acme.test,9" + i + ",HDFC," + i + ",HDFC0000001,https://docs.test\n")
+					.getBytes(StandardCharsets.UTF_8));
+		}
+		out.writeBytes(new byte[] { 'B', 'a', 'd', (byte) 0xC3, 0x28 });
+		out.writeBytes(",bad@acme.test,9,HDFC,1,HDFC0000001,https://docs.test\n".getBytes(StandardCharsets.UTF_8));
+
+		assertThatThrownBy(() -> read(out.toByteArray()))
+				.isInstanceOf(RuntimeException.class)
+				.hasMessage("CSV file is not valid UTF-8");
+	}
+
+	@Test
+	void shortRowIsReportedWithItsLine() {
+		String csv = HEADER + "John,john@acme.test,9000000001\n";
+
+		assertThatThrownBy(() -> read(csv.getBytes(StandardCharsets.UTF_8)))
+				.isInstanceOf(RuntimeException.class)
+				.hasMessageStartingWith("Invalid CSV format")
+				.hasMessageEndingWith("(line 2)");
+	}
+
+	private List<EmployeeRequestDTO> read(byte[] bytes) throws IOException {
+		List<EmployeeRequestDTO> rows = new ArrayList<>();
+		try (InputStream in = new ByteArrayInputStream(bytes)) {
+			importService.readEmployeeCsv(in, rows::add);
+		}
+		return rows;
+	}
+}
@@ -13,6 +13,7 @@ import { publicGuard } from './guards/public-guard';
 import { PayrollComponent } from './components/payroll-component/payroll-component';
 import { VendorDashboardComponent } from './dashboards/vendor-dashboard-component/vendor-dashboard-component';
 import { ForgotPassword } from './components/forgot-password/forgot-password';
+import { ActivateAccount } from './components/activate-account/activate-account';
 // import { ForgotPassword } from './components/forgot-password/forgot-password';
 
 export const routes: Routes = [
@@ -52,5 +53,9 @@ export const routes: Routes = [
     path: 'forgot-password',
     component: ForgotPassword
   },
+ {
+    path: 'activate-account',
+    component: ActivateAccount
+  },
   { path: '**', component: ErrorPageComponent },
 ];
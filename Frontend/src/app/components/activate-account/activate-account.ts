@@ -0,0 +1,91 @@
+import { Component, inject, ChangeDetectorRef, OnInit } from '@angular/core';
+import { FormBuilder, FormGroup, ReactiveFormsModule, Validators } from '@angular/forms';
+import { ToastService } from '../../services/notification/toast-service';
+import { LoginAuthentication } from '../../services/login/login-authentication';
+import { finalize } from 'rxjs';
+import { CommonModule } from '@angular/common';
+import { ActivatedRoute, Router, RouterLink } from '@angular/router';
+import { DarkModeService } from '../../services/darkMode/dark-mode';
+
+@Component({
+  selector: 'app-activate-account',
+  standalone: true,
+  imports: [ReactiveFormsModule, CommonModule, RouterLink],
+  templateUrl: './activate-account.html',
+  styleUrl: './activate-account.css'
+})
+export class ActivateAccount implements OnInit {
+
+  private fb = inject(FormBuilder);
+  private authService = inject(LoginAuthentication);
+  private toastService = inject(ToastService);
+  private route = inject(ActivatedRoute);
+  private router = inject(Router);
+  private cdr = inject(ChangeDetectorRef);
+  private darkModeService = inject(DarkModeService);
+
+  passwordForm: FormGroup;
+  token = '';
+  isLoading = false;
+  isDarkMode = false;
+
+  constructor() {
+    // Same rules as the reset-password step of forgot-password
+    this.passwordForm = this.fb.group({
+      newPassword: ['', [Validators.required, Validators.minLength(6)]],
+      confirmPassword: ['', [Validators.required]]
+    }, { validators: this.passwordMatchValidator });
+  }
+
+  ngOnInit() {
+    // The link in the activation email is /activate-account?token=...
+    this.token = this.route.snapshot.queryParamMap.get('token') || '';
+
+    this.darkModeService.isDarkMode$.subscribe(isDark => {
+      this.isDarkMode = isDark;
+      this.cdr.markForCheck();
+    });
+  }
+
+  onActivate() {
+    if (!this.token) {
+      this.toastService.show('Activation link is missing its token.', 'error');
+      return;
+    }
+
+    if (this.passwordForm.invalid) {
+      if (this.passwordForm.errors?.['passwordMismatch']) {
+        this.toastService.show('Passwords do not match!', 'error');
+      } else {
+        this.toastService.show('Password must be at least 6 characters.', 'error');
+      }
+      return;
+    }
+
+    this.isLoading = true;
+    const newPassword = this.passwordForm.value.newPassword;
+
+    this.authService.activateAccount(this.token, newPassword).pipe(
+      finalize(() => {
+        this.isLoading = false;
+        this.cdr.detectChanges();
+      })
+    ).subscribe({
+      next: (message) => {
+        this.toastService.show('Account activated! Redirecting to login...', 'success');
+        setTimeout(() => {
+          this.router.navigate(['/login']);
+        }, 2000);
+      },
+      error: (err) => {
+        this.toastService.show(err.error?.message || err.error || 'Failed to activate account. Please try again.', 'error');
+      }
+    });
+  }
+
+  passwordMatchValidator(group: FormGroup): { [key: string]: boolean } | null {
+    const password = group.get('newPassword')?.value;
+    const confirmPassword = group.get('confirmPassword')?.value;
+    return password === confirmPassword ? null : { passwordMismatch: true };
+  }
+}
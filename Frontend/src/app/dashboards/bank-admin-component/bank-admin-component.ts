@@ -244,6 +244,37 @@ export class BankAdminComponent implements OnInit {
   });
 }
 
+  // Lines of the open request are fetched one page at a time; lineCount is the full headcount
+  get salaryLineTotalPages(): number {
+    if (!this.selectedSalaryRequest) return 1;
+    const pageSize = this.selectedSalaryRequest.linePageSize || 1;
+    return Math.max(1, Math.ceil((this.selectedSalaryRequest.lineCount || 0) / pageSize));
+  }
+
+  loadSalaryLinePage(page: number): void {
+    if (!this.selectedSalaryRequest || page < 0 || page >= this.salaryLineTotalPages) return;
+
+    const { disbursalId, linePageSize, orgBalance } = this.selectedSalaryRequest;
+    this.bankAdminService.getSalaryRequestDetails(disbursalId, page, linePageSize).subscribe({
+      next: (details) => {
+        this.selectedSalaryRequest = { ...details, orgBalance };
+        this.cdr.markForCheck();
+      },
+      error: (error) => {
+        console.error('Error:', error);
+        this.toastService.show('Failed to load salary lines.', 'error');
+      }
+    });
+  }
+
+  previousSalaryLinePage(): void {
+    this.loadSalaryLinePage(this.selectedSalaryRequest.linePage - 1);
+  }
+
+  nextSalaryLinePage(): void {
+    this.loadSalaryLinePage(this.selectedSalaryRequest.linePage + 1);
+  }
+
   closeSalaryDetailsModal(): void {
     this.isSalaryDetailsModalOpen = false;
     this.selectedSalaryRequest = null;
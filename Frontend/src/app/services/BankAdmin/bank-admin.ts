@@ -76,8 +76,8 @@ export class BankAdmin {
     return this.http.get<any[]>(`${this.baseUrl}/salary-requests/pending`);
   }
 
-  getSalaryRequestDetails(disbursalId: number): Observable<any> {
-    return this.http.get(`${this.baseUrl}/salary-requests/${disbursalId}`);
+  getSalaryRequestDetails(disbursalId: number, page: number = 0, size: number = 200): Observable<any> {
+    return this.http.get(`${this.baseUrl}/salary-requests/${disbursalId}?page=${page}&size=${size}`);
   }
 
   approveSalaryRequest(disbursalId: number, action: string, comment: string): Observable<any> {
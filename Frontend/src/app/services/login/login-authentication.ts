@@ -223,6 +223,16 @@ export class LoginAuthentication {
     );
   }
 
+  /**
+   * First password for a bulk-imported account, using the token from its activation email
+   */
+  activateAccount(token: string, newPassword: string): Observable<string> {
+    return this.http.post(`${this.apiUrl}/activate-account`,
+      { token, newPassword },
+      { responseType: 'text' }
+    );
+  }
+
   /**
    * ✅ NEW: Verify password for sensitive operations (audit logs)
    */
@@ -1,8 +1,8 @@
   // notification.service.ts
-  import { Injectable } from '@angular/core';
+  import { Injectable, NgZone } from '@angular/core';
   import { HttpClient } from '@angular/common/http';
   import { Observable, BehaviorSubject, interval } from 'rxjs';
-  import { switchMap, tap, catchError } from 'rxjs/operators';
+  import { switchMap, tap, catchError, filter } from 'rxjs/operators';
   import { of } from 'rxjs';
 
   export interface AppNotification {
@@ -29,8 +29,16 @@
     private notificationsSubject = new BehaviorSubject<AppNotification[]>([]);
     public notifications$ = this.notificationsSubject.asObservable();
 
-    constructor(private http: HttpClient) {
+    // ✅ Server-Sent Events push channel; polling only runs while it is down
+    private eventSource: EventSource | null = null;
+    private streamToken: string | null = null;
+    private streamConnected = false;
+    private streamConnecting = false;
+    private lastEventId: string | null = null;
+
+    constructor(private http: HttpClient, private zone: NgZone) {
       console.log('🔔 Notification Service Initialized');
+      this.connectStream();
       this.startAutoRefresh();
       
       // ✅ Load initial count
@@ -119,10 +127,85 @@
       this.getNotifications().subscribe();
     }
 
+    // The stream is opened with a single-use ticket, so the JWT never goes into a URL. A used ticket cannot
+    // reopen the stream, so on any error the stream is reopened with a fresh ticket and the last id seen,
+    // and the server replays what was missed
+    private connectStream(): void {
+      const token = localStorage.getItem('authToken');
+      // Logged out or a different user logged in: drop the old stream
+      if (this.eventSource && this.streamToken !== token) {
+        this.eventSource.close();
+        this.eventSource = null;
+        this.streamConnected = false;
+        this.lastEventId = null;
+      }
+      if (this.eventSource || this.streamConnecting || !token || typeof EventSource === 'undefined') {
+        return;
+      }
+
+      this.streamConnecting = true;
+      this.http.post<{ ticket: string }>(`${this.apiUrl}/stream-ticket`, {}).subscribe({
+        next: ({ ticket }) => {
+          this.streamConnecting = false;
+          this.openStream(ticket, token);
+        },
+        error: error => {
+          this.streamConnecting = false;
+          console.error('❌ Could not get a notification stream ticket:', error);
+        }
+      });
+    }
+
+    private openStream(ticket: string, token: string): void {
+      let url = `${this.apiUrl}/stream?ticket=${encodeURIComponent(ticket)}`;
+      if (this.lastEventId) {
+        url += `&lastEventId=${encodeURIComponent(this.lastEventId)}`;
+      }
+      const source = new EventSource(url);
+      this.eventSource = source;
+      this.streamToken = token;
+
+      source.onopen = () => {
+        console.log('📡 Notification stream connected');
+        this.streamConnected = true;
+      };
+
+      source.addEventListener('notification', (event: MessageEvent) => {
+        const notification: AppNotification = JSON.parse(event.data);
+        if (event.lastEventId) {
+          this.lastEventId = event.lastEventId;
+        }
+        this.zone.run(() => {
+          const current = this.notificationsSubject.value;
+          if (!current.some(n => n.notificationId === notification.notificationId)) {
+            this.notificationsSubject.next([notification, ...current]);
+          }
+        });
+      });
+
+      source.addEventListener('unread-count', (event: MessageEvent) => {
+        const { count } = JSON.parse(event.data);
+        this.zone.run(() => this.unreadCountSubject.next(count));
+      });
+
+      source.onerror = () => {
+        // The browser would retry with the spent ticket; close and reopen with a new one instead.
+        // Polling covers the gap, and the 30s refresh retries if this attempt fails too
+        this.streamConnected = false;
+        source.close();
+        if (this.eventSource === source) {
+          this.eventSource = null;
+          setTimeout(() => this.connectStream(), 3000);
+        }
+      };
+    }
+
     private startAutoRefresh(): void {
-      console.log('🔄 Starting auto-refresh (30s interval)');
+      console.log('🔄 Starting auto-refresh (30s interval, paused while the stream is connected)');
       interval(30000)
         .pipe(
+          tap(() => this.connectStream()),
+          filter(() => !this.streamConnected),
           switchMap(() => this.getUnreadCount()),
           catchError(error => {
             console.error('❌ Auto-refresh error:', error);